@@ -0,0 +1,90 @@
+package com.ues.benchmark;
+
+import com.ues.comportamiento.observer.EventoProyecto;
+import com.ues.comportamiento.observer.ProyectoObservable;
+import com.ues.comportamiento.observer.RegistroAuditoria;
+import com.ues.comportamiento.observer.RegistroAuditoria.EventoAuditoria;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * RegistroAuditoria: registro de eventos (actualizar) y consultas getEventosPor*
+ * sobre un historial lleno.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AuditoriaBenchmark {
+
+    private static final int PROYECTOS = 100;
+
+    @Param({"1000", "100000"})
+    private int maxEventos;
+
+    private RegistroAuditoria auditoria;
+    private EventoProyecto[] eventos;
+    private Date inicio;
+    private Date fin;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        eventos = new EventoProyecto[PROYECTOS];
+        for (int i = 0; i < PROYECTOS; i++) {
+            ProyectoObservable proyecto = new ProyectoObservable("PR" + i, "Proyecto " + i,
+                                                                 "JMH", DatosBenchmark.profesor());
+            EventoProyecto.TipoEvento tipo = i % 10 == 0
+                ? EventoProyecto.TipoEvento.PROYECTO_CERRADO
+                : EventoProyecto.TipoEvento.EVALUACION_AGREGADA;
+            eventos[i] = new EventoProyecto(tipo, proyecto, "Nueva evaluación: " + DatosBenchmark.nota(i));
+        }
+
+        auditoria = new RegistroAuditoria("BENCH", 3, maxEventos);
+        inicio = new Date();
+        for (int i = 0; i < maxEventos; i++) {
+            auditoria.actualizar(eventos[i % PROYECTOS]);
+        }
+        fin = new Date();
+    }
+
+    @Benchmark
+    public void actualizar() {
+        auditoria.actualizar(eventos[siguiente++ % PROYECTOS]);
+    }
+
+    @Benchmark
+    public List<EventoAuditoria> eventosPorTipo() {
+        return auditoria.getEventosPorTipo("PROYECTO_CERRADO");
+    }
+
+    @Benchmark
+    public List<EventoAuditoria> eventosPorNivel() {
+        return auditoria.getEventosPorNivel(1);
+    }
+
+    @Benchmark
+    public List<EventoAuditoria> eventosPorProyecto() {
+        return auditoria.getEventosPorProyecto("PR42");
+    }
+
+    @Benchmark
+    public List<EventoAuditoria> eventosPorFecha() {
+        return auditoria.getEventosPorFecha(inicio, fin);
+    }
+}
@@ -0,0 +1,36 @@
+package com.ues.benchmark;
+
+import com.ues.model.Evaluacion;
+import com.ues.model.Profesor;
+import java.util.Date;
+
+/**
+ * Datos de prueba compartidos por los benchmarks.
+ */
+final class DatosBenchmark {
+
+    private DatosBenchmark() {
+    }
+
+    static Profesor profesor() {
+        return new Profesor(1, "Juan", "Pérez", "juan.perez@ues.edu", "Investigación");
+    }
+
+    /**
+     * Crea una evaluación ya calificada. Usa el valor de la nota para que
+     * las calificaciones bajas (<70) representen una fracción fija.
+     */
+    static Evaluacion evaluacion(int id, double nota) {
+        Evaluacion evaluacion = new Evaluacion(id, "Evaluación " + id, "Benchmark",
+                                               new Date(), 100, "PROYECTO");
+        evaluacion.calificar(nota);
+        return evaluacion;
+    }
+
+    /**
+     * Nota determinista entre 40 y 99 para la posición indicada.
+     */
+    static double nota(int i) {
+        return 40 + (i * 37) % 60;
+    }
+}
@@ -0,0 +1,24 @@
+package com.ues.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ejecuta los benchmarks con el perfilador de GC, que reporta bytes
+ * asignados por operación (gc.alloc.rate.norm) junto a los tiempos.
+ *
+ * Argumento opcional: expresión regular para filtrar benchmarks.
+ */
+public class EjecutorBenchmarks {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opciones = new OptionsBuilder()
+            .include(args.length > 0 ? args[0] : "com\\.ues\\.benchmark\\..*")
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(opciones).run();
+    }
+}
@@ -0,0 +1,68 @@
+package com.ues.benchmark;
+
+import com.ues.comportamiento.observer.ProyectoObservable;
+import com.ues.comportamiento.strategy.EstrategiaEvaluacion;
+import com.ues.comportamiento.strategy.EstrategiaEvaluacionEstricta;
+import com.ues.comportamiento.strategy.EstrategiaEvaluacionFlexible;
+import com.ues.model.Proyecto;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * EstrategiaEvaluacion.evaluarProyecto según el tamaño del proyecto, con
+ * estadísticas acumuladas (ProyectoObservable) y sin ellas (Proyecto base).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EstrategiaBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int evaluaciones;
+
+    private Proyecto proyectoAcumulado;
+    private Proyecto proyectoBase;
+    private EstrategiaEvaluacion estricta;
+    private EstrategiaEvaluacion flexible;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        proyectoAcumulado = new ProyectoObservable("PR1", "Acumulado", "JMH", DatosBenchmark.profesor());
+        proyectoBase = new Proyecto("PR2", "Base", "JMH", DatosBenchmark.profesor());
+        for (int i = 0; i < evaluaciones; i++) {
+            proyectoAcumulado.agregarEvaluacion(DatosBenchmark.evaluacion(i, DatosBenchmark.nota(i)));
+            proyectoBase.agregarEvaluacion(DatosBenchmark.evaluacion(i, DatosBenchmark.nota(i)));
+        }
+        estricta = new EstrategiaEvaluacionEstricta();
+        flexible = new EstrategiaEvaluacionFlexible();
+    }
+
+    @Benchmark
+    public boolean estrictaAcumulada() {
+        return estricta.evaluarProyecto(proyectoAcumulado);
+    }
+
+    @Benchmark
+    public boolean flexibleAcumulada() {
+        return flexible.evaluarProyecto(proyectoAcumulado);
+    }
+
+    @Benchmark
+    public boolean estrictaSinAcumular() {
+        return estricta.evaluarProyecto(proyectoBase);
+    }
+}
@@ -0,0 +1,67 @@
+package com.ues.benchmark;
+
+import com.ues.service.UniversidadService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * UniversidadService.inscribirEstudianteEnCurso sobre un curso con muchos
+ * inscritos. Se repiten inscripciones existentes, así que mide sobre todo la
+ * búsqueda en repositorios, los candados y la verificación de pertenencia.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InscripcionBenchmark {
+
+    @Param({"100", "2000"})
+    private int estudiantes;
+
+    private UniversidadService servicio;
+    private String[] idsEstudiantes;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        servicio = new UniversidadService();
+        servicio.crearProfesor("P001", "Dr. Juan Pérez");
+        servicio.crearCurso("C001", "Investigación Científica", "P001");
+
+        idsEstudiantes = new String[estudiantes];
+        for (int i = 0; i < estudiantes; i++) {
+            idsEstudiantes[i] = "E" + i;
+            servicio.crearEstudiante(idsEstudiantes[i], "Estudiante " + i, "PA" + (1 + i % 10));
+            servicio.inscribirEstudianteEnCurso(idsEstudiantes[i], "C001");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Posicion {
+        int siguiente;
+    }
+
+    @Benchmark
+    public void inscribir(Posicion posicion) {
+        servicio.inscribirEstudianteEnCurso(idsEstudiantes[posicion.siguiente++ % estudiantes], "C001");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void inscribirConcurrente(Posicion posicion) {
+        servicio.inscribirEstudianteEnCurso(idsEstudiantes[posicion.siguiente++ % estudiantes], "C001");
+    }
+}
@@ -0,0 +1,79 @@
+package com.ues.benchmark;
+
+import com.ues.comportamiento.observer.EventoProyecto;
+import com.ues.comportamiento.observer.ObservadorProyecto;
+import com.ues.comportamiento.observer.ProyectoObservable;
+import com.ues.model.Evaluacion;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ProyectoObservable.agregarEvaluacion con N observadores sin costo propio:
+ * mide la creación del evento y el despacho.
+ *
+ * Cada medición es un lote fijo de LOTE llamadas sobre un proyecto nuevo, así
+ * la lista de evaluaciones queda acotada a LOTE elementos en lugar de crecer
+ * millones durante una iteración por tiempo. El puntaje es el tiempo por
+ * lote completo.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 200, batchSize = ObservadoresBenchmark.LOTE)
+@Measurement(iterations = 500, batchSize = ObservadoresBenchmark.LOTE)
+@Fork(1)
+@State(Scope.Thread)
+public class ObservadoresBenchmark {
+    static final int LOTE = 1024;
+
+    @Param({"1", "4", "16"})
+    private int observadores;
+
+    private ProyectoObservable proyecto;
+    private Evaluacion[] evaluaciones;
+    private int siguiente;
+
+    @Setup(Level.Iteration)
+    public void prepararProyecto() {
+        // Proyecto y evaluaciones nuevos por lote: la lista queda acotada a
+        // LOTE elementos y las evaluaciones no acumulan observadores de
+        // proyectos anteriores
+        proyecto = new ProyectoObservable("PR-BENCH", "Proyecto benchmark", "JMH",
+                                          DatosBenchmark.profesor());
+        for (int i = 0; i < observadores; i++) {
+            proyecto.agregarObservador(new ObservadorContador());
+        }
+        evaluaciones = new Evaluacion[LOTE];
+        for (int i = 0; i < evaluaciones.length; i++) {
+            evaluaciones[i] = DatosBenchmark.evaluacion(i, DatosBenchmark.nota(i));
+        }
+        siguiente = 0;
+    }
+
+    @Benchmark
+    public void agregarEvaluacion() {
+        proyecto.agregarEvaluacion(evaluaciones[siguiente++]);
+    }
+
+    /**
+     * Observador de costo mínimo: solo cuenta los eventos recibidos.
+     */
+    static final class ObservadorContador implements ObservadorProyecto {
+        long recibidos;
+
+        @Override
+        public void actualizar(EventoProyecto evento) {
+            recibidos++;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.ues.benchmark;
+
+import com.ues.creacional.builder.ProyectoBuilder;
+import com.ues.model.Profesor;
+import com.ues.model.Proyecto;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Construcción completa de un proyecto con ProyectoBuilder.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProyectoBuilderBenchmark {
+
+    private Profesor profesor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        profesor = DatosBenchmark.profesor();
+    }
+
+    @Benchmark
+    public Proyecto build() {
+        return new ProyectoBuilder()
+            .setId("PR001")
+            .setNombre("Proyecto Amazonía")
+            .setDescripcion("Investigación sobre biodiversidad amazónica")
+            .setProfesor(profesor)
+            .setPresupuesto(10000.0)
+            .setDuracionMeses(6)
+            .agregarObjetivo("Investigar en salud")
+            .agregarObjetivo("Publicar resultados")
+            .build();
+    }
+}
@@ -0,0 +1,266 @@
+package com.ues.comportamiento.iterator;
+
+import com.ues.model.Curso;
+import com.ues.model.Estudiante;
+import com.ues.model.Evaluacion;
+import com.ues.model.Proyecto;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * PATRÓN ITERATOR - Cursor perezoso sobre proyectos, evaluaciones e inscritos
+ *
+ * Recorre la colección original sin copiarla. Los filtros se acumulan en un
+ * solo predicado que se aplica en la fuente al avanzar, así que filtrar no
+ * crea listas intermedias.
+ *
+ * El cursor expone un Spliterator: sobre listas de acceso aleatorio se parte
+ * por la mitad del rango de índices y es SIZED/SUBSIZED, por lo que un
+ * stream paralelo reparte el trabajo en partes iguales. Otras colecciones
+ * usan su propio Spliterator con las características que este declare. Con
+ * un filtro ya no se conoce el tamaño exacto y SIZED/SUBSIZED se quitan.
+ *
+ * Concurrencia, según la fuente:
+ * - Proyectos del servicio: vienen de un ConcurrentHashMap, así que el
+ *   recorrido es débilmente consistente (no falla si se registran proyectos
+ *   mientras tanto) y su tamaño es aproximado: no es SIZED.
+ * - Inscritos de un curso: se recorre el conjunto vivo del curso, que no es
+ *   seguro para hilos, así que el recorrido completo debe hacerse con el
+ *   candado del curso (el servicio lo hace en recorrerInscritos).
+ * - Evaluaciones de un proyecto: se recorre la lista viva, que no debe
+ *   cambiar durante el recorrido.
+ */
+public class ProyectoIterator<T> implements Iterator<T> {
+    private final Spliterator<T> fuente;
+    private final Predicate<? super T> filtro; // null = sin filtro
+    private Spliterator<T> recorrido;           // Se crea al empezar a iterar
+
+    private T siguiente;
+    private boolean haySiguiente;
+    private final Consumer<T> capturar = elemento -> {
+        siguiente = elemento;
+        haySiguiente = true;
+    };
+
+    private ProyectoIterator(Spliterator<T> fuente, Predicate<? super T> filtro) {
+        this.fuente = fuente;
+        this.filtro = filtro;
+    }
+
+    // ========== FUENTES ==========
+
+    /**
+     * Cursor sobre una colección, sin copiarla.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ProyectoIterator<T> sobre(Collection<? extends T> coleccion) {
+        Spliterator<T> fuente;
+        if (coleccion instanceof List && coleccion instanceof RandomAccess) {
+            fuente = new RangoSpliterator<>((List<? extends T>) coleccion, 0, coleccion.size());
+        } else {
+            fuente = (Spliterator<T>) coleccion.spliterator();
+        }
+        return new ProyectoIterator<>(fuente, null);
+    }
+
+    public static ProyectoIterator<Proyecto> deProyectos(Collection<Proyecto> proyectos) {
+        return sobre(proyectos);
+    }
+
+    public static ProyectoIterator<Evaluacion> deEvaluaciones(Proyecto proyecto) {
+        return sobre(proyecto.getEvaluaciones());
+    }
+
+    /**
+     * Cursor sobre los inscritos del curso, sin copiarlos. Si el curso puede
+     * cambiar en paralelo, debe recorrerse entero con el candado que lo
+     * protege.
+     */
+    public static ProyectoIterator<Estudiante> deInscritos(Curso curso) {
+        return new ProyectoIterator<>(curso.spliteratorInscritos(), null);
+    }
+
+    // ========== FILTROS ==========
+
+    /**
+     * Cursor con el filtro agregado a los anteriores. Debe llamarse antes de
+     * empezar a recorrer.
+     * @throws IllegalStateException si el recorrido ya empezó
+     */
+    public ProyectoIterator<T> filtrar(Predicate<? super T> criterio) {
+        if (recorrido != null) {
+            throw new IllegalStateException("El recorrido ya empezó");
+        }
+        if (filtro == null) {
+            return new ProyectoIterator<>(fuente, criterio);
+        }
+        Predicate<? super T> anterior = filtro;
+        return new ProyectoIterator<>(fuente, (T elemento) -> anterior.test(elemento) && criterio.test(elemento));
+    }
+
+    // ========== RECORRIDO ==========
+
+    @Override
+    public boolean hasNext() {
+        if (!haySiguiente) {
+            spliterator().tryAdvance(capturar);
+        }
+        return haySiguiente;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T elemento = siguiente;
+        siguiente = null;
+        haySiguiente = false;
+        return elemento;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> accion) {
+        if (haySiguiente) {
+            accion.accept(next());
+        }
+        spliterator().forEachRemaining(accion);
+    }
+
+    /**
+     * Spliterator de los elementos pendientes. Comparte el recorrido con el
+     * cursor: lo que consuma uno ya no lo entrega el otro.
+     */
+    public Spliterator<T> spliterator() {
+        if (recorrido == null) {
+            recorrido = filtro == null ? fuente : new FiltroSpliterator<>(fuente, filtro);
+        }
+        return recorrido;
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    // ========== CLASES INTERNAS ==========
+
+    /**
+     * Rango [origen, fin) de una lista de acceso aleatorio.
+     */
+    static final class RangoSpliterator<T> implements Spliterator<T> {
+        private final List<? extends T> lista;
+        private int origen;
+        private final int fin;
+
+        RangoSpliterator(List<? extends T> lista, int origen, int fin) {
+            this.lista = lista;
+            this.origen = origen;
+            this.fin = fin;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> accion) {
+            if (origen >= fin) {
+                return false;
+            }
+            accion.accept(lista.get(origen++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> accion) {
+            int i = origen;
+            origen = fin;
+            for (; i < fin; i++) {
+                accion.accept(lista.get(i));
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int medio = (origen + fin) >>> 1;
+            if (medio <= origen) {
+                return null;
+            }
+            RangoSpliterator<T> prefijo = new RangoSpliterator<>(lista, origen, medio);
+            origen = medio;
+            return prefijo;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fin - origen;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+
+    /**
+     * Aplica el filtro al avanzar sobre la fuente. El tamaño pasa a ser una
+     * cota superior, así que no declara SIZED ni SUBSIZED.
+     */
+    static final class FiltroSpliterator<T> implements Spliterator<T> {
+        private final Spliterator<T> fuente;
+        private final Predicate<? super T> filtro;
+        private T actual;
+        private final Consumer<T> capturar = elemento -> actual = elemento;
+
+        FiltroSpliterator(Spliterator<T> fuente, Predicate<? super T> filtro) {
+            this.fuente = fuente;
+            this.filtro = filtro;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> accion) {
+            while (fuente.tryAdvance(capturar)) {
+                T elemento = actual;
+                actual = null;
+                if (filtro.test(elemento)) {
+                    accion.accept(elemento);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> accion) {
+            fuente.forEachRemaining(elemento -> {
+                if (filtro.test(elemento)) {
+                    accion.accept(elemento);
+                }
+            });
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            Spliterator<T> prefijo = fuente.trySplit();
+            return prefijo == null ? null : new FiltroSpliterator<>(prefijo, filtro);
+        }
+
+        @Override
+        public long estimateSize() {
+            return fuente.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return fuente.characteristics() & ~(SIZED | SUBSIZED);
+        }
+    }
+}
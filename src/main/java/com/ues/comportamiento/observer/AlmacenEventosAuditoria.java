@@ -0,0 +1,371 @@
+package com.ues.comportamiento.observer;
+
+import com.ues.comportamiento.observer.RegistroAuditoria.EventoAuditoria;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * ALMACÉN DE EVENTOS DE AUDITORÍA
+ *
+ * Buffer circular de capacidad fija con índices secundarios por tipo, nivel,
+ * recurso y franja de tiempo. Cada índice guarda números de secuencia en orden
+ * de llegada, por lo que el evento más antiguo siempre está en la cabeza de
+ * todas sus colas: descartarlo cuesta O(1) y las consultas cuestan O(coincidencias).
+ */
+final class AlmacenEventosAuditoria {
+
+    // Tamaño de cada franja del índice temporal (1 segundo)
+    private static final long MILIS_POR_FRANJA = 1000L;
+
+    private final EventoAuditoria[] eventos;
+    private final int capacidad;
+    private long primeraSecuencia;   // Secuencia del evento más antiguo retenido
+    private long siguienteSecuencia; // Secuencia que recibirá el próximo evento
+
+    // Índices secundarios
+    private final Map<String, ColaSecuencias> porTipo = new HashMap<>();
+    private final Map<Integer, ColaSecuencias> porNivel = new HashMap<>();
+    private final Map<String, ColaSecuencias> porRecurso = new HashMap<>();
+    private final TreeMap<Long, ColaSecuencias> porFranja = new TreeMap<>();
+
+    AlmacenEventosAuditoria(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva: " + capacidad);
+        }
+        this.capacidad = capacidad;
+        this.eventos = new EventoAuditoria[capacidad];
+    }
+
+    // ========== ESCRITURA ==========
+
+    /**
+     * Agrega un evento. Si el buffer está lleno descarta el más antiguo.
+     * @return El evento descartado, o null si no hubo descarte
+     */
+    synchronized EventoAuditoria agregar(EventoAuditoria evento) {
+        EventoAuditoria descartado = null;
+        if (siguienteSecuencia - primeraSecuencia == capacidad) {
+            descartado = descartarMasAntiguo();
+        }
+
+        long secuencia = siguienteSecuencia++;
+        eventos[posicion(secuencia)] = evento;
+
+        indexar(porTipo, evento.getTipo(), secuencia);
+        indexar(porNivel, evento.getNivel(), secuencia);
+        indexar(porRecurso, evento.getIdRecurso(), secuencia);
+        indexar(porFranja, franja(evento.getMarcaTiempo()), secuencia);
+
+        return descartado;
+    }
+
+    /**
+     * Elimina todos los eventos retenidos.
+     * @return Cantidad de eventos eliminados
+     */
+    synchronized int limpiar() {
+        int eliminados = tamanio();
+        Arrays.fill(eventos, null);
+        primeraSecuencia = siguienteSecuencia;
+        porTipo.clear();
+        porNivel.clear();
+        porRecurso.clear();
+        porFranja.clear();
+        return eliminados;
+    }
+
+    /**
+     * Crea un almacén con otra capacidad conservando los eventos más recientes.
+     */
+    synchronized AlmacenEventosAuditoria conCapacidad(int nuevaCapacidad) {
+        AlmacenEventosAuditoria nuevo = new AlmacenEventosAuditoria(nuevaCapacidad);
+        long desde = Math.max(primeraSecuencia, siguienteSecuencia - nuevaCapacidad);
+        for (long s = desde; s < siguienteSecuencia; s++) {
+            nuevo.agregar(eventos[posicion(s)]);
+        }
+        return nuevo;
+    }
+
+    // ========== CONSULTAS ==========
+
+    synchronized int tamanio() {
+        return (int) (siguienteSecuencia - primeraSecuencia);
+    }
+
+    int getCapacidad() {
+        return capacidad;
+    }
+
+    /**
+     * Copia los eventos retenidos, del más antiguo al más reciente.
+     */
+    synchronized List<EventoAuditoria> aLista() {
+        List<EventoAuditoria> lista = new ArrayList<>(tamanio());
+        for (long s = primeraSecuencia; s < siguienteSecuencia; s++) {
+            lista.add(eventos[posicion(s)]);
+        }
+        return lista;
+    }
+
+    /**
+     * Copia los eventos retenidos, del más antiguo al más reciente, en un
+     * arreglo plano (dos System.arraycopy) para procesarlo sin el candado.
+     */
+    synchronized EventoAuditoria[] instantanea() {
+        int total = tamanio();
+        EventoAuditoria[] copia = new EventoAuditoria[total];
+        if (total == 0) {
+            return copia;
+        }
+        int inicio = posicion(primeraSecuencia);
+        int primeraParte = Math.min(total, capacidad - inicio);
+        System.arraycopy(eventos, inicio, copia, 0, primeraParte);
+        System.arraycopy(eventos, 0, copia, primeraParte, total - primeraParte);
+        return copia;
+    }
+
+    /**
+     * Recorre los eventos retenidos en orden de llegada sin copiarlos.
+     */
+    synchronized void recorrer(Consumer<? super EventoAuditoria> accion) {
+        for (long s = primeraSecuencia; s < siguienteSecuencia; s++) {
+            accion.accept(eventos[posicion(s)]);
+        }
+    }
+
+    /**
+     * Abre un cursor sobre los eventos retenidos en este momento. Los eventos
+     * que lleguen después no se incluyen.
+     */
+    synchronized Cursor abrirCursor() {
+        return new Cursor(primeraSecuencia, siguienteSecuencia);
+    }
+
+    /**
+     * Copia en el bloque los siguientes eventos del cursor. Solo mantiene el
+     * candado durante la copia, de modo que recorrer un historial grande no
+     * bloquea a los escritores. Si el buffer ya descartó parte del rango del
+     * cursor, se continúa desde el evento más antiguo que siga retenido.
+     * @return Cantidad de eventos copiados (0 al terminar)
+     */
+    synchronized int leerBloque(Cursor cursor, EventoAuditoria[] bloque) {
+        long desde = Math.max(cursor.siguiente, primeraSecuencia);
+        long hasta = Math.min(cursor.limite, Math.min(siguienteSecuencia, desde + bloque.length));
+        int copiados = 0;
+        for (long s = desde; s < hasta; s++) {
+            bloque[copiados++] = eventos[posicion(s)];
+        }
+        cursor.siguiente = Math.max(hasta, desde);
+        return copiados;
+    }
+
+    /**
+     * Eventos cuyo tipo contiene el texto indicado.
+     * Solo se examinan las claves distintas del índice, no el historial.
+     */
+    synchronized List<EventoAuditoria> buscarPorTipo(String tipo) {
+        List<ColaSecuencias> coincidentes = new ArrayList<>();
+        for (Map.Entry<String, ColaSecuencias> entrada : porTipo.entrySet()) {
+            if (entrada.getKey().contains(tipo)) {
+                coincidentes.add(entrada.getValue());
+            }
+        }
+        return mezclar(coincidentes);
+    }
+
+    synchronized List<EventoAuditoria> buscarPorNivel(int nivel) {
+        return resolver(porNivel.get(nivel));
+    }
+
+    synchronized int contarPorNivel(int nivel) {
+        ColaSecuencias cola = porNivel.get(nivel);
+        return cola == null ? 0 : cola.tamanio();
+    }
+
+    synchronized List<EventoAuditoria> buscarPorRecurso(String idRecurso) {
+        return resolver(porRecurso.get(idRecurso));
+    }
+
+    /**
+     * Eventos con fecha en [inicio, fin]. Solo se visitan las franjas del rango.
+     */
+    synchronized List<EventoAuditoria> buscarPorFecha(Date inicio, Date fin) {
+        long desde = inicio.getTime();
+        long hasta = fin.getTime();
+        List<EventoAuditoria> resultado = new ArrayList<>();
+        if (desde > hasta) {
+            return resultado;
+        }
+
+        NavigableMap<Long, ColaSecuencias> franjas =
+            porFranja.subMap(franja(desde), true, franja(hasta), true);
+        for (ColaSecuencias cola : franjas.values()) {
+            for (int i = 0; i < cola.tamanio(); i++) {
+                EventoAuditoria evento = eventos[posicion(cola.obtener(i))];
+                long instante = evento.getMarcaTiempo();
+                if (instante >= desde && instante <= hasta) {
+                    resultado.add(evento);
+                }
+            }
+        }
+        return resultado;
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private EventoAuditoria descartarMasAntiguo() {
+        long secuencia = primeraSecuencia++;
+        int pos = posicion(secuencia);
+        EventoAuditoria evento = eventos[pos];
+        eventos[pos] = null;
+
+        desindexar(porTipo, evento.getTipo(), secuencia);
+        desindexar(porNivel, evento.getNivel(), secuencia);
+        desindexar(porRecurso, evento.getIdRecurso(), secuencia);
+        desindexar(porFranja, franja(evento.getMarcaTiempo()), secuencia);
+
+        return evento;
+    }
+
+    private <K> void indexar(Map<K, ColaSecuencias> indice, K clave, long secuencia) {
+        ColaSecuencias cola = indice.get(clave);
+        if (cola == null) {
+            cola = new ColaSecuencias();
+            indice.put(clave, cola);
+        }
+        cola.agregar(secuencia);
+    }
+
+    private <K> void desindexar(Map<K, ColaSecuencias> indice, K clave, long secuencia) {
+        ColaSecuencias cola = indice.get(clave);
+        // El evento descartado es el más antiguo, así que está en la cabeza de su cola
+        if (cola == null || cola.primero() != secuencia) {
+            throw new IllegalStateException("Índice de auditoría inconsistente en secuencia " + secuencia);
+        }
+        cola.quitarPrimero();
+        if (cola.estaVacia()) {
+            indice.remove(clave);
+        }
+    }
+
+    private List<EventoAuditoria> resolver(ColaSecuencias cola) {
+        if (cola == null) {
+            return new ArrayList<>();
+        }
+        List<EventoAuditoria> resultado = new ArrayList<>(cola.tamanio());
+        for (int i = 0; i < cola.tamanio(); i++) {
+            resultado.add(eventos[posicion(cola.obtener(i))]);
+        }
+        return resultado;
+    }
+
+    /**
+     * Mezcla varias colas ordenadas conservando el orden global de llegada.
+     */
+    private List<EventoAuditoria> mezclar(List<ColaSecuencias> colas) {
+        if (colas.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (colas.size() == 1) {
+            return resolver(colas.get(0));
+        }
+
+        int total = 0;
+        for (ColaSecuencias cola : colas) {
+            total += cola.tamanio();
+        }
+        List<EventoAuditoria> resultado = new ArrayList<>(total);
+        int[] cursores = new int[colas.size()];
+        for (int n = 0; n < total; n++) {
+            int elegida = -1;
+            long menor = Long.MAX_VALUE;
+            for (int c = 0; c < cursores.length; c++) {
+                ColaSecuencias cola = colas.get(c);
+                if (cursores[c] < cola.tamanio() && cola.obtener(cursores[c]) < menor) {
+                    menor = cola.obtener(cursores[c]);
+                    elegida = c;
+                }
+            }
+            cursores[elegida]++;
+            resultado.add(eventos[posicion(menor)]);
+        }
+        return resultado;
+    }
+
+    private int posicion(long secuencia) {
+        return (int) (secuencia % capacidad);
+    }
+
+    private static Long franja(long instante) {
+        return Math.floorDiv(instante, MILIS_POR_FRANJA);
+    }
+
+    // ========== CLASES INTERNAS ==========
+
+    /**
+     * Posición de lectura sobre un rango fijo de secuencias.
+     */
+    static final class Cursor {
+        private long siguiente;
+        private final long limite;
+
+        private Cursor(long siguiente, long limite) {
+            this.siguiente = siguiente;
+            this.limite = limite;
+        }
+    }
+
+    /**
+     * Cola circular de números de secuencia (long primitivos, sin boxing).
+     */
+    static final class ColaSecuencias {
+        private long[] valores = new long[8];
+        private int cabeza;
+        private int tamanio;
+
+        void agregar(long valor) {
+            if (tamanio == valores.length) {
+                crecer();
+            }
+            valores[(cabeza + tamanio) & (valores.length - 1)] = valor;
+            tamanio++;
+        }
+
+        long primero() {
+            return valores[cabeza];
+        }
+
+        void quitarPrimero() {
+            cabeza = (cabeza + 1) & (valores.length - 1);
+            tamanio--;
+        }
+
+        long obtener(int i) {
+            return valores[(cabeza + i) & (valores.length - 1)];
+        }
+
+        int tamanio() {
+            return tamanio;
+        }
+
+        boolean estaVacia() {
+            return tamanio == 0;
+        }
+
+        private void crecer() {
+            long[] nuevos = new long[valores.length << 1];
+            for (int i = 0; i < tamanio; i++) {
+                nuevos[i] = obtener(i);
+            }
+            valores = nuevos;
+            cabeza = 0;
+        }
+    }
+}
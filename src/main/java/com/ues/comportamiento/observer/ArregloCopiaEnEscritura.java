@@ -0,0 +1,70 @@
+package com.ues.comportamiento.observer;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ARREGLO COPY-ON-WRITE
+ *
+ * Arreglo inmutable que se reemplaza de forma atómica (CAS) al agregar o
+ * quitar. Leer la instantánea no usa candados ni iteradores, así que se
+ * puede recorrer mientras otros hilos agregan o quitan elementos.
+ * Lo comparten el registro de observadores y las rutas del bus de eventos.
+ */
+final class ArregloCopiaEnEscritura<T> {
+    private final T[] vacio;
+    private final AtomicReference<T[]> elementos;
+
+    /**
+     * @param vacio Arreglo de longitud 0 del tipo de los elementos
+     */
+    ArregloCopiaEnEscritura(T[] vacio) {
+        this.vacio = vacio;
+        this.elementos = new AtomicReference<>(vacio);
+    }
+
+    void agregar(T elemento) {
+        while (true) {
+            T[] actuales = elementos.get();
+            T[] nuevos = Arrays.copyOf(actuales, actuales.length + 1);
+            nuevos[actuales.length] = elemento;
+            if (elementos.compareAndSet(actuales, nuevos)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Quita la primera aparición del elemento (según equals).
+     * @return true si estaba presente
+     */
+    boolean quitar(T elemento) {
+        while (true) {
+            T[] actuales = elementos.get();
+            int indice = -1;
+            for (int i = 0; i < actuales.length; i++) {
+                if (actuales[i].equals(elemento)) {
+                    indice = i;
+                    break;
+                }
+            }
+            if (indice < 0) {
+                return false;
+            }
+
+            T[] nuevos = actuales.length == 1 ? vacio : Arrays.copyOf(vacio, actuales.length - 1);
+            System.arraycopy(actuales, 0, nuevos, 0, indice);
+            System.arraycopy(actuales, indice + 1, nuevos, indice, actuales.length - indice - 1);
+            if (elementos.compareAndSet(actuales, nuevos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Arreglo actual. Es compartido: no debe modificarse.
+     */
+    T[] instantanea() {
+        return elementos.get();
+    }
+}
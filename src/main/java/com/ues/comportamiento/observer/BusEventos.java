@@ -0,0 +1,136 @@
+package com.ues.comportamiento.observer;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * BUS DE EVENTOS POR TEMA
+ *
+ * Punto central de publicación: los observadores se suscriben a los tipos
+ * de evento que les interesan y, opcionalmente, a un filtro por id de
+ * proyecto. La tabla de ruteo guarda un arreglo de suscripciones por
+ * TipoEvento, precalculado al suscribir; publicar un evento solo recorre
+ * los suscriptores de su tipo.
+ *
+ * Cada arreglo se reemplaza con copy-on-write, así que publicar no usa
+ * candados y se puede suscribir o cancelar mientras se publica.
+ *
+ * Un ProyectoObservable con bus no vuelve a entregar a sus observadores
+ * propios un evento que el bus ya les entregó (ver entregaA).
+ */
+public class BusEventos {
+    private final ArregloCopiaEnEscritura<Suscripcion>[] rutas;
+
+    @SuppressWarnings("unchecked")
+    public BusEventos() {
+        int tipos = EventoProyecto.TipoEvento.values().length;
+        rutas = new ArregloCopiaEnEscritura[tipos];
+        for (int i = 0; i < tipos; i++) {
+            rutas[i] = new ArregloCopiaEnEscritura<>(new Suscripcion[0]);
+        }
+    }
+
+    /**
+     * Suscribe un observador a los tipos indicados (todos si no se indica ninguno).
+     */
+    public Suscripcion suscribir(ObservadorProyecto observador, EventoProyecto.TipoEvento... tipos) {
+        return suscribir(observador, null, tipos);
+    }
+
+    /**
+     * Suscribe un observador a los tipos indicados, solo para los proyectos
+     * cuyo id cumpla el filtro.
+     * @param filtroProyecto Predicado sobre el id del proyecto (null = todos)
+     */
+    public Suscripcion suscribir(ObservadorProyecto observador, Predicate<String> filtroProyecto,
+                                 EventoProyecto.TipoEvento... tipos) {
+        Set<EventoProyecto.TipoEvento> conjunto = tipos.length == 0
+            ? EnumSet.allOf(EventoProyecto.TipoEvento.class)
+            : EnumSet.of(tipos[0], tipos);
+
+        Suscripcion suscripcion = new Suscripcion(observador, filtroProyecto, conjunto);
+        for (EventoProyecto.TipoEvento tipo : conjunto) {
+            rutas[tipo.ordinal()].agregar(suscripcion);
+        }
+        return suscripcion;
+    }
+
+    /**
+     * Entrega el evento a los suscriptores de su tipo.
+     */
+    public void publicar(EventoProyecto evento) {
+        Suscripcion[] suscriptores = rutas[evento.getTipo().ordinal()].instantanea();
+        if (suscriptores.length == 0) {
+            return;
+        }
+        String idProyecto = idProyecto(evento);
+        for (int i = 0; i < suscriptores.length; i++) {
+            Suscripcion suscripcion = suscriptores[i];
+            if (suscripcion.acepta(idProyecto)) {
+                suscripcion.observador.actualizar(evento);
+            }
+        }
+    }
+
+    /**
+     * Indica si publicar(evento) le entregaría el evento a este observador.
+     */
+    public boolean entregaA(ObservadorProyecto observador, EventoProyecto evento) {
+        Suscripcion[] suscriptores = rutas[evento.getTipo().ordinal()].instantanea();
+        if (suscriptores.length == 0) {
+            return false;
+        }
+        String idProyecto = idProyecto(evento);
+        for (int i = 0; i < suscriptores.length; i++) {
+            if (suscriptores[i].observador == observador && suscriptores[i].acepta(idProyecto)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cantidad de suscriptores de un tipo de evento.
+     */
+    public int contarSuscriptores(EventoProyecto.TipoEvento tipo) {
+        return rutas[tipo.ordinal()].instantanea().length;
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private static String idProyecto(EventoProyecto evento) {
+        return evento.getProyecto() != null ? evento.getProyecto().getId() : null;
+    }
+
+    // ========== CLASES INTERNAS ==========
+
+    /**
+     * Suscripción activa en el bus. cancelar() la retira de todas sus rutas.
+     */
+    public final class Suscripcion {
+        private final ObservadorProyecto observador;
+        private final Predicate<String> filtroProyecto;
+        private final Set<EventoProyecto.TipoEvento> tipos;
+
+        private Suscripcion(ObservadorProyecto observador, Predicate<String> filtroProyecto,
+                            Set<EventoProyecto.TipoEvento> tipos) {
+            this.observador = observador;
+            this.filtroProyecto = filtroProyecto;
+            this.tipos = tipos;
+        }
+
+        public void cancelar() {
+            for (EventoProyecto.TipoEvento tipo : tipos) {
+                rutas[tipo.ordinal()].quitar(this);
+            }
+        }
+
+        private boolean acepta(String idProyecto) {
+            return filtroProyecto == null || (idProyecto != null && filtroProyecto.test(idProyecto));
+        }
+
+        public ObservadorProyecto getObservador() { return observador; }
+        public Set<EventoProyecto.TipoEvento> getTipos() { return EnumSet.copyOf(tipos); }
+    }
+}
@@ -0,0 +1,214 @@
+package com.ues.comportamiento.observer;
+
+import com.ues.model.EstadisticasEvaluaciones;
+import com.ues.model.Proyecto;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CLASIFICADOR DE NIVEL DE EVENTOS
+ *
+ * Reglas configurables con un Builder y compiladas en una tabla de decisión
+ * indexada por el ordinal del TipoEvento. Clasificar un evento compara
+ * campos estructurados (calificación, estado del proyecto) y no crea
+ * objetos; el texto es solo el respaldo para eventos sin calificación
+ * creados con un mensaje explícito.
+ *
+ * Orden de evaluación para un tipo:
+ * 1. Proyecto inactivo, si el tipo tiene regla para ese caso.
+ * 2. Con calificación: umbrales, del menor al mayor; gana el primero que la
+ *    calificación no alcanza.
+ * 3. Sin calificación: palabras clave del mensaje explícito (sin distinguir
+ *    mayúsculas), en el orden en que se agregaron.
+ * 4. Nivel base del tipo.
+ */
+public class ClasificadorNivelEvento {
+    /** Nivel para tipos sin regla: Info */
+    public static final int NIVEL_POR_DEFECTO = 3;
+
+    private static final int SIN_REGLA = -1;
+
+    private final int[] nivelBase;
+    private final int[] nivelProyectoInactivo;
+    private final String[][] palabrasClave; // Por tipo, en orden de registro
+    private final int[][] nivelesPalabra; // Nivel asociado a cada palabra
+    private final double[][] umbrales;   // Por tipo, en orden ascendente
+    private final int[][] nivelesUmbral; // Nivel asociado a cada umbral
+
+    private ClasificadorNivelEvento(int[] nivelBase, int[] nivelProyectoInactivo,
+                                    String[][] palabrasClave, int[][] nivelesPalabra,
+                                    double[][] umbrales, int[][] nivelesUmbral) {
+        this.nivelBase = nivelBase;
+        this.nivelProyectoInactivo = nivelProyectoInactivo;
+        this.palabrasClave = palabrasClave;
+        this.nivelesPalabra = nivelesPalabra;
+        this.umbrales = umbrales;
+        this.nivelesUmbral = nivelesUmbral;
+    }
+
+    /**
+     * Niveles de la clasificación original de RegistroAuditoria, decididos
+     * por los campos del evento: cierre = Error, evaluación baja (menor que
+     * EstadisticasEvaluaciones.UMBRAL_BAJA) = Warning, evaluación = Info,
+     * creación = Info, estudiante agregado = Debug. Las palabras "baja" y
+     * "<70" quedan solo para evaluaciones sin calificación con mensaje propio.
+     */
+    public static ClasificadorNivelEvento porDefecto() {
+        return new Builder()
+            .setNivelBase(EventoProyecto.TipoEvento.PROYECTO_CERRADO, 1)
+            .setNivelBase(EventoProyecto.TipoEvento.EVALUACION_AGREGADA, 3)
+            .agregarUmbralCalificacion(EventoProyecto.TipoEvento.EVALUACION_AGREGADA,
+                                       EstadisticasEvaluaciones.UMBRAL_BAJA, 2)
+            .agregarPalabraClave(EventoProyecto.TipoEvento.EVALUACION_AGREGADA, "baja", 2)
+            .agregarPalabraClave(EventoProyecto.TipoEvento.EVALUACION_AGREGADA, "<70", 2)
+            .setNivelBase(EventoProyecto.TipoEvento.PROYECTO_CREADO, 3)
+            .setNivelBase(EventoProyecto.TipoEvento.ESTUDIANTE_AGREGADO, 4)
+            .build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Nivel del evento (1=Error, 2=Warning, 3=Info, 4=Debug).
+     */
+    public int clasificar(EventoProyecto evento) {
+        int tipo = evento.getTipo().ordinal();
+
+        int nivelInactivo = nivelProyectoInactivo[tipo];
+        if (nivelInactivo != SIN_REGLA) {
+            Proyecto proyecto = evento.getProyecto();
+            if (proyecto != null && !proyecto.isActivo()) {
+                return nivelInactivo;
+            }
+        }
+
+        if (evento.tieneCalificacion()) {
+            double[] umbralesTipo = umbrales[tipo];
+            double calificacion = evento.getCalificacion();
+            for (int i = 0; i < umbralesTipo.length; i++) {
+                if (calificacion < umbralesTipo[i]) {
+                    return nivelesUmbral[tipo][i];
+                }
+            }
+            return nivelBase[tipo];
+        }
+
+        String[] palabrasTipo = palabrasClave[tipo];
+        if (palabrasTipo.length > 0) {
+            String mensaje = evento.getMensajeExplicito();
+            if (mensaje != null) {
+                for (int i = 0; i < palabrasTipo.length; i++) {
+                    if (contiene(mensaje, palabrasTipo[i])) {
+                        return nivelesPalabra[tipo][i];
+                    }
+                }
+            }
+        }
+
+        return nivelBase[tipo];
+    }
+
+    /**
+     * Búsqueda sin distinguir mayúsculas que no crea copias del mensaje.
+     */
+    private static boolean contiene(String mensaje, String palabra) {
+        int ultimo = mensaje.length() - palabra.length();
+        for (int i = 0; i <= ultimo; i++) {
+            if (mensaje.regionMatches(true, i, palabra, 0, palabra.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ========== BUILDER ==========
+
+    /**
+     * Acumula reglas y las compila en la tabla de decisión con build().
+     */
+    public static class Builder {
+        private final int tipos = EventoProyecto.TipoEvento.values().length;
+        private final int[] nivelBase = new int[tipos];
+        private final int[] nivelProyectoInactivo = new int[tipos];
+        private final List<List<double[]>> reglasUmbral = new ArrayList<>();
+        private final List<List<String>> reglasPalabra = new ArrayList<>();
+        private final List<List<Integer>> nivelesPalabra = new ArrayList<>();
+
+        private Builder() {
+            Arrays.fill(nivelBase, NIVEL_POR_DEFECTO);
+            Arrays.fill(nivelProyectoInactivo, SIN_REGLA);
+            for (int i = 0; i < tipos; i++) {
+                reglasUmbral.add(new ArrayList<>());
+                reglasPalabra.add(new ArrayList<>());
+                nivelesPalabra.add(new ArrayList<>());
+            }
+        }
+
+        public Builder setNivelBase(EventoProyecto.TipoEvento tipo, int nivel) {
+            nivelBase[tipo.ordinal()] = validarNivel(nivel);
+            return this;
+        }
+
+        /**
+         * Eventos del tipo con calificación menor que el umbral reciben el nivel indicado.
+         */
+        public Builder agregarUmbralCalificacion(EventoProyecto.TipoEvento tipo, double umbral, int nivel) {
+            reglasUmbral.get(tipo.ordinal()).add(new double[] { umbral, validarNivel(nivel) });
+            return this;
+        }
+
+        /**
+         * Eventos del tipo sin calificación, creados con un mensaje explícito
+         * que contenga la palabra (sin distinguir mayúsculas), reciben el
+         * nivel indicado.
+         */
+        public Builder agregarPalabraClave(EventoProyecto.TipoEvento tipo, String palabra, int nivel) {
+            if (palabra == null || palabra.isEmpty()) {
+                throw new IllegalArgumentException("Palabra clave vacía");
+            }
+            nivelesPalabra.get(tipo.ordinal()).add(validarNivel(nivel));
+            reglasPalabra.get(tipo.ordinal()).add(palabra);
+            return this;
+        }
+
+        /**
+         * Eventos del tipo cuyo proyecto ya no está activo reciben el nivel indicado.
+         */
+        public Builder setNivelProyectoInactivo(EventoProyecto.TipoEvento tipo, int nivel) {
+            nivelProyectoInactivo[tipo.ordinal()] = validarNivel(nivel);
+            return this;
+        }
+
+        public ClasificadorNivelEvento build() {
+            double[][] umbrales = new double[tipos][];
+            int[][] niveles = new int[tipos][];
+            String[][] palabras = new String[tipos][];
+            int[][] nivelesPorPalabra = new int[tipos][];
+            for (int t = 0; t < tipos; t++) {
+                palabras[t] = reglasPalabra.get(t).toArray(new String[0]);
+                nivelesPorPalabra[t] = nivelesPalabra.get(t).stream().mapToInt(Integer::intValue).toArray();
+
+                List<double[]> reglas = new ArrayList<>(reglasUmbral.get(t));
+                reglas.sort((a, b) -> Double.compare(a[0], b[0]));
+                umbrales[t] = new double[reglas.size()];
+                niveles[t] = new int[reglas.size()];
+                for (int i = 0; i < reglas.size(); i++) {
+                    umbrales[t][i] = reglas.get(i)[0];
+                    niveles[t][i] = (int) reglas.get(i)[1];
+                }
+            }
+            return new ClasificadorNivelEvento(nivelBase.clone(), nivelProyectoInactivo.clone(),
+                                               palabras, nivelesPorPalabra, umbrales, niveles);
+        }
+
+        private static int validarNivel(int nivel) {
+            if (nivel < 1 || nivel > 4) {
+                throw new IllegalArgumentException("Nivel inválido: " + nivel);
+            }
+            return nivel;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.ues.comportamiento.observer;
+
+import com.ues.comportamiento.observer.RegistroAuditoria.EventoAuditoria;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * FORMATO BINARIO DE UN EVENTO DE AUDITORÍA
+ *
+ * Registro: [int longitud][int crc32][carga]
+ * Carga:    [long fecha][byte nivel][tipo][descripcion][idRecurso][nombreRecurso][usuario]
+ * Cada texto se escribe como [int bytes][UTF-8]; -1 representa null.
+ */
+final class CodificadorEventoAuditoria {
+
+    static final int CABECERA = 8;
+
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Escribe el evento al final del buffer.
+     * @return false si no cabe (el buffer queda como estaba)
+     */
+    boolean codificar(EventoAuditoria evento, ByteBuffer destino) {
+        int inicio = destino.position();
+        if (destino.remaining() < CABECERA + 9) {
+            return false;
+        }
+        destino.position(inicio + CABECERA);
+        destino.putLong(evento.getMarcaTiempo());
+        destino.put((byte) evento.getNivel());
+        if (!escribirTexto(evento.getTipo(), destino)
+                || !escribirTexto(evento.getDescripcion(), destino)
+                || !escribirTexto(evento.getIdRecurso(), destino)
+                || !escribirTexto(evento.getNombreRecurso(), destino)
+                || !escribirTexto(evento.getUsuario(), destino)) {
+            destino.position(inicio);
+            return false;
+        }
+
+        int fin = destino.position();
+        int longitud = fin - inicio - CABECERA;
+        crc.reset();
+        ByteBuffer carga = destino.duplicate();
+        carga.position(inicio + CABECERA).limit(fin);
+        crc.update(carga);
+        destino.putInt(inicio, longitud);
+        destino.putInt(inicio + 4, (int) crc.getValue());
+        return true;
+    }
+
+    /**
+     * Lee el siguiente registro completo del buffer.
+     * @return El evento, o null si el registro está incompleto o corrupto
+     *         (en ese caso la posición del buffer no cambia)
+     */
+    EventoAuditoria decodificar(ByteBuffer origen) {
+        int inicio = origen.position();
+        if (origen.remaining() < CABECERA) {
+            return null;
+        }
+        int longitud = origen.getInt(inicio);
+        int crcEsperado = origen.getInt(inicio + 4);
+        if (longitud < 9 || origen.remaining() - CABECERA < longitud) {
+            return null;
+        }
+
+        ByteBuffer carga = origen.duplicate();
+        carga.position(inicio + CABECERA).limit(inicio + CABECERA + longitud);
+        crc.reset();
+        crc.update(carga.duplicate());
+        if ((int) crc.getValue() != crcEsperado) {
+            return null;
+        }
+
+        long fecha = carga.getLong();
+        int nivel = carga.get();
+        String tipo = leerTexto(carga);
+        String descripcion = leerTexto(carga);
+        String idRecurso = leerTexto(carga);
+        String nombreRecurso = leerTexto(carga);
+        String usuario = leerTexto(carga);
+
+        origen.position(inicio + CABECERA + longitud);
+        return new EventoAuditoria(tipo, descripcion, idRecurso, nombreRecurso,
+                                   nivel, usuario, fecha);
+    }
+
+    private static boolean escribirTexto(String texto, ByteBuffer destino) {
+        if (texto == null) {
+            if (destino.remaining() < 4) {
+                return false;
+            }
+            destino.putInt(-1);
+            return true;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        if (destino.remaining() < 4 + bytes.length) {
+            return false;
+        }
+        destino.putInt(bytes.length);
+        destino.put(bytes);
+        return true;
+    }
+
+    private static String leerTexto(ByteBuffer origen) {
+        int longitud = origen.getInt();
+        if (longitud < 0) {
+            return null;
+        }
+        String texto;
+        if (origen.hasArray()) {
+            texto = new String(origen.array(), origen.arrayOffset() + origen.position(),
+                               longitud, StandardCharsets.UTF_8);
+            origen.position(origen.position() + longitud);
+        } else {
+            byte[] bytes = new byte[longitud];
+            origen.get(bytes);
+            texto = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return texto;
+    }
+}
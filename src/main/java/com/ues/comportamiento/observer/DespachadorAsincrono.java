@@ -0,0 +1,328 @@
+package com.ues.comportamiento.observer;
+
+import com.ues.log.Bitacora;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * DESPACHADOR ASÍNCRONO DE EVENTOS
+ *
+ * Saca a los observadores del camino de escritura: notificar solo encola
+ * entregas (observador, evento) en colas acotadas que vacían hilos de fondo
+ * por lotes. Cada observador se asigna siempre al mismo carril y cada carril
+ * tiene un único hilo, así que un observador recibe sus eventos en orden.
+ *
+ * Despachar toma el candado de lectura y cerrar el de escritura solo para
+ * marcarse cerrado: una entrega aceptada siempre queda en la cola antes de
+ * que los carriles vean el pedido de fin, y cerrar no espera espacio en
+ * ninguna cola. Todo lo que sale de una cola (para entregarse o descartarse)
+ * sale con el candado de entrega del carril, así que quien ejecuta en el
+ * llamador vacía primero los eventos anteriores.
+ *
+ * Si el hilo de un carril se interrumpe, el carril queda terminado: entrega
+ * lo que tenía y desde entonces los llamadores entregan en su propio hilo.
+ *
+ * Si la JVM soporta hilos virtuales se usan; si no, hilos daemon normales.
+ */
+public class DespachadorAsincrono {
+
+    private final Carril[] carriles;
+    private final int tamanioLote;
+    private final PoliticaContrapresion politica;
+    private final LongAdder descartados = new LongAdder();
+    private final ReadWriteLock candadoCierre = new ReentrantReadWriteLock();
+    private boolean cerrado; // Protegido por candadoCierre
+
+    /**
+     * Constructor con configuración por defecto.
+     */
+    public DespachadorAsincrono() {
+        this(Runtime.getRuntime().availableProcessors(), 1024, 64,
+             PoliticaContrapresion.BLOQUEAR);
+    }
+
+    /**
+     * Constructor con configuración personalizada.
+     * @param numeroCarriles Cantidad de colas/hilos de despacho
+     * @param capacidadPorCarril Tamaño máximo de cada cola
+     * @param tamanioLote Entregas que un hilo procesa por cada vaciado de la cola
+     * @param politica Comportamiento cuando una cola está llena
+     */
+    public DespachadorAsincrono(int numeroCarriles, int capacidadPorCarril,
+                                int tamanioLote, PoliticaContrapresion politica) {
+        if (numeroCarriles <= 0 || capacidadPorCarril <= 0 || tamanioLote <= 0) {
+            throw new IllegalArgumentException("Configuración de despachador inválida");
+        }
+        this.tamanioLote = tamanioLote;
+        this.politica = politica;
+        this.carriles = new Carril[numeroCarriles];
+
+        ThreadFactory fabrica = fabricaDeHilos();
+        for (int i = 0; i < numeroCarriles; i++) {
+            carriles[i] = new Carril(capacidadPorCarril);
+            Thread hilo = fabrica.newThread(carriles[i]);
+            hilo.setName("despachador-eventos-" + i);
+            carriles[i].hilo = hilo;
+            hilo.start();
+        }
+    }
+
+    /**
+     * Encola el evento para cada observador del arreglo.
+     */
+    public void despachar(ObservadorProyecto[] observadores, EventoProyecto evento) {
+        candadoCierre.readLock().lock();
+        try {
+            if (cerrado) {
+                throw new IllegalStateException("El despachador está cerrado");
+            }
+            for (int i = 0; i < observadores.length; i++) {
+                ObservadorProyecto observador = observadores[i];
+                encolar(carrilDe(observador), new Entrega(observador, evento));
+            }
+        } finally {
+            candadoCierre.readLock().unlock();
+        }
+    }
+
+    /**
+     * Detiene los hilos después de entregar todo lo que ya estaba encolado.
+     */
+    public void cerrar() throws InterruptedException {
+        candadoCierre.writeLock().lock();
+        try {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+        } finally {
+            candadoCierre.writeLock().unlock();
+        }
+        // Ya no entra nada: cada carril termina al vaciar su cola
+        for (Carril carril : carriles) {
+            carril.finPedido = true;
+            LockSupport.unpark(carril.hilo);
+        }
+        for (Carril carril : carriles) {
+            carril.hilo.join();
+        }
+    }
+
+    /**
+     * Entregas descartadas por la política DESCARTAR_ANTIGUO.
+     */
+    public long getEntregasDescartadas() {
+        return descartados.sum();
+    }
+
+    public PoliticaContrapresion getPolitica() {
+        return politica;
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private Carril carrilDe(ObservadorProyecto observador) {
+        int hash = System.identityHashCode(observador);
+        return carriles[(hash & Integer.MAX_VALUE) % carriles.length];
+    }
+
+    private void encolar(Carril carril, Entrega entrega) {
+        if (carril.terminado) {
+            ejecutarEnLlamador(carril, entrega);
+            return;
+        }
+        if (carril.cola.offer(entrega)) {
+            carril.despertar();
+            entregarSiTerminado(carril);
+            return;
+        }
+
+        switch (politica) {
+            case BLOQUEAR:
+                esperarEspacio(carril, entrega);
+                break;
+
+            case DESCARTAR_ANTIGUO:
+                carril.entregando.lock();
+                try {
+                    while (!carril.cola.offer(entrega)) {
+                        if (carril.cola.poll() != null) {
+                            descartados.increment();
+                        }
+                    }
+                } finally {
+                    carril.entregando.unlock();
+                }
+                carril.despertar();
+                entregarSiTerminado(carril);
+                break;
+
+            case EJECUTAR_EN_LLAMADOR:
+                ejecutarEnLlamador(carril, entrega);
+                break;
+        }
+    }
+
+    /**
+     * El llamador vacía la cola en orden y luego entrega el suyo, así no se
+     * adelanta a los eventos ya encolados.
+     */
+    private static void ejecutarEnLlamador(Carril carril, Entrega entrega) {
+        carril.entregando.lock();
+        try {
+            carril.vaciarCola();
+            entregar(entrega);
+        } finally {
+            carril.entregando.unlock();
+        }
+    }
+
+    /**
+     * Si el carril terminó mientras se encolaba, nadie más vaciará su cola.
+     * El carril marca terminado antes de su último vaciado, así que una
+     * entrega encolada antes de esa marca la entrega el propio carril.
+     */
+    private static void entregarSiTerminado(Carril carril) {
+        if (carril.terminado) {
+            carril.vaciarConCandado();
+        }
+    }
+
+    private static void esperarEspacio(Carril carril, Entrega entrega) {
+        try {
+            carril.cola.put(entrega);
+            carril.despertar();
+            entregarSiTerminado(carril);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando espacio en la cola", e);
+        }
+    }
+
+    private static void entregar(Entrega entrega) {
+        try {
+            entrega.observador.actualizar(entrega.evento);
+        } catch (RuntimeException e) {
+            // Un observador defectuoso no debe detener el carril
+            Bitacora.error(() -> "❌ Error en observador " +
+                                 entrega.observador.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Usa hilos virtuales (Java 21+) si existen, sin requerirlos para compilar.
+     */
+    private static ThreadFactory fabricaDeHilos() {
+        try {
+            Object constructor = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) constructor.getClass().getMethod("factory").invoke(constructor);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return tarea -> {
+                Thread hilo = new Thread(tarea);
+                hilo.setDaemon(true);
+                return hilo;
+            };
+        }
+    }
+
+    // ========== CLASES INTERNAS ==========
+
+    private static final class Entrega {
+        final ObservadorProyecto observador;
+        final EventoProyecto evento;
+
+        Entrega(ObservadorProyecto observador, EventoProyecto evento) {
+            this.observador = observador;
+            this.evento = evento;
+        }
+    }
+
+    private final class Carril implements Runnable {
+        final BlockingQueue<Entrega> cola;
+        final ReentrantLock entregando = new ReentrantLock();
+        private final List<Entrega> lote = new ArrayList<>(tamanioLote); // Protegido por entregando
+        private volatile boolean esperando;
+        volatile boolean finPedido; // Lo marca cerrar cuando ya no entra nada
+        volatile boolean terminado; // El hilo ya no vacía la cola
+        Thread hilo;
+
+        Carril(int capacidad) {
+            this.cola = new ArrayBlockingQueue<>(capacidad);
+        }
+
+        /**
+         * Despierta al hilo del carril si está estacionado esperando trabajo.
+         */
+        void despertar() {
+            if (esperando) {
+                LockSupport.unpark(hilo);
+            }
+        }
+
+        /**
+         * Entrega en orden todo lo encolado. Requiere el candado de entrega.
+         */
+        void vaciarCola() {
+            while (cola.drainTo(lote, tamanioLote) > 0) {
+                try {
+                    for (int i = 0; i < lote.size(); i++) {
+                        entregar(lote.get(i));
+                    }
+                } finally {
+                    lote.clear();
+                }
+            }
+        }
+
+        void vaciarConCandado() {
+            entregando.lock();
+            try {
+                vaciarCola();
+            } finally {
+                entregando.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                // Leído antes de vaciar: con el fin pedido ya no entra nada
+                // nuevo, así que la cola vaciada queda vacía para siempre
+                boolean fin = finPedido;
+                vaciarConCandado();
+                if (fin) {
+                    terminado = true;
+                    return;
+                }
+                // Se anuncia la espera antes de revisar la cola otra vez:
+                // un productor que encola después ve la bandera y despierta
+                esperando = true;
+                if (cola.isEmpty() && !finPedido) {
+                    LockSupport.park(this);
+                }
+                esperando = false;
+                if (Thread.interrupted()) {
+                    terminar();
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Marca el carril terminado y entrega lo que quedó en la cola; lo que
+         * llegue después lo entregan los llamadores.
+         */
+        private void terminar() {
+            terminado = true;
+            vaciarConCandado();
+        }
+    }
+}
@@ -0,0 +1,443 @@
+package com.ues.comportamiento.observer;
+
+import com.ues.comportamiento.observer.RegistroAuditoria.EventoAuditoria;
+import com.ues.log.Bitacora;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * DIARIO DE AUDITORÍA EN DISCO (SOLO ANEXAR)
+ *
+ * Persiste los eventos de auditoría en segmentos binarios numerados
+ * (auditoria-00000001.seg, ...). registrar() solo encola el evento; un hilo
+ * de fondo agrupa todo lo pendiente, lo escribe con una única llamada al
+ * canal y aplica la política de fsync una vez por grupo (group commit).
+ * Al llegar al tamaño máximo se abre un segmento nuevo.
+ *
+ * Cada apertura escribe en un segmento nuevo, así que una cola truncada por
+ * una caída nunca se mezcla con registros posteriores; reproducir() se
+ * detiene en el primer registro incompleto de cada segmento.
+ *
+ * Sin trabajo el escritor queda bloqueado en la cola, sea cual sea la
+ * política. Un error de E/S deja el diario en fallo: los eventos siguientes
+ * se descartan y registrar(), sincronizar() y close() lo informan.
+ */
+public class DiarioAuditoria implements AutoCloseable {
+
+    private static final String PREFIJO = "auditoria-";
+    private static final String EXTENSION = ".seg";
+    private static final EventoAuditoria FIN = new EventoAuditoria("", "", "", "", 0, "");
+    private static final EventoAuditoria SINCRONIZAR = new EventoAuditoria("", "", "", "", 0, "");
+
+    private final Path directorio;
+    private final PoliticaSincronizacion politica;
+    private final long tamanioSegmento;
+    private final long intervaloSincronizacionNanos;
+    private final int maxSegmentos; // 0 = conservar todos
+    private final BlockingQueue<EventoAuditoria> pendientes;
+    private final Thread escritor;
+    private final CodificadorEventoAuditoria codificador = new CodificadorEventoAuditoria();
+
+    private final ReadWriteLock candadoCierre = new ReentrantReadWriteLock();
+    private final Object avance = new Object(); // Monitor para sincronizar()
+
+    // Estado del hilo escritor
+    private FileChannel canal;
+    private int numeroSegmento;
+    private final Deque<Path> segmentos = new ArrayDeque<>();
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    private long ultimaSincronizacion = System.nanoTime();
+    private boolean sinSincronizar; // Hay bytes escritos sin fsync
+
+    private boolean cerrado;  // Protegido por candadoCierre
+    private long solicitadas; // Protegido por avance: llamadas a sincronizar()
+    private long atendidas;   // Protegido por avance: marcas ya forzadas a disco
+    private boolean escritorTerminado; // Protegido por avance
+    private volatile IOException ultimoError;
+    private volatile long descartados;
+
+    /**
+     * Constructor con configuración por defecto: segmentos de 64 MB y
+     * fsync periódico cada 100 ms.
+     */
+    public DiarioAuditoria(Path directorio) throws IOException {
+        this(directorio, PoliticaSincronizacion.PERIODICA, 64L * 1024 * 1024, 100);
+    }
+
+    /**
+     * Constructor con configuración personalizada.
+     * @param directorio Carpeta de los segmentos (se crea si no existe)
+     * @param politica Cuándo forzar los datos a disco
+     * @param tamanioSegmento Bytes a partir de los cuales se rota de segmento
+     * @param intervaloSincronizacionMs Intervalo para la política PERIODICA
+     */
+    public DiarioAuditoria(Path directorio, PoliticaSincronizacion politica,
+                           long tamanioSegmento, long intervaloSincronizacionMs) throws IOException {
+        this(directorio, politica, tamanioSegmento, intervaloSincronizacionMs, 0);
+    }
+
+    /**
+     * Constructor con retención de segmentos.
+     * @param maxSegmentos Segmentos a conservar; al rotar se borran los más
+     *                     antiguos (0 = conservar todos)
+     */
+    public DiarioAuditoria(Path directorio, PoliticaSincronizacion politica,
+                           long tamanioSegmento, long intervaloSincronizacionMs,
+                           int maxSegmentos) throws IOException {
+        if (maxSegmentos < 0) {
+            throw new IllegalArgumentException("maxSegmentos no puede ser negativo");
+        }
+        this.directorio = directorio;
+        this.politica = politica;
+        this.tamanioSegmento = tamanioSegmento;
+        this.intervaloSincronizacionNanos = TimeUnit.MILLISECONDS.toNanos(intervaloSincronizacionMs);
+        this.maxSegmentos = maxSegmentos;
+        this.pendientes = new ArrayBlockingQueue<>(64 * 1024);
+
+        Files.createDirectories(directorio);
+        segmentos.addAll(listarSegmentos(directorio));
+        this.numeroSegmento = segmentos.isEmpty() ? 0 : numeroDe(segmentos.getLast());
+        abrirSiguienteSegmento();
+
+        this.escritor = new Thread(this::escribirEnSegundoPlano, "diario-auditoria");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    /**
+     * Encola un evento para persistirlo. No realiza E/S en el hilo llamador;
+     * solo espera si el escritor acumula 64K eventos de retraso. Una
+     * interrupción durante la espera no pierde el evento: se reintenta y se
+     * restaura la marca de interrupción.
+     * @throws UncheckedIOException si el diario quedó en fallo
+     */
+    public void registrar(EventoAuditoria evento) {
+        IOException error = ultimoError;
+        if (error != null) {
+            throw new UncheckedIOException("El diario de auditoría está en fallo", error);
+        }
+        candadoCierre.readLock().lock();
+        try {
+            if (cerrado) {
+                throw new IllegalStateException("El diario de auditoría está cerrado");
+            }
+            encolarSinInterrupcion(evento);
+        } finally {
+            candadoCierre.readLock().unlock();
+        }
+    }
+
+    /**
+     * Espera a que todo lo registrado hasta ahora esté escrito y forzado a
+     * disco, cualquiera sea la política. Encola una marca detrás de esos
+     * eventos; cada marca atendida se cuenta después del fsync.
+     * @throws IOException si el diario quedó en fallo
+     */
+    public void sincronizar() throws IOException {
+        long turno;
+        candadoCierre.readLock().lock();
+        try {
+            if (cerrado) {
+                throw new IllegalStateException("El diario de auditoría está cerrado");
+            }
+            synchronized (avance) {
+                turno = ++solicitadas;
+            }
+            encolarSinInterrupcion(SINCRONIZAR);
+        } finally {
+            candadoCierre.readLock().unlock();
+        }
+
+        boolean interrumpido = false;
+        synchronized (avance) {
+            while (atendidas < turno && ultimoError == null && !escritorTerminado) {
+                try {
+                    avance.wait();
+                } catch (InterruptedException e) {
+                    interrumpido = true;
+                }
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+        if (ultimoError != null) {
+            throw ultimoError;
+        }
+    }
+
+    /**
+     * Reproduce en orden todos los eventos persistidos en el directorio.
+     * @return Cantidad de eventos reproducidos
+     */
+    public static long reproducir(Path directorio, Consumer<EventoAuditoria> accion) throws IOException {
+        if (!Files.isDirectory(directorio)) {
+            return 0;
+        }
+        CodificadorEventoAuditoria codificador = new CodificadorEventoAuditoria();
+        long total = 0;
+        for (Path segmento : listarSegmentos(directorio)) {
+            try (FileChannel lectura = FileChannel.open(segmento, StandardOpenOption.READ)) {
+                ByteBuffer datos = lectura.map(FileChannel.MapMode.READ_ONLY, 0, lectura.size());
+                EventoAuditoria evento;
+                while ((evento = codificador.decodificar(datos)) != null) {
+                    accion.accept(evento);
+                    total++;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Escribe lo pendiente, fuerza a disco y detiene el hilo escritor.
+     */
+    @Override
+    public void close() throws IOException {
+        candadoCierre.writeLock().lock();
+        try {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            encolarSinInterrupcion(FIN);
+        } finally {
+            candadoCierre.writeLock().unlock();
+        }
+        try {
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (ultimoError != null) {
+            throw ultimoError;
+        }
+    }
+
+    /**
+     * Último error de E/S del escritor de fondo, o null.
+     */
+    public IOException getUltimoError() {
+        return ultimoError;
+    }
+
+    public boolean estaEnFallo() {
+        return ultimoError != null;
+    }
+
+    /**
+     * Eventos que no llegaron a disco porque el diario estaba en fallo.
+     */
+    public long getDescartados() {
+        return descartados;
+    }
+
+    public Path getDirectorio() {
+        return directorio;
+    }
+
+    // ========== HILO ESCRITOR ==========
+
+    private void escribirEnSegundoPlano() {
+        List<EventoAuditoria> grupo = new ArrayList<>();
+        boolean terminar = false;
+        try {
+            while (!terminar) {
+                EventoAuditoria primero = esperarTrabajo();
+                if (primero != null) {
+                    grupo.add(primero);
+                    pendientes.drainTo(grupo);
+                }
+                terminar = grupo.remove(FIN);
+                int marcas = grupo.size();
+                grupo.removeIf(evento -> evento == SINCRONIZAR);
+                marcas -= grupo.size();
+                escribirGrupo(grupo, marcas);
+                grupo.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            cerrarCanal();
+            synchronized (avance) {
+                escritorTerminado = true;
+                avance.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Espera bloqueada en la cola. Solo si hay bytes sin fsync con la
+     * política PERIODICA se espera como máximo hasta el próximo fsync.
+     */
+    private EventoAuditoria esperarTrabajo() throws InterruptedException {
+        if (politica == PoliticaSincronizacion.PERIODICA && sinSincronizar && ultimoError == null) {
+            long restante = intervaloSincronizacionNanos - (System.nanoTime() - ultimaSincronizacion);
+            return restante > 0 ? pendientes.poll(restante, TimeUnit.NANOSECONDS) : pendientes.poll();
+        }
+        return pendientes.take();
+    }
+
+    private void escribirGrupo(List<EventoAuditoria> grupo, int marcas) {
+        if (ultimoError != null) {
+            descartados += grupo.size();
+            return;
+        }
+        try {
+            for (EventoAuditoria evento : grupo) {
+                while (!codificador.codificar(evento, buffer)) {
+                    if (buffer.position() == 0) {
+                        // Un solo evento no cabe: ampliar el buffer
+                        buffer = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+                    } else {
+                        volcarBuffer();
+                    }
+                }
+            }
+            volcarBuffer();
+            sinSincronizar |= !grupo.isEmpty();
+            if (marcas > 0) {
+                forzarDisco();
+                synchronized (avance) {
+                    atendidas += marcas;
+                    avance.notifyAll();
+                }
+            } else {
+                sincronizarSegunPolitica();
+            }
+        } catch (IOException e) {
+            descartados += grupo.size();
+            synchronized (avance) {
+                ultimoError = e;
+                avance.notifyAll();
+            }
+            Bitacora.error(() -> "❌ Diario de auditoría en fallo, se descartan los eventos siguientes: " +
+                                 e.getMessage());
+        }
+    }
+
+    private void volcarBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+
+        if (canal.position() >= tamanioSegmento) {
+            canal.force(false);
+            canal.close();
+            abrirSiguienteSegmento();
+            podarSegmentos();
+        }
+    }
+
+    private void sincronizarSegunPolitica() throws IOException {
+        if (!sinSincronizar) {
+            return;
+        }
+        switch (politica) {
+            case SIEMPRE:
+                forzarDisco();
+                break;
+
+            case PERIODICA:
+                if (System.nanoTime() - ultimaSincronizacion >= intervaloSincronizacionNanos) {
+                    forzarDisco();
+                }
+                break;
+
+            case NUNCA:
+                break;
+        }
+    }
+
+    private void forzarDisco() throws IOException {
+        canal.force(false);
+        sinSincronizar = false;
+        ultimaSincronizacion = System.nanoTime();
+    }
+
+    private void abrirSiguienteSegmento() throws IOException {
+        numeroSegmento++;
+        Path ruta = directorio.resolve(String.format("%s%08d%s", PREFIJO, numeroSegmento, EXTENSION));
+        canal = FileChannel.open(ruta, StandardOpenOption.CREATE_NEW,
+                                 StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentos.addLast(ruta);
+    }
+
+    /**
+     * Borra los segmentos más antiguos que excedan la retención.
+     */
+    private void podarSegmentos() throws IOException {
+        while (maxSegmentos > 0 && segmentos.size() > maxSegmentos) {
+            Files.deleteIfExists(segmentos.removeFirst());
+        }
+    }
+
+    /**
+     * put() que no se deja interrumpir: reintenta y restaura la marca.
+     */
+    private void encolarSinInterrupcion(EventoAuditoria evento) {
+        boolean interrumpido = false;
+        while (true) {
+            try {
+                pendientes.put(evento);
+                break;
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void cerrarCanal() {
+        try {
+            if (canal != null && canal.isOpen()) {
+                if (politica != PoliticaSincronizacion.NUNCA) {
+                    canal.force(false);
+                }
+                canal.close();
+            }
+        } catch (IOException e) {
+            ultimoError = e;
+        }
+    }
+
+    // ========== SEGMENTOS ==========
+
+    private static List<Path> listarSegmentos(Path directorio) throws IOException {
+        List<Path> segmentos = new ArrayList<>();
+        try (DirectoryStream<Path> flujo = Files.newDirectoryStream(directorio, PREFIJO + "*" + EXTENSION)) {
+            for (Path ruta : flujo) {
+                segmentos.add(ruta);
+            }
+        }
+        // Nombres con ancho fijo: el orden alfabético es el orden de creación
+        Collections.sort(segmentos);
+        return segmentos;
+    }
+
+    private static int numeroDe(Path segmento) {
+        String nombre = segmento.getFileName().toString();
+        return Integer.parseInt(nombre.substring(PREFIJO.length(), nombre.length() - EXTENSION.length()));
+    }
+}
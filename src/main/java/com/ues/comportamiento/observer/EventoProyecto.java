@@ -5,28 +5,109 @@ import java.util.Date;
 
 /**
  * CLASE DE EVENTO
+ *
+ * Guarda la fecha como long y la calificación como double; el mensaje y el
+ * Date solo se construyen si alguien los pide. Las instancias pueden
+ * reutilizarse (reiniciar) en el despacho síncrono: un observador que
+ * necesite conservar el evento después de actualizar() debe usar copiar().
  */
 public class EventoProyecto {
     public enum TipoEvento {
         PROYECTO_CREADO,
         PROYECTO_CERRADO,
-        EVALUACION_AGREGADA
+        EVALUACION_AGREGADA,
+        ESTUDIANTE_AGREGADO
     }
-    
+
+    static final String MENSAJE_CIERRE = "Proyecto cerrado por bajas evaluaciones";
+    private static final String PREFIJO_EVALUACION = "Nueva evaluación: ";
+
     private TipoEvento tipo;
     private Proyecto proyecto;
-    private String mensaje;
-    private Date fecha;
-    
+    private String mensaje;           // Explícito o construido bajo demanda
+    private boolean mensajeExplicito;
+    private long marcaTiempo;         // Milisegundos desde la época
+    private double calificacion;      // NaN si el evento no trae calificación
+    private Date fecha;               // Construida bajo demanda
+
     public EventoProyecto(TipoEvento tipo, Proyecto proyecto, String mensaje) {
+        reiniciar(tipo, proyecto, Double.NaN, mensaje);
+    }
+
+    /**
+     * Evento con calificación: el mensaje se arma solo si se consulta.
+     */
+    public EventoProyecto(TipoEvento tipo, Proyecto proyecto, double calificacion) {
+        reiniciar(tipo, proyecto, calificacion, null);
+    }
+
+    /**
+     * Reutiliza la instancia para un evento nuevo.
+     */
+    void reiniciar(TipoEvento tipo, Proyecto proyecto, double calificacion, String mensaje) {
         this.tipo = tipo;
         this.proyecto = proyecto;
+        this.calificacion = calificacion;
         this.mensaje = mensaje;
-        this.fecha = new Date();
+        this.mensajeExplicito = mensaje != null;
+        this.marcaTiempo = System.currentTimeMillis();
+        this.fecha = null;
+    }
+
+    /**
+     * Suelta las referencias al terminar de notificar una instancia reutilizable.
+     */
+    void liberar() {
+        this.proyecto = null;
+        this.mensaje = null;
+        this.fecha = null;
+    }
+
+    /**
+     * Copia independiente, para conservar el evento fuera de actualizar().
+     */
+    public EventoProyecto copiar() {
+        EventoProyecto copia = new EventoProyecto(tipo, proyecto, calificacion);
+        copia.mensaje = mensaje;
+        copia.mensajeExplicito = mensajeExplicito;
+        copia.marcaTiempo = marcaTiempo;
+        return copia;
+    }
+
+    /**
+     * Mensaje estándar para un tipo de evento y calificación.
+     */
+    static String construirMensaje(TipoEvento tipo, double calificacion) {
+        if (tipo == TipoEvento.PROYECTO_CERRADO) {
+            return MENSAJE_CIERRE;
+        }
+        return Double.isNaN(calificacion) ? tipo.name() : PREFIJO_EVALUACION + calificacion;
+    }
+
+    /**
+     * Mensaje dado al crear el evento, o null si se construye bajo demanda.
+     */
+    String getMensajeExplicito() {
+        return mensajeExplicito ? mensaje : null;
     }
-    
+
     public TipoEvento getTipo() { return tipo; }
     public Proyecto getProyecto() { return proyecto; }
-    public String getMensaje() { return mensaje; }
-    public Date getFecha() { return fecha; }
-}
\ No newline at end of file
+    public long getMarcaTiempo() { return marcaTiempo; }
+    public double getCalificacion() { return calificacion; }
+    public boolean tieneCalificacion() { return !Double.isNaN(calificacion); }
+
+    public String getMensaje() {
+        if (mensaje == null) {
+            mensaje = construirMensaje(tipo, calificacion);
+        }
+        return mensaje;
+    }
+
+    public Date getFecha() {
+        if (fecha == null) {
+            fecha = new Date(marcaTiempo);
+        }
+        return fecha;
+    }
+}
@@ -0,0 +1,125 @@
+package com.ues.comportamiento.observer;
+
+import com.ues.comportamiento.observer.RegistroAuditoria.EventoAuditoria;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * EXPORTADOR DEL HISTORIAL DE AUDITORÍA
+ *
+ * Lee el almacén por bloques a través de un cursor y codifica cada evento
+ * directamente en un ByteBuffer que se vuelca a un FileChannel (opcionalmente
+ * a través de gzip). No construye listas intermedias: la memoria usada es
+ * constante sin importar el tamaño del historial.
+ */
+final class ExportadorAuditoria {
+
+    private static final int EVENTOS_POR_BLOQUE = 4096;
+    private static final int TAMANIO_BUFFER = 256 * 1024;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANIO_BUFFER);
+    private final StringBuilder linea = new StringBuilder(256);
+    private final CharsetEncoder codificadorTexto = StandardCharsets.UTF_8.newEncoder();
+    private final CodificadorEventoAuditoria codificadorBinario = new CodificadorEventoAuditoria();
+
+    /**
+     * Exporta los eventos retenidos al momento de la llamada.
+     * @return Cantidad de eventos exportados
+     */
+    long exportar(AlmacenEventosAuditoria almacen, Path ruta,
+                  FormatoExportacion formato, boolean comprimir) throws IOException {
+        try (FileChannel archivo = FileChannel.open(ruta, StandardOpenOption.CREATE,
+                 StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             WritableByteChannel destino = comprimir
+                 ? Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(archivo), 64 * 1024))
+                 : archivo) {
+
+            AlmacenEventosAuditoria.Cursor cursor = almacen.abrirCursor();
+            EventoAuditoria[] bloque = new EventoAuditoria[EVENTOS_POR_BLOQUE];
+            long total = 0;
+            int leidos;
+            while ((leidos = almacen.leerBloque(cursor, bloque)) > 0) {
+                for (int i = 0; i < leidos; i++) {
+                    if (formato == FormatoExportacion.TEXTO) {
+                        escribirTexto(bloque[i], destino);
+                    } else {
+                        escribirBinario(bloque[i], destino);
+                    }
+                    bloque[i] = null;
+                }
+                total += leidos;
+            }
+            volcar(destino);
+            return total;
+        }
+    }
+
+    private void escribirTexto(EventoAuditoria evento, WritableByteChannel destino) throws IOException {
+        linea.setLength(0);
+        DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(evento.getMarcaTiempo()), linea);
+        linea.append('\t').append(evento.getNivel());
+        agregarCampo(evento.getTipo());
+        agregarCampo(evento.getIdRecurso());
+        agregarCampo(evento.getNombreRecurso());
+        agregarCampo(evento.getUsuario());
+        agregarCampo(evento.getDescripcion());
+        linea.append('\n');
+
+        CharBuffer caracteres = CharBuffer.wrap(linea);
+        codificadorTexto.reset();
+        while (true) {
+            CoderResult resultado = codificadorTexto.encode(caracteres, buffer, true);
+            if (resultado.isOverflow()) {
+                volcar(destino);
+            } else if (resultado.isUnderflow()) {
+                break;
+            } else {
+                resultado.throwException();
+            }
+        }
+    }
+
+    /**
+     * Agrega un campo separado por tabulador, reemplazando tabuladores y
+     * saltos de línea para no romper el formato de una línea por evento.
+     */
+    private void agregarCampo(String valor) {
+        linea.append('\t');
+        if (valor == null) {
+            return;
+        }
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            linea.append(c == '\t' || c == '\n' || c == '\r' ? ' ' : c);
+        }
+    }
+
+    private void escribirBinario(EventoAuditoria evento, WritableByteChannel destino) throws IOException {
+        while (!codificadorBinario.codificar(evento, buffer)) {
+            if (buffer.position() == 0) {
+                throw new IOException("Evento demasiado grande para exportar: " + evento.getTipo());
+            }
+            volcar(destino);
+        }
+    }
+
+    private void volcar(WritableByteChannel destino) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            destino.write(buffer);
+        }
+        buffer.clear();
+    }
+}
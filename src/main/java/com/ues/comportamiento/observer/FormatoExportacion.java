@@ -0,0 +1,9 @@
+package com.ues.comportamiento.observer;
+
+/**
+ * FORMATOS DE EXPORTACIÓN DEL HISTORIAL DE AUDITORÍA
+ */
+public enum FormatoExportacion {
+    TEXTO,  // Una línea por evento, campos separados por tabulador
+    BINARIO // Registros de CodificadorEventoAuditoria (mismo formato que el diario)
+}
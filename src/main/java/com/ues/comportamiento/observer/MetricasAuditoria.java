@@ -0,0 +1,80 @@
+package com.ues.comportamiento.observer;
+
+import com.ues.comportamiento.observer.RegistroAuditoria.EventoAuditoria;
+import com.ues.comportamiento.observer.RegistroAuditoria.ReporteAuditoria;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * CONTADORES EN VIVO DEL HISTORIAL DE AUDITORÍA
+ *
+ * Total, conteo por nivel y actividad por usuario mantenidos a medida que
+ * entran y salen eventos del historial, de modo que los reportes son una
+ * lectura de contadores en lugar de un recorrido.
+ *
+ * No es segura para hilos: todas las operaciones, incluidas las lecturas,
+ * se hacen con el candado del almacén de eventos al que acompaña, así que
+ * un reporte siempre ve los contadores de un mismo estado del historial.
+ */
+final class MetricasAuditoria {
+
+    private static final int NIVELES = 5; // Niveles 1..4; el resto solo suma al total
+
+    private int total;
+    private final int[] porNivel = new int[NIVELES];
+    private final Map<String, int[]> porUsuario = new HashMap<>(); // Solo usuarios con eventos retenidos
+
+    void sumar(EventoAuditoria evento) {
+        total++;
+        int nivel = evento.getNivel();
+        if (nivelValido(nivel)) {
+            porNivel[nivel]++;
+        }
+        porUsuario.computeIfAbsent(evento.getUsuario(), k -> new int[1])[0]++;
+    }
+
+    void restar(EventoAuditoria evento) {
+        total--;
+        int nivel = evento.getNivel();
+        if (nivelValido(nivel)) {
+            porNivel[nivel]--;
+        }
+        int[] usuario = porUsuario.get(evento.getUsuario());
+        if (usuario != null && --usuario[0] == 0) {
+            porUsuario.remove(evento.getUsuario());
+        }
+    }
+
+    void reiniciar() {
+        total = 0;
+        for (int i = 0; i < NIVELES; i++) {
+            porNivel[i] = 0;
+        }
+        porUsuario.clear();
+    }
+
+    void llenar(ReporteAuditoria reporte) {
+        reporte.setTotalEventos(total);
+        reporte.setErrores(porNivel[1]);
+        reporte.setAdvertencias(porNivel[2]);
+        reporte.setInformaciones(porNivel[3]);
+        reporte.setDebugs(porNivel[4]);
+    }
+
+    /**
+     * Copia de la actividad por usuario de los eventos retenidos.
+     */
+    Map<String, Integer> actividadPorUsuario() {
+        Map<String, Integer> actividad = new HashMap<>(porUsuario.size() * 2);
+        for (Map.Entry<String, int[]> entrada : porUsuario.entrySet()) {
+            actividad.put(entrada.getKey(), entrada.getValue()[0]);
+        }
+        return actividad;
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private static boolean nivelValido(int nivel) {
+        return nivel >= 1 && nivel < NIVELES;
+    }
+}
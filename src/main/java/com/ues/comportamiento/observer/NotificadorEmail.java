@@ -1,20 +1,31 @@
 package com.ues.comportamiento.observer;
 
+import com.ues.log.Bitacora;
+
 /**
  * OBSERVADOR CONCRETO - Notificador por Email
  */
 public class NotificadorEmail implements ObservadorProyecto {
     
+    /**
+     * Se suscribe en el bus solo a los eventos que generan correo.
+     */
+    public BusEventos.Suscripcion suscribirseA(BusEventos bus) {
+        return bus.suscribir(this, 
+                             EventoProyecto.TipoEvento.PROYECTO_CERRADO,
+                             EventoProyecto.TipoEvento.EVALUACION_AGREGADA);
+    }
+    
     @Override
     public void actualizar(EventoProyecto evento) {
         switch (evento.getTipo()) {
             case PROYECTO_CERRADO:
-                System.out.println("📧 EMAIL URGENTE: " + evento.getMensaje());
-                System.out.println("   Proyecto: " + evento.getProyecto().getNombre());
+                Bitacora.info(() -> "📧 EMAIL URGENTE: " + evento.getMensaje() + 
+                                    "\n   Proyecto: " + evento.getProyecto().getNombre());
                 break;
                 
             case EVALUACION_AGREGADA:
-                System.out.println("📧 EMAIL INFORMATIVO: " + evento.getMensaje());
+                Bitacora.info(() -> "📧 EMAIL INFORMATIVO: " + evento.getMensaje());
                 break;
         }
     }
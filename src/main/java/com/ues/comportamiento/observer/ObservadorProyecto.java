@@ -2,6 +2,9 @@ package com.ues.comportamiento.observer;
 
 /**
  * INTERFAZ OBSERVER
+ *
+ * El evento puede reutilizarse al terminar actualizar(): para conservarlo
+ * después (colas, hilos propios) se debe guardar evento.copiar().
  */
 public interface ObservadorProyecto {
     void actualizar(EventoProyecto evento);
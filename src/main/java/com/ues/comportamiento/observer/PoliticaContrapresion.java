@@ -0,0 +1,11 @@
+package com.ues.comportamiento.observer;
+
+/**
+ * POLÍTICA DE CONTRAPRESIÓN
+ * Qué hacer cuando la cola de un carril del despachador asíncrono está llena.
+ */
+public enum PoliticaContrapresion {
+    BLOQUEAR,            // El llamador espera a que haya espacio
+    DESCARTAR_ANTIGUO,   // Se descarta la entrega más antigua del carril
+    EJECUTAR_EN_LLAMADOR // El observador se ejecuta en el hilo del llamador
+}
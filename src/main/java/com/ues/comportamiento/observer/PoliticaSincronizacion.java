@@ -0,0 +1,10 @@
+package com.ues.comportamiento.observer;
+
+/**
+ * POLÍTICA DE SINCRONIZACIÓN (FSYNC) DEL DIARIO DE AUDITORÍA
+ */
+public enum PoliticaSincronizacion {
+    SIEMPRE,   // fsync después de cada grupo de eventos escrito
+    PERIODICA, // fsync como máximo una vez por intervalo configurado
+    NUNCA      // El sistema operativo decide cuándo bajar a disco
+}
@@ -1,59 +1,225 @@
 package com.ues.comportamiento.observer;
 
+import com.ues.model.ConEstadisticasEvaluaciones;
+import com.ues.model.EstadisticasEvaluaciones;
 import com.ues.model.Proyecto;
 import com.ues.model.Evaluacion;
-import java.util.ArrayList;
+import com.ues.model.SeguidorEvaluaciones;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * OBSERVABLE CONCRETO
  */
-public class ProyectoObservable extends Proyecto implements ObservableProyecto {
-    private List<ObservadorProyecto> observadores;
+public class ProyectoObservable extends Proyecto
+        implements ObservableProyecto, ConEstadisticasEvaluaciones {
+    private final RegistroObservadores observadores;
+    private volatile DespachadorAsincrono despachador; // null = notificación síncrona
+    private volatile BusEventos bus; // Bus central opcional
+    private volatile SeguidorEvaluaciones seguidor; // Cuentas externas opcionales (ej. por país)
+    private final EstadisticasEvaluaciones estadisticas = new EstadisticasEvaluaciones(this::getEvaluaciones);
+    
+    // Un evento reutilizable por hilo para la notificación síncrona
+    private static final ThreadLocal<RanuraEvento> RANURA = ThreadLocal.withInitial(RanuraEvento::new);
     
     public ProyectoObservable(String id, String nombre, String descripcion, 
                              com.ues.model.Profesor profesor) {
         super(id, nombre, descripcion, profesor);
-        this.observadores = new ArrayList<>();
+        this.observadores = new RegistroObservadores();
     }
     
     @Override
     public void agregarObservador(ObservadorProyecto observador) {
-        observadores.add(observador);
+        observadores.agregar(observador);
     }
     
     @Override
     public void eliminarObservador(ObservadorProyecto observador) {
-        observadores.remove(observador);
+        observadores.eliminar(observador);
+    }
+    
+    /**
+     * Activa el despacho asíncrono de eventos (null vuelve al modo síncrono).
+     */
+    public void setDespachador(DespachadorAsincrono despachador) {
+        this.despachador = despachador;
+    }
+    
+    public DespachadorAsincrono getDespachador() {
+        return despachador;
+    }
+    
+    /**
+     * Publica además los eventos de este proyecto en un bus central.
+     * Un observador registrado aquí que también recibe el evento por el bus
+     * lo recibe una sola vez (por el bus).
+     */
+    public void setBus(BusEventos bus) {
+        this.bus = bus;
     }
     
+    /**
+     * Avisa al seguidor de cada evaluación que entra o sale del proyecto
+     * (null lo desactiva).
+     */
+    public void setSeguidorEvaluaciones(SeguidorEvaluaciones seguidor) {
+        this.seguidor = seguidor;
+    }
+    
+    /**
+     * Notifica sobre la instantánea actual de observadores: se puede agregar
+     * o eliminar observadores mientras se notifica.
+     */
     @Override
     public void notificarObservadores(EventoProyecto evento) {
-        for (ObservadorProyecto observador : observadores) {
-            observador.actualizar(evento);
+        entregar(evento, despachador);
+    }
+    
+    /**
+     * Entrega con el despachador leído una sola vez por quien decidió si el
+     * evento podía reutilizarse.
+     */
+    private void entregar(EventoProyecto evento, DespachadorAsincrono asincrono) {
+        ObservadorProyecto[] actuales = observadores.instantanea();
+        BusEventos central = bus;
+        if (central != null) {
+            central.publicar(evento);
+            actuales = sinEntregadosPorBus(central, actuales, evento);
+        }
+        
+        if (asincrono != null) {
+            asincrono.despachar(actuales, evento);
+            return;
         }
+        for (int i = 0; i < actuales.length; i++) {
+            actuales[i].actualizar(evento);
+        }
+    }
+    
+    /**
+     * Quita los observadores a los que el bus ya entregó el evento. Sin
+     * duplicados devuelve el mismo arreglo, sin asignar memoria.
+     */
+    private static ObservadorProyecto[] sinEntregadosPorBus(BusEventos bus, ObservadorProyecto[] observadores,
+                                                            EventoProyecto evento) {
+        ObservadorProyecto[] filtrados = null;
+        int cantidad = 0;
+        for (int i = 0; i < observadores.length; i++) {
+            boolean duplicado = bus.entregaA(observadores[i], evento);
+            if (duplicado && filtrados == null) {
+                filtrados = new ObservadorProyecto[observadores.length - 1];
+                System.arraycopy(observadores, 0, filtrados, 0, i);
+                cantidad = i;
+            } else if (!duplicado && filtrados != null) {
+                filtrados[cantidad++] = observadores[i];
+            }
+        }
+        return filtrados == null ? observadores : Arrays.copyOf(filtrados, cantidad);
+    }
+    
+    /**
+     * Estadísticas mantenidas; si la lista de evaluaciones se modificó por
+     * fuera del proyecto se reconstruyen recorriéndola.
+     */
+    @Override
+    public EstadisticasEvaluaciones getEstadisticas() {
+        estadisticas.verificar(getEvaluaciones());
+        return estadisticas;
     }
     
     @Override
     public void agregarEvaluacion(Evaluacion evaluacion) {
-        super.agregarEvaluacion(evaluacion);
-        
+        registrarEvaluacion(evaluacion);
+    
         // Notificar sobre nueva evaluación
-        EventoProyecto evento = new EventoProyecto(
-            EventoProyecto.TipoEvento.EVALUACION_AGREGADA,
-            this,
-            "Nueva evaluación: " + evaluacion.getCalificacion()
-        );
-        notificarObservadores(evento);
-        
+        notificar(EventoProyecto.TipoEvento.EVALUACION_AGREGADA, evaluacion.getCalificacion(), null);
+    
         // Notificar si el proyecto se cierra
         if (!this.isActivo()) {
-            EventoProyecto eventoCierre = new EventoProyecto(
-                EventoProyecto.TipoEvento.PROYECTO_CERRADO,
-                this,
-                "Proyecto cerrado por bajas evaluaciones"
-            );
-            notificarObservadores(eventoCierre);
+            notificar(EventoProyecto.TipoEvento.PROYECTO_CERRADO, Double.NaN, null);
         }
     }
+    
+    /**
+     * Agrega un grupo de evaluaciones con un solo EVALUACION_AGREGADA, que
+     * lleva la calificación más baja del grupo (la que deciden las alertas),
+     * y a lo sumo un PROYECTO_CERRADO. Con una sola evaluación equivale a
+     * agregarEvaluacion.
+     */
+    public void agregarEvaluaciones(List<Evaluacion> evaluaciones) {
+        if (evaluaciones.size() == 1) {
+            agregarEvaluacion(evaluaciones.get(0));
+            return;
+        }
+        if (evaluaciones.isEmpty()) {
+            return;
+        }
+        double minima = Double.POSITIVE_INFINITY;
+        for (Evaluacion evaluacion : evaluaciones) {
+            registrarEvaluacion(evaluacion);
+            minima = Math.min(minima, evaluacion.getCalificacion());
+        }
+    
+        notificar(EventoProyecto.TipoEvento.EVALUACION_AGREGADA, minima,
+                  "Nuevas evaluaciones: " + evaluaciones.size() + ", mínima " + minima);
+        if (!this.isActivo()) {
+            notificar(EventoProyecto.TipoEvento.PROYECTO_CERRADO, Double.NaN, null);
+        }
+    }
+    
+    private void registrarEvaluacion(Evaluacion evaluacion) {
+        // Se acumula antes de super: la estrategia que decide el cierre ya la cuenta
+        estadisticas.registrar(evaluacion.getCalificacion());
+        evaluacion.agregarObservadorCalificacion(estadisticas); // Sigue las recalificaciones
+        super.agregarEvaluacion(evaluacion);
+        SeguidorEvaluaciones actual = seguidor;
+        if (actual != null) {
+            actual.evaluacionAgregada(evaluacion);
+        }
+    }
+    
+    @Override
+    public boolean quitarEvaluacion(Evaluacion evaluacion) {
+        if (!getEvaluaciones().remove(evaluacion)) {
+            return false;
+        }
+        evaluacion.eliminarObservadorCalificacion(estadisticas);
+        estadisticas.quitar(evaluacion.getCalificacion());
+        SeguidorEvaluaciones actual = seguidor;
+        if (actual != null) {
+            actual.evaluacionQuitada(evaluacion);
+        }
+        return true;
+    }
+    
+    /**
+     * Notifica sin asignar memoria en el caso síncrono: reutiliza el evento
+     * del hilo actual. Con despachador asíncrono, o si un observador provoca
+     * otra notificación desde actualizar(), se crea un evento nuevo.
+     * @param mensaje Mensaje explícito, o null para construirlo bajo demanda
+     */
+    private void notificar(EventoProyecto.TipoEvento tipo, double calificacion, String mensaje) {
+        RanuraEvento ranura = RANURA.get();
+        DespachadorAsincrono asincrono = despachador;
+        if (asincrono != null || ranura.enUso) {
+            EventoProyecto evento = new EventoProyecto(tipo, this, calificacion);
+            evento.reiniciar(tipo, this, calificacion, mensaje);
+            entregar(evento, asincrono);
+            return;
+        }
+        
+        ranura.enUso = true;
+        try {
+            ranura.evento.reiniciar(tipo, this, calificacion, mensaje);
+            entregar(ranura.evento, null);
+        } finally {
+            ranura.evento.liberar();
+            ranura.enUso = false;
+        }
+    }
+    
+    private static final class RanuraEvento {
+        final EventoProyecto evento = new EventoProyecto(null, null, Double.NaN);
+        boolean enUso;
+    }
 }
\ No newline at end of file
@@ -1,8 +1,18 @@
 package com.ues.comportamiento.observer;
 
-import java.util.ArrayList;
+import com.ues.log.Bitacora;
+import com.ues.log.NivelLog;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * PATRÓN OBSERVER - Observador Concreto para Auditoría
@@ -18,8 +28,13 @@ import java.util.List;
  */
 public class RegistroAuditoria implements ObservadorProyecto {
     
-    // Lista para almacenar el historial de eventos
-    private List<EventoAuditoria> historial;
+    // Buffer circular indexado con el historial de eventos
+    private AlmacenEventosAuditoria historial;
+    private final AtomicInteger eventosDescartados = new AtomicInteger(); // Descartes pendientes de reportar
+    private volatile DiarioAuditoria diario; // Persistencia en disco (null = solo memoria)
+    private final Set<Path> directoriosEnHistorial = ConcurrentHashMap.newKeySet(); // Ya reproducidos o escritos desde aquí
+    private volatile MetricasAuditoria metricas; // Contadores en vivo (null = desactivados); se usan con el candado del historial
+    private volatile ClasificadorNivelEvento clasificador = ClasificadorNivelEvento.porDefecto();
     
     // Configuración del sistema de auditoría
     private boolean auditoriaActiva;
@@ -32,18 +47,18 @@ public class RegistroAuditoria implements ObservadorProyecto {
      * Inicializa el sistema de auditoría con configuración por defecto.
      */
     public RegistroAuditoria() {
-        System.out.println("📊 Inicializando Sistema de Auditoría...");
+        Bitacora.info("📊 Inicializando Sistema de Auditoría...");
         
-        this.historial = new ArrayList<>();
+        this.maxEventos = 1000; // Máximo 1000 eventos en memoria
+        this.historial = new AlmacenEventosAuditoria(maxEventos);
         this.auditoriaActiva = true;
         this.nivelLog = 3; // Nivel Info por defecto
-        this.maxEventos = 1000; // Máximo 1000 eventos en memoria
         this.usuarioAuditor = "SISTEMA";
         
         // Registrar evento de inicialización
         registrarEventoSistema("Sistema de auditoría inicializado", 3);
         
-        System.out.println("✅ Sistema de Auditoría listo");
+        Bitacora.info("✅ Sistema de Auditoría listo");
     }
     
     /**
@@ -54,6 +69,7 @@ public class RegistroAuditoria implements ObservadorProyecto {
         this.usuarioAuditor = usuarioAuditor;
         this.nivelLog = nivelLog;
         this.maxEventos = maxEventos;
+        this.historial = historial.conCapacidad(maxEventos);
         
         registrarEventoSistema("Configuración personalizada aplicada - Usuario: " + 
                               usuarioAuditor + ", Nivel: " + nivelLog, 3);
@@ -88,21 +104,17 @@ public class RegistroAuditoria implements ObservadorProyecto {
      */
     private void registrarEvento(EventoProyecto evento, int nivel) {
         EventoAuditoria eventoAuditoria = new EventoAuditoria(
-            evento.getTipo().toString(),
-            evento.getMensaje(),
+            evento,
             evento.getProyecto() != null ? evento.getProyecto().getId() : "SISTEMA",
             evento.getProyecto() != null ? evento.getProyecto().getNombre() : "Sistema UES",
             nivel,
             usuarioAuditor
         );
         
-        historial.add(eventoAuditoria);
+        almacenar(eventoAuditoria);
         
         // Mostrar en consola según nivel
         mostrarEnConsola(eventoAuditoria);
-        
-        // En una implementación real, aquí se guardaría en base de datos
-        guardarEnPersistencia(eventoAuditoria);
     }
     
     /**
@@ -119,7 +131,7 @@ public class RegistroAuditoria implements ObservadorProyecto {
                 usuarioAuditor
             );
             
-            historial.add(evento);
+            almacenar(evento);
             mostrarEnConsola(evento);
         }
     }
@@ -140,8 +152,8 @@ public class RegistroAuditoria implements ObservadorProyecto {
             usuarioAuditor
         );
         
-        historial.add(evento);
-        System.out.println("🔐 AUDITORÍA ACCESO: " + mensaje);
+        almacenar(evento);
+        Bitacora.registrar(exitoso ? NivelLog.INFO : NivelLog.ADVERTENCIA, "🔐 AUDITORÍA ACCESO: " + mensaje);
     }
     
     /**
@@ -163,8 +175,8 @@ public class RegistroAuditoria implements ObservadorProyecto {
             usuario
         );
         
-        historial.add(evento);
-        System.out.println("✏️  AUDITORÍA MODIFICACIÓN: " + mensaje);
+        almacenar(evento);
+        Bitacora.info("✏️  AUDITORÍA MODIFICACIÓN: " + mensaje);
     }
     
     // ========== MÉTODOS DE CONSULTA Y REPORTES ==========
@@ -173,60 +185,42 @@ public class RegistroAuditoria implements ObservadorProyecto {
      * Obtiene el historial completo de auditoría.
      */
     public List<EventoAuditoria> getHistorialCompleto() {
-        return new ArrayList<>(historial); // Retorna copia para evitar modificaciones
+        return historial.aLista(); // Retorna copia para evitar modificaciones
+    }
+    
+    /**
+     * Recorre el historial en orden de llegada sin copiarlo.
+     */
+    public void recorrerHistorial(Consumer<? super EventoAuditoria> accion) {
+        historial.recorrer(accion);
     }
     
     /**
-     * Obtiene eventos por tipo.
+     * Obtiene eventos por tipo (usa el índice por tipo).
      */
     public List<EventoAuditoria> getEventosPorTipo(String tipo) {
-        List<EventoAuditoria> eventosFiltrados = new ArrayList<>();
-        for (EventoAuditoria evento : historial) {
-            if (evento.getTipo().contains(tipo)) {
-                eventosFiltrados.add(evento);
-            }
-        }
-        return eventosFiltrados;
+        return historial.buscarPorTipo(tipo);
     }
     
     /**
-     * Obtiene eventos por nivel.
+     * Obtiene eventos por nivel (usa el índice por nivel).
      */
     public List<EventoAuditoria> getEventosPorNivel(int nivel) {
-        List<EventoAuditoria> eventosFiltrados = new ArrayList<>();
-        for (EventoAuditoria evento : historial) {
-            if (evento.getNivel() == nivel) {
-                eventosFiltrados.add(evento);
-            }
-        }
-        return eventosFiltrados;
+        return historial.buscarPorNivel(nivel);
     }
     
     /**
-     * Obtiene eventos por proyecto.
+     * Obtiene eventos por proyecto (usa el índice por recurso).
      */
     public List<EventoAuditoria> getEventosPorProyecto(String idProyecto) {
-        List<EventoAuditoria> eventosFiltrados = new ArrayList<>();
-        for (EventoAuditoria evento : historial) {
-            if (evento.getIdRecurso().equals(idProyecto)) {
-                eventosFiltrados.add(evento);
-            }
-        }
-        return eventosFiltrados;
+        return historial.buscarPorRecurso(idProyecto);
     }
     
     /**
-     * Obtiene eventos en un rango de fechas.
+     * Obtiene eventos en un rango de fechas (usa el índice por franjas de tiempo).
      */
     public List<EventoAuditoria> getEventosPorFecha(Date fechaInicio, Date fechaFin) {
-        List<EventoAuditoria> eventosFiltrados = new ArrayList<>();
-        for (EventoAuditoria evento : historial) {
-            if (!evento.getFecha().before(fechaInicio) && 
-                !evento.getFecha().after(fechaFin)) {
-                eventosFiltrados.add(evento);
-            }
-        }
-        return eventosFiltrados;
+        return historial.buscarPorFecha(fechaInicio, fechaFin);
     }
     
     /**
@@ -234,42 +228,83 @@ public class RegistroAuditoria implements ObservadorProyecto {
      */
     public ReporteAuditoria generarReporte() {
         ReporteAuditoria reporte = new ReporteAuditoria();
-        
-        reporte.setTotalEventos(historial.size());
         reporte.setFechaGeneracion(new Date());
         
-        // Contar por nivel
-        int[] conteoNiveles = new int[5]; // Índices 1-4
-        for (EventoAuditoria evento : historial) {
-            if (evento.getNivel() >= 1 && evento.getNivel() <= 4) {
-                conteoNiveles[evento.getNivel()]++;
+        // Un solo candado para que el total y los conteos correspondan al
+        // mismo estado; sin contadores en vivo se usa el índice por nivel
+        AlmacenEventosAuditoria almacen = historial;
+        synchronized (almacen) {
+            MetricasAuditoria actuales = metricas;
+            if (actuales != null) {
+                actuales.llenar(reporte);
+                return reporte;
             }
+            reporte.setTotalEventos(almacen.tamanio());
+            reporte.setErrores(almacen.contarPorNivel(1));
+            reporte.setAdvertencias(almacen.contarPorNivel(2));
+            reporte.setInformaciones(almacen.contarPorNivel(3));
+            reporte.setDebugs(almacen.contarPorNivel(4));
         }
         
-        reporte.setErrores(conteoNiveles[1]);
-        reporte.setAdvertencias(conteoNiveles[2]);
-        reporte.setInformaciones(conteoNiveles[3]);
-        reporte.setDebugs(conteoNiveles[4]);
-        
         return reporte;
     }
     
     /**
      * Genera un reporte de actividad por usuario.
+     * Cuenta sobre una instantánea del historial en el pool fork/join, así
+     * que no bloquea a quienes registran eventos mientras se calcula.
      */
     public Map<String, Integer> generarReporteActividadUsuarios() {
-        Map<String, Integer> actividad = new HashMap<>();
-        
-        for (EventoAuditoria evento : historial) {
-            String usuario = evento.getUsuario();
-            actividad.put(usuario, actividad.getOrDefault(usuario, 0) + 1);
+        AlmacenEventosAuditoria almacen = historial;
+        synchronized (almacen) {
+            MetricasAuditoria actuales = metricas;
+            if (actuales != null) {
+                return actuales.actividadPorUsuario();
+            }
         }
-        
-        return actividad;
+        return TareaReporteAuditoria.resumir(historial.instantanea()).porUsuario;
     }
     
     // ========== MÉTODOS DE CONFIGURACIÓN ==========
     
+    /**
+     * Activa la persistencia en un diario en disco. La primera vez que se usa
+     * un directorio reproduce los eventos ya guardados en él; al volver a
+     * activarlo no, porque esos eventos ya están en el historial y quedarían
+     * repetidos. El diario nuevo reemplaza al anterior de una vez: cada
+     * evento va a uno de los dos.
+     */
+    public void activarPersistencia(Path directorio, PoliticaSincronizacion politica) throws IOException {
+        boolean recuperar = directoriosEnHistorial.add(directorio.toAbsolutePath().normalize());
+        long recuperados = recuperar ? DiarioAuditoria.reproducir(directorio, this::agregarAlHistorial) : 0;
+        cambiarDiario(new DiarioAuditoria(directorio, politica, 64L * 1024 * 1024, 100));
+        registrarEventoSistema("Persistencia activada en " + directorio + " - " +
+                              (recuperar ? recuperados + " eventos recuperados" : "historial en memoria conservado"), 3);
+    }
+    
+    /**
+     * Cierra el diario en disco, escribiendo antes los eventos pendientes.
+     */
+    public void desactivarPersistencia() throws IOException {
+        cambiarDiario(null);
+    }
+    
+    /**
+     * Publica el diario nuevo y después cierra el anterior, que escribe lo
+     * que ya tenía encolado.
+     */
+    private void cambiarDiario(DiarioAuditoria nuevo) throws IOException {
+        DiarioAuditoria anterior;
+        synchronized (this) {
+            anterior = diario;
+            diario = nuevo;
+        }
+        if (anterior != null) {
+            anterior.close();
+        }
+    }
+
+    
     /**
      * Activa/desactiva el sistema de auditoría.
      */
@@ -286,6 +321,38 @@ public class RegistroAuditoria implements ObservadorProyecto {
         registrarEventoSistema("Nivel de log cambiado a " + nivel, 3);
     }
     
+    /**
+     * Activa o desactiva los contadores en vivo: con ellos generarReporte()
+     * y generarReporteActividadUsuarios() leen contadores en lugar de
+     * recorrer el historial. Al activarlos se cuentan los eventos retenidos.
+     */
+    public void setMetricasEnVivo(boolean activas) {
+        AlmacenEventosAuditoria almacen = historial;
+        synchronized (almacen) {
+            if (!activas) {
+                metricas = null;
+                return;
+            }
+            if (metricas == null) {
+                MetricasAuditoria nuevas = new MetricasAuditoria();
+                almacen.recorrer(nuevas::sumar);
+                metricas = nuevas;
+            }
+        }
+    }
+    
+    public boolean isMetricasEnVivo() {
+        return metricas != null;
+    }
+    
+    /**
+     * Reemplaza las reglas de clasificación de nivel de los eventos.
+     */
+    public void setClasificador(ClasificadorNivelEvento clasificador) {
+        this.clasificador = clasificador;
+        registrarEventoSistema("Reglas de clasificación actualizadas", 4);
+    }
+    
     /**
      * Cambia el usuario auditor.
      */
@@ -299,56 +366,60 @@ public class RegistroAuditoria implements ObservadorProyecto {
      */
     public void limpiarHistorial() {
         registrarEventoSistema("Historial de auditoría limpiado - " + 
-                              historial.size() + " eventos eliminados", 3);
-        historial.clear();
+                              historial.tamanio() + " eventos eliminados", 3);
+        AlmacenEventosAuditoria almacen = historial;
+        synchronized (almacen) {
+            almacen.limpiar();
+            MetricasAuditoria actuales = metricas;
+            if (actuales != null) {
+                actuales.reiniciar();
+            }
+        }
     }
     
     /**
-     * Exporta el historial a un archivo.
+     * Exporta el historial a un archivo de texto (comprimido si termina en .gz).
      */
     public void exportarHistorial(String rutaArchivo) {
         try {
-            // En una implementación real, se escribiría a archivo
-            System.out.println("💾 Exportando historial de auditoría a: " + rutaArchivo);
-            registrarEventoSistema("Historial exportado a " + rutaArchivo, 3);
+            Bitacora.info("💾 Exportando historial de auditoría a: " + rutaArchivo);
+            exportarHistorial(Paths.get(rutaArchivo), FormatoExportacion.TEXTO, 
+                              rutaArchivo.endsWith(".gz"));
         } catch (Exception e) {
             registrarEventoSistema("Error exportando historial: " + e.getMessage(), 1);
         }
     }
     
+    /**
+     * Exporta el historial en streaming, sin copiarlo a una lista intermedia.
+     * @return Cantidad de eventos exportados
+     */
+    public long exportarHistorial(Path ruta, FormatoExportacion formato, 
+                                  boolean comprimir) throws IOException {
+        long exportados = new ExportadorAuditoria().exportar(historial, ruta, formato, comprimir);
+        registrarEventoSistema("Historial exportado a " + ruta + " - " + 
+                              exportados + " eventos", 3);
+        return exportados;
+    }
+    
     // ========== MÉTODOS PRIVADOS DE UTILIDAD ==========
     
     /**
-     * Determina el nivel de importancia de un evento.
+     * Determina el nivel de importancia de un evento con la tabla de decisión.
      */
     private int determinarNivelEvento(EventoProyecto evento) {
-        switch (evento.getTipo()) {
-            case PROYECTO_CERRADO:
-                return 1; // Error - Proyecto cerrado es crítico
-                
-            case EVALUACION_AGREGADA:
-                // Si la evaluación es baja, es más importante
-                String mensaje = evento.getMensaje().toLowerCase();
-                if (mensaje.contains("baja") || mensaje.contains("<70")) {
-                    return 2; // Warning
-                }
-                return 3; // Info
-                
-            case PROYECTO_CREADO:
-                return 3; // Info
-                
-            case ESTUDIANTE_AGREGADO:
-                return 4; // Debug
-                
-            default:
-                return 3; // Info por defecto
-        }
+        return clasificador.clasificar(evento);
     }
     
     /**
      * Muestra el evento en consola según su nivel.
      */
     private void mostrarEnConsola(EventoAuditoria evento) {
+        NivelLog nivel = NivelLog.desdeValor(evento.getNivel());
+        if (!Bitacora.estaActivo(nivel)) {
+            return; // Ni siquiera se arma la descripción
+        }
+        
         String icono;
         String color;
         
@@ -378,40 +449,91 @@ public class RegistroAuditoria implements ObservadorProyecto {
                 color = "\u001B[0m"; // Reset
         }
         
-        System.out.println(color + icono + " AUDITORÍA [" + 
-                          evento.getTipo() + "] " + 
-                          evento.getDescripcion() + "\u001B[0m");
+        Bitacora.registrar(nivel, color + icono + " AUDITORÍA [" + 
+                           evento.getTipo() + "] " + 
+                           evento.getDescripcion() + "\u001B[0m");
     }
     
     /**
-     * Guarda el evento en persistencia (simulado).
+     * Guarda el evento en el diario en disco, si está activo.
+     * Solo encola: la escritura y el fsync ocurren en el hilo del diario.
+     * Si el diario quedó en fallo se desactiva la persistencia y el
+     * historial sigue solo en memoria.
      */
     private void guardarEnPersistencia(EventoAuditoria evento) {
-        // En una implementación real, aquí se guardaría en:
-        // 1. Base de datos
-        // 2. Archivo de log
-        // 3. Sistema de monitoreo externo
-        
-        // Simulación de guardado
-        if (evento.getNivel() <= 2) { // Solo errores y warnings
-            // Guardar en "base de datos" crítica
+        DiarioAuditoria actual = diario;
+        while (actual != null) {
+            try {
+                actual.registrar(evento);
+                return;
+            } catch (IllegalStateException cerradoEnParalelo) {
+                // Se cambió el diario mientras se registraba: va al que lo reemplazó
+                DiarioAuditoria siguiente = diario;
+                actual = siguiente != actual ? siguiente : null;
+            } catch (UncheckedIOException e) {
+                desactivarEnFallo(actual, e);
+                return;
+            }
+        }
+    }
+    
+    private void desactivarEnFallo(DiarioAuditoria actual, UncheckedIOException e) {
+        synchronized (this) {
+            if (diario != actual) {
+                return;
+            }
+            diario = null;
+        }
+        Bitacora.error("❌ Persistencia de auditoría desactivada: " + e.getCause().getMessage());
+        try {
+            actual.close();
+        } catch (IOException ignorado) {
+            // Ya informado: es el mismo error que dejó el diario en fallo
+        }
+    }
+    
+    /**
+     * Agrega un evento al historial. El buffer circular descarta el más
+     * antiguo en O(1) cuando se alcanza maxEventos; los contadores en vivo
+     * se actualizan bajo el mismo candado que el almacén.
+     */
+    private void almacenar(EventoAuditoria evento) {
+        agregarAlHistorial(evento);
+        guardarEnPersistencia(evento);
+    }
+    
+    /**
+     * Agrega al historial en memoria, sin pasar por el diario (lo usa también
+     * la reproducción al activar la persistencia).
+     */
+    private void agregarAlHistorial(EventoAuditoria evento) {
+        AlmacenEventosAuditoria almacen = historial;
+        synchronized (almacen) {
+            EventoAuditoria descartado = almacen.agregar(evento);
+            if (descartado != null) {
+                eventosDescartados.incrementAndGet();
+            }
+            MetricasAuditoria actuales = metricas;
+            if (actuales != null) {
+                actuales.sumar(evento);
+                if (descartado != null) {
+                    actuales.restar(descartado);
+                }
+            }
         }
     }
     
     /**
-     * Verifica y gestiona el límite de eventos en memoria.
+     * Informa de los eventos antiguos descartados, en bloques de 100. El
+     * contador se toma y se pone en cero de una vez; si cambió entretanto
+     * (otro hilo lo informó o hubo más descartes) informa una llamada
+     * posterior.
      */
     private void verificarLimiteEventos() {
-        if (historial.size() > maxEventos) {
-            // Eliminar los eventos más antiguos (los primeros 100)
-            int eventosAEliminar = Math.min(100, historial.size() - maxEventos/2);
-            List<EventoAuditoria> eventosEliminados = new ArrayList<>(
-                historial.subList(0, eventosAEliminar)
-            );
-            historial.subList(0, eventosAEliminar).clear();
-            
+        int descartados = eventosDescartados.get();
+        if (descartados >= 100 && eventosDescartados.compareAndSet(descartados, 0)) {
             registrarEventoSistema("Límite de eventos alcanzado. Eliminados " + 
-                                  eventosAEliminar + " eventos antiguos", 3);
+                                  descartados + " eventos antiguos", 3);
         }
     }
     
@@ -422,37 +544,67 @@ public class RegistroAuditoria implements ObservadorProyecto {
      */
     public static class EventoAuditoria {
         private String tipo;
-        private String descripcion;
+        private String descripcion; // null = se construye desde la calificación
         private String idRecurso;
         private String nombreRecurso;
         private int nivel;
         private String usuario;
-        private Date fecha;
+        private long marcaTiempo;
+        private EventoProyecto.TipoEvento tipoProyecto;
+        private double calificacion = Double.NaN;
         
         public EventoAuditoria(String tipo, String descripcion, String idRecurso,
                               String nombreRecurso, int nivel, String usuario) {
+            this(tipo, descripcion, idRecurso, nombreRecurso, nivel, usuario,
+                 System.currentTimeMillis());
+        }
+        
+        /**
+         * Constructor con fecha explícita (usado al reproducir el diario).
+         */
+        EventoAuditoria(String tipo, String descripcion, String idRecurso,
+                        String nombreRecurso, int nivel, String usuario, long marcaTiempo) {
             this.tipo = tipo;
             this.descripcion = descripcion;
             this.idRecurso = idRecurso;
             this.nombreRecurso = nombreRecurso;
             this.nivel = nivel;
             this.usuario = usuario;
-            this.fecha = new Date();
+            this.marcaTiempo = marcaTiempo;
+        }
+        
+        /**
+         * Copia los campos primitivos de un evento de proyecto; la
+         * descripción solo se arma si se consulta.
+         */
+        EventoAuditoria(EventoProyecto origen, String idRecurso, String nombreRecurso,
+                        int nivel, String usuario) {
+            this(origen.getTipo().name(), origen.getMensajeExplicito(), idRecurso,
+                 nombreRecurso, nivel, usuario, origen.getMarcaTiempo());
+            this.tipoProyecto = origen.getTipo();
+            this.calificacion = origen.getCalificacion();
         }
         
         // Getters
         public String getTipo() { return tipo; }
-        public String getDescripcion() { return descripcion; }
         public String getIdRecurso() { return idRecurso; }
         public String getNombreRecurso() { return nombreRecurso; }
         public int getNivel() { return nivel; }
         public String getUsuario() { return usuario; }
-        public Date getFecha() { return fecha; }
+        public long getMarcaTiempo() { return marcaTiempo; }
+        public Date getFecha() { return new Date(marcaTiempo); }
+        
+        public String getDescripcion() {
+            if (descripcion == null && tipoProyecto != null) {
+                descripcion = EventoProyecto.construirMensaje(tipoProyecto, calificacion);
+            }
+            return descripcion;
+        }
         
         @Override
         public String toString() {
             return String.format("[%s] %s | %s | %s | %s", 
-                fecha, tipo, descripcion, nombreRecurso, usuario);
+                getFecha(), tipo, getDescripcion(), nombreRecurso, usuario);
         }
     }
     
@@ -0,0 +1,37 @@
+package com.ues.comportamiento.observer;
+
+/**
+ * REGISTRO DE OBSERVADORES COPY-ON-WRITE
+ *
+ * Guarda los observadores en un arreglo inmutable que se reemplaza de forma
+ * atómica (CAS) al agregar o eliminar. La notificación recorre la instantánea
+ * actual sin candados ni iteradores, y puede coincidir con altas y bajas
+ * sin ConcurrentModificationException.
+ */
+public class RegistroObservadores {
+    private final ArregloCopiaEnEscritura<ObservadorProyecto> observadores =
+        new ArregloCopiaEnEscritura<>(new ObservadorProyecto[0]);
+
+    public void agregar(ObservadorProyecto observador) {
+        observadores.agregar(observador);
+    }
+
+    /**
+     * Elimina la primera aparición del observador.
+     * @return true si estaba registrado
+     */
+    public boolean eliminar(ObservadorProyecto observador) {
+        return observadores.quitar(observador);
+    }
+
+    /**
+     * Arreglo actual de observadores. Es compartido: no debe modificarse.
+     */
+    public ObservadorProyecto[] instantanea() {
+        return observadores.instantanea();
+    }
+
+    public int tamanio() {
+        return observadores.instantanea().length;
+    }
+}
@@ -0,0 +1,83 @@
+package com.ues.comportamiento.observer;
+
+import com.ues.comportamiento.observer.RegistroAuditoria.EventoAuditoria;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * REPORTE DE ACTIVIDAD EN PARALELO (FORK/JOIN)
+ *
+ * Divide una instantánea del historial en mitades hasta llegar a tramos de
+ * UMBRAL eventos; cada tramo cuenta en su propio Resumen y los resúmenes se
+ * unen al volver. Los historiales pequeños se procesan en el hilo llamador.
+ */
+@SuppressWarnings("serial") // Tarea de un solo uso, nunca se serializa
+final class TareaReporteAuditoria extends RecursiveTask<TareaReporteAuditoria.Resumen> {
+
+    static final int UMBRAL = 16 * 1024;
+
+    private final EventoAuditoria[] eventos;
+    private final int desde;
+    private final int hasta;
+
+    private TareaReporteAuditoria(EventoAuditoria[] eventos, int desde, int hasta) {
+        this.eventos = eventos;
+        this.desde = desde;
+        this.hasta = hasta;
+    }
+
+    /**
+     * Resume todos los eventos del arreglo.
+     */
+    static Resumen resumir(EventoAuditoria[] eventos) {
+        TareaReporteAuditoria tarea = new TareaReporteAuditoria(eventos, 0, eventos.length);
+        if (eventos.length <= UMBRAL) {
+            return tarea.compute();
+        }
+        return ForkJoinPool.commonPool().invoke(tarea);
+    }
+
+    @Override
+    protected Resumen compute() {
+        if (hasta - desde <= UMBRAL) {
+            Resumen resumen = new Resumen();
+            for (int i = desde; i < hasta; i++) {
+                resumen.contar(eventos[i]);
+            }
+            return resumen;
+        }
+        int medio = (desde + hasta) >>> 1;
+        TareaReporteAuditoria izquierda = new TareaReporteAuditoria(eventos, desde, medio);
+        TareaReporteAuditoria derecha = new TareaReporteAuditoria(eventos, medio, hasta);
+        izquierda.fork();
+        Resumen resultado = derecha.compute();
+        return resultado.unir(izquierda.join());
+    }
+
+    // ========== RESULTADO PARCIAL ==========
+
+    /**
+     * Conteos parciales por usuario; dos resúmenes se combinan con unir().
+     */
+    static final class Resumen {
+        final Map<String, Integer> porUsuario = new HashMap<>();
+
+        void contar(EventoAuditoria evento) {
+            porUsuario.merge(evento.getUsuario(), 1, Integer::sum);
+        }
+
+        /**
+         * Combina otro resumen en el mayor de los dos y lo devuelve.
+         */
+        Resumen unir(Resumen otro) {
+            Resumen mayor = porUsuario.size() >= otro.porUsuario.size() ? this : otro;
+            Resumen menor = mayor == this ? otro : this;
+            for (Map.Entry<String, Integer> entrada : menor.porUsuario.entrySet()) {
+                mayor.porUsuario.merge(entrada.getKey(), entrada.getValue(), Integer::sum);
+            }
+            return mayor;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.ues.comportamiento.strategy;
 
+import com.ues.model.EstadisticasEvaluaciones;
 import com.ues.model.Proyecto;
 
 /**
@@ -10,11 +11,11 @@ public class EstrategiaEvaluacionFlexible implements EstrategiaEvaluacion {
     @Override
     public boolean evaluarProyecto(Proyecto proyecto) {
         // Regla flexible: 60% o más de evaluaciones <70
-        long evaluacionesBajas = proyecto.getEvaluaciones().stream()
-            .filter(e -> e.getCalificacion() < 70)
-            .count();
+        EstadisticasEvaluaciones estadisticas = EstadisticasEvaluaciones.de(proyecto);
+        if (estadisticas.getCantidad() == 0) {
+            return false; // Sin evaluaciones no hay motivo de cierre
+        }
         
-        double porcentaje = (double) evaluacionesBajas / proyecto.getEvaluaciones().size();
-        return porcentaje >= 0.6; // Más flexible
+        return estadisticas.getProporcionBajas() >= 0.6; // Más flexible
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.ues.creacional.builder;
 
 import com.ues.model.Proyecto;
 import com.ues.model.Profesor;
+import com.ues.log.Bitacora;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -54,7 +55,7 @@ public class ProyectoBuilder {
     }
     
     public Proyecto build() {
-        System.out.println("🛠️  Builder construyendo proyecto...");
+        Bitacora.info("🛠️  Builder construyendo proyecto...");
         
         if (id == null || nombre == null || profesor == null) {
             throw new IllegalStateException("Faltan parámetros requeridos");
@@ -62,10 +63,10 @@ public class ProyectoBuilder {
         
         Proyecto proyecto = new Proyecto(id, nombre, descripcion, profesor);
         
-        System.out.println("   • ID: " + id);
-        System.out.println("   • Nombre: " + nombre);
-        System.out.println("   • Profesor: " + profesor.getNombre());
-        System.out.println("   • Objetivos: " + objetivos.size());
+        Bitacora.info(() -> "   • ID: " + id +
+                            "\n   • Nombre: " + nombre +
+                            "\n   • Profesor: " + profesor.getNombre() +
+                            "\n   • Objetivos: " + objetivos.size());
         
         return proyecto;
     }
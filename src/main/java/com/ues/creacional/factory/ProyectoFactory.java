@@ -1,5 +1,6 @@
 package com.ues.creacional.factory;
 
+import com.ues.log.Bitacora;
 import com.ues.model.Proyecto;
 import com.ues.model.Profesor;
 
@@ -15,7 +16,7 @@ public class ProyectoFactory implements EntityFactory<Proyecto> {
         String descripcion = (String) params[2];
         Profesor profesor = (Profesor) params[3];
         
-        System.out.println("🏭 Factory creando proyecto: " + nombre);
+        Bitacora.debug(() -> "🏭 Factory creando proyecto: " + nombre);
         return new Proyecto(id, nombre, descripcion, profesor);
     }
 }
\ No newline at end of file
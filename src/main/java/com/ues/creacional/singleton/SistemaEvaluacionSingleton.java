@@ -1,24 +1,35 @@
 package com.ues.creacional.singleton;
 
+import com.ues.log.Bitacora;
 import com.ues.model.Evaluacion;
 import com.ues.model.Proyecto;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * PATRÓN SINGLETON
  * Propósito: Garantizar una única instancia global.
+ * 
+ * Las estadísticas usan acumuladores rayados (LongAdder/DoubleAdder): varios
+ * evaluadores pueden registrar a la vez sin perder conteos ni bloquearse.
  */
 public class SistemaEvaluacionSingleton {
     private static volatile SistemaEvaluacionSingleton instancia;
     
-    private Map<String, Double> promediosProyectos;
-    private int totalEvaluaciones;
+    private final ConcurrentHashMap<String, AcumuladorPromedio> promediosProyectos;
+    private final LongAdder totalEvaluaciones;
+    private final DoubleAdder sumaCalificaciones;
     
     private SistemaEvaluacionSingleton() {
-        System.out.println("⚙️  Inicializando Sistema de Evaluaciones (Singleton)...");
-        promediosProyectos = new HashMap<>();
-        totalEvaluaciones = 0;
+        Bitacora.info("⚙️  Inicializando Sistema de Evaluaciones (Singleton)...");
+        promediosProyectos = new ConcurrentHashMap<>();
+        totalEvaluaciones = new LongAdder();
+        sumaCalificaciones = new DoubleAdder();
     }
     
     public static SistemaEvaluacionSingleton getInstancia() {
@@ -33,16 +44,116 @@ public class SistemaEvaluacionSingleton {
     }
     
     public void registrarEvaluacion(Evaluacion evaluacion) {
-        totalEvaluaciones++;
+        double calificacion = evaluacion.getCalificacion();
         String proyectoId = evaluacion.getProyecto().getId();
         
-        System.out.println("📊 Singleton registró evaluación: " + 
-                          proyectoId + " - " + evaluacion.getCalificacion());
+        totalEvaluaciones.increment();
+        sumaCalificaciones.add(calificacion);
+        acumuladorDe(proyectoId).registrar(calificacion);
+        
+        Bitacora.debug(() -> "📊 Singleton registró evaluación: " + proyectoId + " - " + calificacion);
+    }
+    
+    /**
+     * Registra evaluaciones de un mismo proyecto con un solo mensaje, para
+     * operaciones en lote.
+     */
+    public void registrarEvaluaciones(Proyecto proyecto, List<Evaluacion> evaluaciones) {
+        if (evaluaciones.isEmpty()) {
+            return;
+        }
+        AcumuladorPromedio acumulador = acumuladorDe(proyecto.getId());
+        double suma = 0;
+        for (int i = 0; i < evaluaciones.size(); i++) {
+            double calificacion = evaluaciones.get(i).getCalificacion();
+            acumulador.registrar(calificacion);
+            suma += calificacion;
+        }
+        totalEvaluaciones.add(evaluaciones.size());
+        sumaCalificaciones.add(suma);
+        
+        Bitacora.debug(() -> "📊 Singleton registró " + evaluaciones.size() + 
+                             " evaluaciones: " + proyecto.getId());
+    }
+    
+    /**
+     * Promedio actual de un proyecto (0 si no tiene evaluaciones).
+     */
+    public double getPromedioProyecto(String proyectoId) {
+        AcumuladorPromedio acumulador = promediosProyectos.get(proyectoId);
+        return acumulador == null ? 0 : acumulador.getPromedio();
+    }
+    
+    /**
+     * Captura las estadísticas sin bloquear a los hilos que registran.
+     * La captura es débilmente consistente: puede no incluir registros
+     * concurrentes con la llamada.
+     */
+    public EstadisticasSistema getEstadisticas() {
+        Map<String, Double> promedios = new HashMap<>();
+        for (Map.Entry<String, AcumuladorPromedio> entrada : promediosProyectos.entrySet()) {
+            promedios.put(entrada.getKey(), entrada.getValue().getPromedio());
+        }
+        return new EstadisticasSistema(totalEvaluaciones.sum(), sumaCalificaciones.sum(), promedios);
     }
     
     public void mostrarEstadisticas() {
-        System.out.println("\n📈 ESTADÍSTICAS (Singleton):");
-        System.out.println("Total evaluaciones: " + totalEvaluaciones);
-        System.out.println("Proyectos monitoreados: " + promediosProyectos.size());
+        EstadisticasSistema estadisticas = getEstadisticas();
+        Bitacora.info("📈 ESTADÍSTICAS (Singleton):" +
+                      "\nTotal evaluaciones: " + estadisticas.getTotalEvaluaciones() +
+                      "\nPromedio global: " + estadisticas.getPromedioGlobal() +
+                      "\nProyectos monitoreados: " + estadisticas.getPromediosProyectos().size());
+    }
+    
+    private AcumuladorPromedio acumuladorDe(String proyectoId) {
+        AcumuladorPromedio acumulador = promediosProyectos.get(proyectoId);
+        if (acumulador == null) {
+            acumulador = promediosProyectos.computeIfAbsent(proyectoId, id -> new AcumuladorPromedio());
+        }
+        return acumulador;
+    }
+    
+    // ========== CLASES INTERNAS ==========
+    
+    /**
+     * Promedio acumulado de un proyecto.
+     */
+    private static final class AcumuladorPromedio {
+        private final LongAdder cantidad = new LongAdder();
+        private final DoubleAdder suma = new DoubleAdder();
+        
+        void registrar(double calificacion) {
+            suma.add(calificacion);
+            cantidad.increment();
+        }
+        
+        double getPromedio() {
+            long n = cantidad.sum();
+            return n == 0 ? 0 : suma.sum() / n;
+        }
+    }
+    
+    /**
+     * Captura inmutable de las estadísticas del sistema.
+     */
+    public static final class EstadisticasSistema {
+        private final long totalEvaluaciones;
+        private final double sumaCalificaciones;
+        private final Map<String, Double> promediosProyectos;
+        
+        EstadisticasSistema(long totalEvaluaciones, double sumaCalificaciones,
+                            Map<String, Double> promediosProyectos) {
+            this.totalEvaluaciones = totalEvaluaciones;
+            this.sumaCalificaciones = sumaCalificaciones;
+            this.promediosProyectos = Collections.unmodifiableMap(promediosProyectos);
+        }
+        
+        public long getTotalEvaluaciones() { return totalEvaluaciones; }
+        public double getSumaCalificaciones() { return sumaCalificaciones; }
+        public Map<String, Double> getPromediosProyectos() { return promediosProyectos; }
+        
+        public double getPromedioGlobal() {
+            return totalEvaluaciones == 0 ? 0 : sumaCalificaciones / totalEvaluaciones;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,39 @@
+package com.ues.estructural.adapter;
+
+/**
+ * Cambio que se envía al sistema de registro académico: una calificación
+ * o una inscripción, ya traducida al formato plano del registro.
+ */
+public final class CambioRegistro {
+    public enum TipoCambio {
+        CALIFICACION,
+        INSCRIPCION
+    }
+
+    private final TipoCambio tipo;
+    private final String idEstudiante; // Id de texto del estudiante en el servicio
+    private final String referencia; // Id del proyecto o del curso
+    private final double valor;      // Nota obtenida; NaN en inscripciones
+    private final long marcaTiempo;
+
+    public CambioRegistro(TipoCambio tipo, String idEstudiante, String referencia,
+                          double valor, long marcaTiempo) {
+        this.tipo = tipo;
+        this.idEstudiante = idEstudiante;
+        this.referencia = referencia;
+        this.valor = valor;
+        this.marcaTiempo = marcaTiempo;
+    }
+
+    public TipoCambio getTipo() { return tipo; }
+    public String getIdEstudiante() { return idEstudiante; }
+    public String getReferencia() { return referencia; }
+    public double getValor() { return valor; }
+    public long getMarcaTiempo() { return marcaTiempo; }
+
+    @Override
+    public String toString() {
+        return tipo + "{estudiante='" + idEstudiante + "', referencia='" + referencia + '\'' +
+               (tipo == TipoCambio.CALIFICACION ? ", valor=" + valor : "") + '}';
+    }
+}
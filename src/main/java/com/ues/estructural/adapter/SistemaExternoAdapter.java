@@ -0,0 +1,572 @@
+package com.ues.estructural.adapter;
+
+import com.ues.log.Bitacora;
+import com.ues.model.Curso;
+import com.ues.model.Evaluacion;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * PATRÓN ADAPTER - Puente por lotes hacia el sistema de registro académico
+ *
+ * Traduce calificaciones e inscripciones del modelo a CambioRegistro y las
+ * agrupa en lotes: un lote sale al llegar a su tamaño máximo o cuando el
+ * cambio más antiguo lleva el intervalo configurado esperando, nunca un
+ * viaje de ida y vuelta por registro. El estudiante se identifica con el id
+ * de texto que le da el servicio; el id numérico del modelo puede repetirse.
+ *
+ * Los lotes se envían por un pool fijo de conexiones, en turnos, con varias
+ * solicitudes en vuelo por conexión (pipelining). Un semáforo limita el
+ * total en vuelo: si el registro no da abasto, quien llama a enviar()
+ * espera; encolar() nunca espera y deja el lote lleno al temporizador. Un lote
+ * fallido se reintenta con espera exponencial y el mismo id de lote, así
+ * que el registro puede descartar el duplicado; una conexión cerrada se
+ * reemplaza en el siguiente uso.
+ *
+ * El hilo temporizador, que corta lotes por tiempo y lanza los reintentos,
+ * nunca espera por el semáforo: si no hay turno libre deja el lote en
+ * espera y lo intenta en la siguiente revisión. Así los reintentos, que
+ * son los que liberan turnos, no quedan detrás de un hilo bloqueado.
+ */
+public class SistemaExternoAdapter implements AutoCloseable {
+    private final TransporteRegistro transporte;
+    private final int tamanioLote;
+    private final long intervaloNanos;
+    private final int maxReintentos;
+    private final long esperaBaseMs;
+    private final long esperaMaximaMs;
+    private final Consumer<List<CambioRegistro>> alFallar;
+
+    // Pool de conexiones
+    private final TransporteRegistro.Conexion[] conexiones;
+    private final Object[] candadosConexion;
+    private final AtomicInteger turno = new AtomicInteger();
+    private final Semaphore enVuelo;
+
+    // Lote en formación y lotes cortados sin turno (protegidos por this)
+    private List<CambioRegistro> pendientes;
+    private long inicioLoteNanos;
+    private final Deque<List<CambioRegistro>> enEspera = new ArrayDeque<>();
+    private boolean cerrado;
+
+    private final ScheduledExecutorService temporizador;
+    private final AtomicLong secuenciaLotes = new AtomicLong();
+    private final Object monitorEnCurso = new Object();
+    private int lotesEnCurso; // Cortados y sin terminar; protegido por monitorEnCurso
+    private final Set<Reintento> reintentosProgramados = ConcurrentHashMap.newKeySet();
+
+    // Estadísticas
+    private final LongAdder cambiosEnviados = new LongAdder();
+    private final LongAdder lotesEnviados = new LongAdder();
+    private final LongAdder reintentos = new LongAdder();
+    private final LongAdder lotesFallidos = new LongAdder();
+
+    private SistemaExternoAdapter(Builder builder) {
+        this.transporte = builder.transporte;
+        this.tamanioLote = builder.tamanioLote;
+        this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(builder.intervaloMs);
+        this.maxReintentos = builder.maxReintentos;
+        this.esperaBaseMs = builder.esperaBaseMs;
+        this.esperaMaximaMs = builder.esperaMaximaMs;
+        this.alFallar = builder.alFallar;
+        this.conexiones = new TransporteRegistro.Conexion[builder.conexiones];
+        this.candadosConexion = new Object[builder.conexiones];
+        for (int i = 0; i < candadosConexion.length; i++) {
+            candadosConexion[i] = new Object();
+        }
+        this.enVuelo = new Semaphore(builder.conexiones * builder.enVueloPorConexion);
+        this.pendientes = new ArrayList<>(tamanioLote);
+
+        this.temporizador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "adaptador-registro");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long revision = Math.max(1, builder.intervaloMs / 4);
+        temporizador.scheduleAtFixedRate(this::vaciarPorTiempo, revision, revision, TimeUnit.MILLISECONDS);
+    }
+
+    public static Builder builder(TransporteRegistro transporte) {
+        return new Builder(transporte);
+    }
+
+    // ========== TRADUCCIÓN DEL MODELO ==========
+
+    /**
+     * Encola la calificación de una evaluación.
+     * @param idEstudiante Id de texto del estudiante en el servicio
+     * @throws IllegalArgumentException si no está calificada o falta el estudiante
+     */
+    public void enviarEvaluacion(String idEstudiante, Evaluacion evaluacion) {
+        enviar(calificacion(idEstudiante, evaluacion));
+    }
+
+    /**
+     * Como {@link #enviarEvaluacion}, pero sin esperar turno de envío.
+     */
+    public void encolarEvaluacion(String idEstudiante, Evaluacion evaluacion) {
+        encolar(calificacion(idEstudiante, evaluacion));
+    }
+
+    /**
+     * Encola la inscripción de un estudiante en un curso.
+     * @param idEstudiante Id de texto del estudiante en el servicio
+     * @param curso Curso; se identifica por su código
+     */
+    public void enviarInscripcion(String idEstudiante, Curso curso) {
+        enviar(new CambioRegistro(CambioRegistro.TipoCambio.INSCRIPCION, idEstudiante,
+                                  curso.getCodigo(), Double.NaN, System.currentTimeMillis()));
+    }
+
+    /**
+     * Agrega el cambio al lote en formación; si el lote se llena, lo envía
+     * y puede esperar turno de envío.
+     * @throws IllegalStateException si el adaptador está cerrado
+     */
+    public void enviar(CambioRegistro cambio) {
+        List<CambioRegistro> lleno;
+        synchronized (this) {
+            lleno = agregar(cambio);
+        }
+        if (lleno != null) {
+            try {
+                despachar(lleno); // Fuera del candado: puede esperar por el semáforo
+            } catch (InterruptedException e) {
+                devolver(Collections.singletonList(lleno)); // Lo envía el temporizador
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrumpido esperando turno de envío", e);
+            }
+        }
+    }
+
+    /**
+     * Agrega el cambio sin esperar nunca: si el lote se llena queda en espera
+     * y lo envía el temporizador. Para quien llama desde un observador o con
+     * candados tomados.
+     * @throws IllegalStateException si el adaptador está cerrado
+     */
+    public synchronized void encolar(CambioRegistro cambio) {
+        List<CambioRegistro> lleno = agregar(cambio);
+        if (lleno != null) {
+            enEspera.addLast(lleno);
+        }
+    }
+
+    // ========== CICLO DE VIDA ==========
+
+    /**
+     * Envía el lote en formación y espera a que todos los lotes terminen
+     * (confirmados o agotados sus reintentos).
+     */
+    public void vaciar() throws InterruptedException {
+        List<List<CambioRegistro>> lotes;
+        synchronized (this) {
+            lotes = new ArrayList<>(enEspera);
+            enEspera.clear();
+            if (!pendientes.isEmpty()) {
+                lotes.add(cortarLote());
+            }
+        }
+        for (int i = 0; i < lotes.size(); i++) {
+            try {
+                despachar(lotes.get(i));
+            } catch (InterruptedException e) {
+                devolver(lotes.subList(i, lotes.size()));
+                throw e;
+            }
+        }
+        synchronized (monitorEnCurso) {
+            while (lotesEnCurso > 0) {
+                monitorEnCurso.wait();
+            }
+        }
+    }
+
+    /**
+     * Rechaza cambios nuevos, envía lo pendiente, espera las confirmaciones y
+     * cierra las conexiones. Si el hilo se interrumpe mientras espera, cierra
+     * sin esperar: los lotes aún sin enviar y los que esperaban un reintento
+     * van a alFallar, y el indicador de interrupción queda restaurado.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+        }
+        try {
+            vaciar();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            descartarEnEspera();
+        } finally {
+            temporizador.shutdownNow();
+            descartarReintentos(); // Solo quedan si no se esperó a vaciar
+            for (int i = 0; i < conexiones.length; i++) {
+                synchronized (candadosConexion[i]) {
+                    if (conexiones[i] != null) {
+                        conexiones[i].close();
+                        conexiones[i] = null;
+                    }
+                }
+            }
+        }
+    }
+
+    // ========== ESTADÍSTICAS ==========
+
+    public long getCambiosEnviados() {
+        return cambiosEnviados.sum();
+    }
+
+    public long getLotesEnviados() {
+        return lotesEnviados.sum();
+    }
+
+    public long getReintentos() {
+        return reintentos.sum();
+    }
+
+    public long getLotesFallidos() {
+        return lotesFallidos.sum();
+    }
+
+    public synchronized int getPendientes() {
+        return pendientes.size();
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private static CambioRegistro calificacion(String idEstudiante, Evaluacion evaluacion) {
+        if (!evaluacion.estaCalificada() || idEstudiante == null) {
+            throw new IllegalArgumentException("Evaluación sin calificar o sin estudiante: " + evaluacion.getId());
+        }
+        String referencia = evaluacion.getProyecto() != null
+            ? evaluacion.getProyecto().getId()
+            : String.valueOf(evaluacion.getId());
+        return new CambioRegistro(CambioRegistro.TipoCambio.CALIFICACION, idEstudiante, referencia,
+                                  evaluacion.getNotaObtenida(), System.currentTimeMillis());
+    }
+
+    /**
+     * Agrega el cambio al lote en formación. Requiere el candado.
+     * @return El lote si se llenó, o null
+     */
+    private List<CambioRegistro> agregar(CambioRegistro cambio) {
+        if (cerrado) {
+            throw new IllegalStateException("El adaptador está cerrado");
+        }
+        if (pendientes.isEmpty()) {
+            inicioLoteNanos = System.nanoTime();
+        }
+        pendientes.add(cambio);
+        return pendientes.size() >= tamanioLote ? cortarLote() : null;
+    }
+
+    /**
+     * Entrega el lote en formación y empieza uno nuevo. Requiere el candado.
+     * El lote cuenta como en curso desde aquí, así vaciar() no puede
+     * terminar mientras otro hilo todavía espera turno para enviarlo.
+     */
+    private List<CambioRegistro> cortarLote() {
+        List<CambioRegistro> lote = pendientes;
+        pendientes = new ArrayList<>(tamanioLote);
+        synchronized (monitorEnCurso) {
+            lotesEnCurso++;
+        }
+        return lote;
+    }
+
+    /**
+     * Revisión periódica del temporizador: envía los lotes en espera y el
+     * lote en formación que ya cumplió el intervalo, sin bloquearse.
+     */
+    private void vaciarPorTiempo() {
+        List<CambioRegistro> lote;
+        while ((lote = siguienteListo()) != null) {
+            if (!enVuelo.tryAcquire()) {
+                devolver(Collections.singletonList(lote));
+                return;
+            }
+            intentar(secuenciaLotes.incrementAndGet(), lote, 0);
+        }
+    }
+
+    private synchronized List<CambioRegistro> siguienteListo() {
+        if (!enEspera.isEmpty()) {
+            return enEspera.pollFirst();
+        }
+        if (!pendientes.isEmpty() && System.nanoTime() - inicioLoteNanos >= intervaloNanos) {
+            return cortarLote();
+        }
+        return null;
+    }
+
+    /**
+     * Deja lotes ya cortados al frente de la espera, en el mismo orden.
+     */
+    private synchronized void devolver(List<List<CambioRegistro>> lotes) {
+        for (int i = lotes.size() - 1; i >= 0; i--) {
+            enEspera.addFirst(lotes.get(i));
+        }
+    }
+
+    /**
+     * Espera turno y envía. Si se interrumpe, quien llama decide qué hacer
+     * con el lote.
+     */
+    private void despachar(List<CambioRegistro> cambios) throws InterruptedException {
+        enVuelo.acquire();
+        intentar(secuenciaLotes.incrementAndGet(), cambios, 0);
+    }
+
+    /**
+     * Al cerrar sin esperar: los lotes que no llegaron a enviarse se
+     * entregan a alFallar.
+     */
+    private void descartarEnEspera() {
+        List<List<CambioRegistro>> lotes;
+        synchronized (this) {
+            lotes = new ArrayList<>(enEspera);
+            enEspera.clear();
+            if (!pendientes.isEmpty()) {
+                lotes.add(cortarLote());
+            }
+        }
+        for (List<CambioRegistro> lote : lotes) {
+            lotesFallidos.increment();
+            try {
+                alFallar.accept(lote);
+            } finally {
+                terminar(false);
+            }
+        }
+    }
+
+    /**
+     * Al cerrar sin esperar: los lotes cuyo reintento canceló el cierre del
+     * temporizador se entregan a alFallar.
+     */
+    private void descartarReintentos() {
+        for (Reintento reintento : reintentosProgramados) {
+            if (reintentosProgramados.remove(reintento)) {
+                lotesFallidos.increment();
+                try {
+                    alFallar.accept(reintento.cambios);
+                } finally {
+                    terminar(true);
+                }
+            }
+        }
+    }
+
+    private void intentar(long idLote, List<CambioRegistro> cambios, int intento) {
+        int indice = Math.floorMod(turno.getAndIncrement(), conexiones.length);
+        CompletableFuture<Void> respuesta;
+        try {
+            respuesta = conexion(indice).enviar(idLote, cambios);
+        } catch (Exception e) {
+            respuesta = new CompletableFuture<>();
+            respuesta.completeExceptionally(e);
+        }
+
+        respuesta.whenComplete((ok, error) -> {
+            if (error == null) {
+                cambiosEnviados.add(cambios.size());
+                lotesEnviados.increment();
+                terminar(true);
+            } else if (intento < maxReintentos && reintentar(idLote, cambios, intento)) {
+                reintentos.increment();
+                Bitacora.advertencia(() -> "⚠️ Lote " + idLote + " rechazado (" + error.getMessage() +
+                                           "), reintento " + (intento + 1));
+            } else {
+                lotesFallidos.increment();
+                Bitacora.error(() -> "❌ Lote " + idLote + " descartado tras " + (intento + 1) +
+                                     " intentos: " + error.getMessage());
+                try {
+                    alFallar.accept(cambios);
+                } finally {
+                    terminar(true);
+                }
+            }
+        });
+    }
+
+    /**
+     * Programa el reintento en el temporizador. Queda registrado hasta que
+     * corre, para que close() pueda entregar el lote si lo cancela.
+     * @return false si el temporizador ya se detuvo
+     */
+    private boolean reintentar(long idLote, List<CambioRegistro> cambios, int intento) {
+        Reintento reintento = new Reintento(idLote, cambios, intento + 1);
+        reintentosProgramados.add(reintento);
+        try {
+            temporizador.schedule(reintento, espera(intento), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return !reintentosProgramados.remove(reintento); // Si ya no estaba, close() lo entregó
+        }
+    }
+
+    /**
+     * Conexión del turno; la abre de nuevo si no existe o se cerró.
+     */
+    private TransporteRegistro.Conexion conexion(int indice) throws Exception {
+        synchronized (candadosConexion[indice]) {
+            TransporteRegistro.Conexion conexion = conexiones[indice];
+            if (conexion == null || !conexion.estaAbierta()) {
+                if (conexion != null) {
+                    conexion.close();
+                }
+                conexion = transporte.conectar();
+                conexiones[indice] = conexion;
+            }
+            return conexion;
+        }
+    }
+
+    /**
+     * Espera exponencial con variación aleatoria, para no reintentar en bloque.
+     */
+    private long espera(int intento) {
+        long tope = Math.min(esperaMaximaMs, esperaBaseMs << Math.min(intento, 20));
+        return tope / 2 + ThreadLocalRandom.current().nextLong(tope / 2 + 1);
+    }
+
+    /**
+     * @param conTurno true si el lote ocupaba un turno del semáforo
+     */
+    private void terminar(boolean conTurno) {
+        if (conTurno) {
+            enVuelo.release();
+        }
+        synchronized (monitorEnCurso) {
+            if (--lotesEnCurso == 0) {
+                monitorEnCurso.notifyAll();
+            }
+        }
+    }
+
+    // ========== CLASES INTERNAS ==========
+
+    /**
+     * Reintento programado de un lote que ocupa un turno.
+     */
+    private final class Reintento implements Runnable {
+        final long idLote;
+        final List<CambioRegistro> cambios;
+        final int intento;
+
+        Reintento(long idLote, List<CambioRegistro> cambios, int intento) {
+            this.idLote = idLote;
+            this.cambios = cambios;
+            this.intento = intento;
+        }
+
+        @Override
+        public void run() {
+            if (reintentosProgramados.remove(this)) {
+                intentar(idLote, cambios, intento);
+            }
+        }
+    }
+
+    /**
+     * Builder de la configuración del adaptador.
+     */
+    public static class Builder {
+        private final TransporteRegistro transporte;
+        private int tamanioLote = 500;
+        private long intervaloMs = 200;
+        private int conexiones = 4;
+        private int enVueloPorConexion = 8;
+        private int maxReintentos = 5;
+        private long esperaBaseMs = 100;
+        private long esperaMaximaMs = 10_000;
+        private Consumer<List<CambioRegistro>> alFallar = cambios -> { };
+
+        private Builder(TransporteRegistro transporte) {
+            if (transporte == null) {
+                throw new IllegalArgumentException("El transporte es obligatorio");
+            }
+            this.transporte = transporte;
+        }
+
+        /**
+         * Cambios máximos por lote.
+         */
+        public Builder setTamanioLote(int tamanioLote) {
+            this.tamanioLote = tamanioLote;
+            return this;
+        }
+
+        /**
+         * Espera máxima de un cambio antes de enviar un lote incompleto.
+         */
+        public Builder setIntervaloMs(long intervaloMs) {
+            this.intervaloMs = intervaloMs;
+            return this;
+        }
+
+        public Builder setConexiones(int conexiones) {
+            this.conexiones = conexiones;
+            return this;
+        }
+
+        /**
+         * Solicitudes simultáneas por conexión.
+         */
+        public Builder setEnVueloPorConexion(int enVueloPorConexion) {
+            this.enVueloPorConexion = enVueloPorConexion;
+            return this;
+        }
+
+        public Builder setMaxReintentos(int maxReintentos) {
+            this.maxReintentos = maxReintentos;
+            return this;
+        }
+
+        /**
+         * Espera antes del primer reintento; se duplica en cada uno hasta el máximo.
+         */
+        public Builder setEspera(long esperaBaseMs, long esperaMaximaMs) {
+            this.esperaBaseMs = esperaBaseMs;
+            this.esperaMaximaMs = esperaMaximaMs;
+            return this;
+        }
+
+        /**
+         * Recibe los lotes que agotaron sus reintentos.
+         */
+        public Builder setAlFallar(Consumer<List<CambioRegistro>> alFallar) {
+            this.alFallar = alFallar;
+            return this;
+        }
+
+        public SistemaExternoAdapter build() {
+            if (tamanioLote <= 0 || intervaloMs <= 0 || conexiones <= 0 || enVueloPorConexion <= 0
+                    || maxReintentos < 0 || esperaBaseMs <= 0 || esperaMaximaMs < esperaBaseMs) {
+                throw new IllegalArgumentException("Configuración de adaptador inválida");
+            }
+            return new SistemaExternoAdapter(this);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.ues.estructural.adapter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registro académico falso, dentro del proceso, para pruebas y demos.
+ * Responde de forma asíncrona con una latencia configurable, descarta
+ * lotes repetidos por id como lo haría el registro real y permite simular
+ * fallos y conexiones cortadas.
+ */
+public class TransporteEnMemoria implements TransporteRegistro {
+    private static final ScheduledExecutorService RESPUESTAS = Executors.newScheduledThreadPool(2, tarea -> {
+        Thread hilo = new Thread(tarea, "registro-en-memoria");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    private final long latenciaMs;
+    private final List<CambioRegistro> recibidos = new CopyOnWriteArrayList<>();
+    private final Set<Long> lotesRecibidos = ConcurrentHashMap.newKeySet();
+    private final List<ConexionEnMemoria> conexiones = new CopyOnWriteArrayList<>();
+    private final AtomicInteger fallosPendientes = new AtomicInteger();
+    private final AtomicInteger enVuelo = new AtomicInteger();
+    private final AtomicInteger maxEnVuelo = new AtomicInteger();
+    private final AtomicInteger solicitudes = new AtomicInteger();
+
+    public TransporteEnMemoria() {
+        this(0);
+    }
+
+    /**
+     * @param latenciaMs Demora de cada respuesta
+     */
+    public TransporteEnMemoria(long latenciaMs) {
+        this.latenciaMs = latenciaMs;
+    }
+
+    @Override
+    public Conexion conectar() {
+        ConexionEnMemoria conexion = new ConexionEnMemoria();
+        conexiones.add(conexion);
+        return conexion;
+    }
+
+    // ========== SIMULACIÓN DE FALLOS ==========
+
+    /**
+     * Las próximas solicitudes fallan con IOException.
+     */
+    public void fallarProximas(int cantidad) {
+        fallosPendientes.addAndGet(cantidad);
+    }
+
+    /**
+     * Cierra todas las conexiones abiertas, como una caída de red.
+     */
+    public void cortarConexiones() {
+        for (ConexionEnMemoria conexion : conexiones) {
+            conexion.close();
+        }
+    }
+
+    // ========== CONSULTAS ==========
+
+    public List<CambioRegistro> getCambiosRecibidos() {
+        return new ArrayList<>(recibidos);
+    }
+
+    public int getLotesRecibidos() {
+        return lotesRecibidos.size();
+    }
+
+    public int getSolicitudes() {
+        return solicitudes.get();
+    }
+
+    public int getConexionesCreadas() {
+        return conexiones.size();
+    }
+
+    /**
+     * Máximo de solicitudes simultáneas observado (muestra el pipelining).
+     */
+    public int getMaxEnVuelo() {
+        return maxEnVuelo.get();
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+    private static CompletableFuture<Void> fallida(Throwable error) {
+        CompletableFuture<Void> futuro = new CompletableFuture<>();
+        futuro.completeExceptionally(error);
+        return futuro;
+    }
+
+    // ========== CLASES INTERNAS ==========
+
+    private final class ConexionEnMemoria implements Conexion {
+        private volatile boolean abierta = true;
+
+        @Override
+        public CompletableFuture<Void> enviar(long idLote, List<CambioRegistro> cambios) {
+            solicitudes.incrementAndGet();
+            if (!abierta) {
+                return fallida(new IOException("Conexión cerrada"));
+            }
+            int actuales = enVuelo.incrementAndGet();
+            maxEnVuelo.accumulateAndGet(actuales, Math::max);
+            boolean fallar = fallosPendientes.getAndUpdate(n -> n > 0 ? n - 1 : 0) > 0;
+
+            CompletableFuture<Void> respuesta = new CompletableFuture<>();
+            RESPUESTAS.schedule(() -> {
+                enVuelo.decrementAndGet();
+                if (fallar) {
+                    respuesta.completeExceptionally(new IOException("Fallo simulado del registro"));
+                    return;
+                }
+                // Idempotente: un reintento de un lote ya aplicado no se repite
+                if (lotesRecibidos.add(idLote)) {
+                    recibidos.addAll(cambios);
+                }
+                respuesta.complete(null);
+            }, latenciaMs, TimeUnit.MILLISECONDS);
+            return respuesta;
+        }
+
+        @Override
+        public boolean estaAbierta() {
+            return abierta;
+        }
+
+        @Override
+        public void close() {
+            abierta = false;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.ues.estructural.adapter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transporte hacia el sistema de registro académico (HTTP, cola de
+ * mensajes, o un falso en memoria para pruebas).
+ */
+public interface TransporteRegistro {
+    /**
+     * Abre una conexión nueva; el adaptador las reutiliza desde su pool.
+     */
+    Conexion conectar() throws IOException;
+
+    /**
+     * Conexión que admite varias solicitudes en vuelo a la vez.
+     */
+    interface Conexion extends AutoCloseable {
+        /**
+         * Envía un lote sin esperar la respuesta. El id de lote se repite en
+         * los reintentos, así que el registro puede descartar duplicados.
+         * @return Futuro que se completa con la confirmación o con el error
+         */
+        CompletableFuture<Void> enviar(long idLote, List<CambioRegistro> cambios);
+
+        boolean estaAbierta();
+
+        @Override
+        void close();
+    }
+}
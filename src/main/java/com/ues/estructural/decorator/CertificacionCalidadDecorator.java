@@ -1,5 +1,6 @@
 package com.ues.estructural.decorator;
 
+import com.ues.log.Bitacora;
 import com.ues.model.Proyecto;
 
 /**
@@ -16,10 +17,10 @@ public class CertificacionCalidadDecorator extends ProyectoDecorator {
     public void otorgarCertificado() {
         if (proyectoDecorado.isActivo()) {
             this.certificado = true;
-            System.out.println("🏅 Certificado otorgado a: " + 
-                              proyectoDecorado.getNombre());
+            Bitacora.info(() -> "🏅 Certificado otorgado a: " + 
+                                 proyectoDecorado.getNombre());
         } else {
-            System.out.println("❌ No se puede certificar un proyecto cerrado");
+            Bitacora.advertencia("❌ No se puede certificar un proyecto cerrado");
         }
     }
     
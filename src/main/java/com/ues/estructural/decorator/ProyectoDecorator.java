@@ -1,12 +1,14 @@
 package com.ues.estructural.decorator;
 
+import com.ues.model.ConEstadisticasEvaluaciones;
+import com.ues.model.EstadisticasEvaluaciones;
 import com.ues.model.Proyecto;
 
 /**
  * DECORADOR BASE
  * Propósito: Añadir funcionalidad sin modificar la clase base.
  */
-public abstract class ProyectoDecorator extends Proyecto {
+public abstract class ProyectoDecorator extends Proyecto implements ConEstadisticasEvaluaciones {
     protected Proyecto proyectoDecorado;
     
     public ProyectoDecorator(Proyecto proyectoDecorado) {
@@ -26,4 +28,17 @@ public abstract class ProyectoDecorator extends Proyecto {
     public boolean isActivo() {
         return proyectoDecorado.isActivo();
     }
+    
+    @Override
+    public EstadisticasEvaluaciones getEstadisticas() {
+        return EstadisticasEvaluaciones.de(proyectoDecorado);
+    }
+    
+    @Override
+    public boolean quitarEvaluacion(com.ues.model.Evaluacion evaluacion) {
+        if (proyectoDecorado instanceof ConEstadisticasEvaluaciones) {
+            return ((ConEstadisticasEvaluaciones) proyectoDecorado).quitarEvaluacion(evaluacion);
+        }
+        return proyectoDecorado.getEvaluaciones().remove(evaluacion);
+    }
 }
\ No newline at end of file
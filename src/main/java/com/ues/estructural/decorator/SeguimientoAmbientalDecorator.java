@@ -1,5 +1,6 @@
 package com.ues.estructural.decorator;
 
+import com.ues.log.Bitacora;
 import com.ues.model.Proyecto;
 import java.util.Date;
 
@@ -16,13 +17,13 @@ public class SeguimientoAmbientalDecorator extends ProyectoDecorator {
     
     public void generarReporteAmbiental() {
         this.reporteAmbiental = "Reporte generado el " + new Date();
-        System.out.println("🌿 Reporte ambiental generado para: " + 
-                          proyectoDecorado.getNombre());
+        Bitacora.info(() -> "🌿 Reporte ambiental generado para: " + 
+                             proyectoDecorado.getNombre());
     }
     
     @Override
     public void agregarEvaluacion(com.ues.model.Evaluacion evaluacion) {
-        System.out.println("📝 Agregando evaluación con auditoría ambiental...");
+        Bitacora.debug("📝 Agregando evaluación con auditoría ambiental...");
         super.agregarEvaluacion(evaluacion);
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.ues.estructural.proxy;
 
+import com.ues.log.Bitacora;
 import com.ues.model.Proyecto;
 
 /**
@@ -9,8 +10,8 @@ public class AccesoProyectoReal implements AccesoProyecto {
     
     @Override
     public void accederProyecto(String usuario, Proyecto proyecto) {
-        System.out.println("🔓 " + usuario + " accedió al proyecto: " + 
-                          proyecto.getNombre());
+        Bitacora.info(() -> "🔓 " + usuario + " accedió al proyecto: " + 
+                             proyecto.getNombre());
     }
     
     @Override
@@ -0,0 +1,259 @@
+package com.ues.estructural.proxy;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MOTOR DE DECISIÓN DE ACCESO
+ *
+ * La política (proyectos confidenciales, administradores y permisos por
+ * proyecto) se guarda en conjuntos hash inmutables que se reemplazan
+ * completos al cambiar, cada vez con una versión nueva. Las decisiones se
+ * guardan en una caché usuario -> proyecto -> decisión con TTL; una entrada
+ * de una versión anterior de la política se considera vencida, así que
+ * cualquier cambio invalida la caché en O(1).
+ *
+ * El límite de decisiones se comprueba contra el tamaño real de los mapas.
+ * Un contador aproximado solo indica cuándo vale la pena sumarlos, así que
+ * las carreras entre guardar e invalidar no provocan vaciados de más.
+ *
+ * Regla: un proyecto no confidencial es público; uno confidencial solo lo
+ * ven los administradores y los usuarios con permiso explícito.
+ */
+public class MotorDecisionAcceso {
+    private static final long TTL_POR_DEFECTO_MS = 60_000;
+    private static final int MAX_ENTRADAS_POR_DEFECTO = 100_000;
+
+    private final long ttlNanos;
+    private final int maxEntradas;
+
+    private volatile Politica politica = new Politica(0, Collections.emptySet(),
+                                                      Collections.emptySet(), Collections.emptyMap());
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Decision>> cache = new ConcurrentHashMap<>();
+    private final AtomicInteger entradas = new AtomicInteger(); // Aproximado: solo decide cuándo contar
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    /**
+     * Constructor con configuración por defecto: TTL de 60 s y 100.000 decisiones.
+     */
+    public MotorDecisionAcceso() {
+        this(TTL_POR_DEFECTO_MS, MAX_ENTRADAS_POR_DEFECTO);
+    }
+
+    /**
+     * @param ttlMs Vigencia de una decisión en caché
+     * @param maxEntradas Decisiones en caché antes de vaciarla
+     */
+    public MotorDecisionAcceso(long ttlMs, int maxEntradas) {
+        if (ttlMs <= 0 || maxEntradas <= 0) {
+            throw new IllegalArgumentException("Configuración de caché inválida");
+        }
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.maxEntradas = maxEntradas;
+    }
+
+    // ========== DECISIÓN ==========
+
+    /**
+     * Decide si el usuario puede acceder al proyecto. Un acierto de caché
+     * son dos búsquedas hash y dos comparaciones, sin crear objetos.
+     */
+    public boolean puedeAcceder(String usuario, String idProyecto) {
+        Politica actual = politica;
+        if (usuario == null || idProyecto == null) {
+            return actual.evaluar(usuario, idProyecto); // Sin caché: los mapas no admiten null
+        }
+        long ahora = System.nanoTime();
+
+        ConcurrentHashMap<String, Decision> delUsuario = cache.get(usuario);
+        if (delUsuario != null) {
+            Decision decision = delUsuario.get(idProyecto);
+            if (decision != null && decision.version == actual.version && ahora < decision.expira) {
+                aciertos.increment();
+                return decision.permitido;
+            }
+        }
+
+        fallos.increment();
+        boolean permitido = actual.evaluar(usuario, idProyecto);
+        guardar(usuario, idProyecto, new Decision(permitido, actual.version, ahora + ttlNanos));
+        return permitido;
+    }
+
+    // ========== POLÍTICA ==========
+
+    public synchronized void marcarConfidencial(String idProyecto) {
+        Set<String> confidenciales = new HashSet<>(politica.confidenciales);
+        if (confidenciales.add(idProyecto)) {
+            publicar(confidenciales, politica.administradores, politica.permisos);
+        }
+    }
+
+    public synchronized void desmarcarConfidencial(String idProyecto) {
+        Set<String> confidenciales = new HashSet<>(politica.confidenciales);
+        if (confidenciales.remove(idProyecto)) {
+            publicar(confidenciales, politica.administradores, politica.permisos);
+        }
+    }
+
+    public synchronized void agregarAdministrador(String usuario) {
+        Set<String> administradores = new HashSet<>(politica.administradores);
+        if (administradores.add(usuario)) {
+            publicar(politica.confidenciales, administradores, politica.permisos);
+        }
+    }
+
+    public synchronized void eliminarAdministrador(String usuario) {
+        Set<String> administradores = new HashSet<>(politica.administradores);
+        if (administradores.remove(usuario)) {
+            publicar(politica.confidenciales, administradores, politica.permisos);
+        }
+    }
+
+    /**
+     * Permite a un usuario ver un proyecto confidencial.
+     */
+    public synchronized void otorgarPermiso(String usuario, String idProyecto) {
+        Map<String, Set<String>> permisos = new HashMap<>(politica.permisos);
+        Set<String> usuarios = new HashSet<>(permisos.getOrDefault(idProyecto, Collections.emptySet()));
+        if (usuarios.add(usuario)) {
+            permisos.put(idProyecto, Collections.unmodifiableSet(usuarios));
+            publicar(politica.confidenciales, politica.administradores, permisos);
+        }
+    }
+
+    public synchronized void revocarPermiso(String usuario, String idProyecto) {
+        Set<String> actuales = politica.permisos.get(idProyecto);
+        if (actuales == null || !actuales.contains(usuario)) {
+            return;
+        }
+        Map<String, Set<String>> permisos = new HashMap<>(politica.permisos);
+        Set<String> usuarios = new HashSet<>(actuales);
+        usuarios.remove(usuario);
+        if (usuarios.isEmpty()) {
+            permisos.remove(idProyecto);
+        } else {
+            permisos.put(idProyecto, Collections.unmodifiableSet(usuarios));
+        }
+        publicar(politica.confidenciales, politica.administradores, permisos);
+    }
+
+    public boolean esConfidencial(String idProyecto) {
+        return politica.confidenciales.contains(idProyecto);
+    }
+
+    // ========== CACHÉ ==========
+
+    /**
+     * Descarta las decisiones en caché de un usuario.
+     */
+    public void invalidar(String usuario) {
+        ConcurrentHashMap<String, Decision> eliminadas = cache.remove(usuario);
+        if (eliminadas != null) {
+            entradas.addAndGet(-eliminadas.size());
+        }
+    }
+
+    /**
+     * Descarta todas las decisiones en caché.
+     */
+    public void invalidarTodo() {
+        cache.clear();
+        entradas.set(0);
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public long getVersionPolitica() {
+        return politica.version;
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private void publicar(Set<String> confidenciales, Set<String> administradores,
+                          Map<String, Set<String>> permisos) {
+        // Cambiar la versión vence todas las decisiones guardadas
+        politica = new Politica(politica.version + 1,
+                                Collections.unmodifiableSet(new HashSet<>(confidenciales)),
+                                Collections.unmodifiableSet(new HashSet<>(administradores)),
+                                Collections.unmodifiableMap(new HashMap<>(permisos)));
+    }
+
+    private void guardar(String usuario, String idProyecto, Decision decision) {
+        if (entradas.get() >= maxEntradas && contarEntradas() >= maxEntradas) {
+            // Acotar memoria: vaciar es más barato que llevar un orden LRU
+            invalidarTodo();
+        }
+        ConcurrentHashMap<String, Decision> delUsuario =
+            cache.computeIfAbsent(usuario, u -> new ConcurrentHashMap<>());
+        if (delUsuario.put(idProyecto, decision) == null) {
+            entradas.incrementAndGet();
+        }
+    }
+
+    /**
+     * Suma los mapas de todos los usuarios y corrige el contador aproximado.
+     */
+    private int contarEntradas() {
+        int total = 0;
+        for (ConcurrentHashMap<String, Decision> delUsuario : cache.values()) {
+            total += delUsuario.size();
+        }
+        entradas.set(total);
+        return total;
+    }
+
+    // ========== CLASES INTERNAS ==========
+
+    /**
+     * Instantánea inmutable de la política de acceso.
+     */
+    private static final class Politica {
+        final long version;
+        final Set<String> confidenciales;
+        final Set<String> administradores;
+        final Map<String, Set<String>> permisos;
+
+        Politica(long version, Set<String> confidenciales, Set<String> administradores,
+                 Map<String, Set<String>> permisos) {
+            this.version = version;
+            this.confidenciales = confidenciales;
+            this.administradores = administradores;
+            this.permisos = permisos;
+        }
+
+        boolean evaluar(String usuario, String idProyecto) {
+            if (!confidenciales.contains(idProyecto) || administradores.contains(usuario)) {
+                return true;
+            }
+            Set<String> usuarios = permisos.get(idProyecto);
+            return usuarios != null && usuarios.contains(usuario);
+        }
+    }
+
+    private static final class Decision {
+        final boolean permitido;
+        final long version;
+        final long expira;
+
+        Decision(boolean permitido, long version, long expira) {
+            this.permitido = permitido;
+            this.version = version;
+            this.expira = expira;
+        }
+    }
+}
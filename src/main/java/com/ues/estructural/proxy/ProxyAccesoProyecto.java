@@ -1,38 +1,46 @@
 package com.ues.estructural.proxy;
 
+import com.ues.log.Bitacora;
 import com.ues.model.Proyecto;
-import java.util.Arrays;
-import java.util.List;
 
 /**
  * PROXY DE CONTROL DE ACCESO
  */
 public class ProxyAccesoProyecto implements AccesoProyecto {
     private AccesoProyectoReal accesoReal;
-    private List<String> proyectosConfidenciales;
+    private final MotorDecisionAcceso motorDecision;
     
     public ProxyAccesoProyecto() {
         this.accesoReal = new AccesoProyectoReal();
-        this.proyectosConfidenciales = Arrays.asList("ICCIS-001", "ICCIS-002");
+        this.motorDecision = new MotorDecisionAcceso();
+        motorDecision.marcarConfidencial("ICCIS-001");
+        motorDecision.marcarConfidencial("ICCIS-002");
+        motorDecision.agregarAdministrador("ADMIN");
     }
     
     @Override
     public void accederProyecto(String usuario, Proyecto proyecto) {
-        // Control de acceso
-        if (proyectosConfidenciales.contains(proyecto.getId()) && 
-            !usuario.equals("ADMIN")) {
-            System.out.println("🚫 Acceso denegado: Proyecto confidencial");
+        // Control de acceso (decisión en caché)
+        if (!motorDecision.puedeAcceder(usuario, proyecto.getId())) {
+            Bitacora.advertencia("🚫 Acceso denegado: Proyecto confidencial");
             return;
         }
         
-        // Auditoría
-        System.out.println("📝 Auditoría: " + usuario + 
-                          " intentó acceder a " + proyecto.getNombre());
+        // Auditoría (nivel debug: se ejecuta en cada acceso, también en aciertos de caché)
+        Bitacora.debug(() -> "📝 Auditoría: " + usuario + 
+                             " intentó acceder a " + proyecto.getNombre());
         
         // Delegar al objeto real
         accesoReal.accederProyecto(usuario, proyecto);
     }
     
+    /**
+     * Motor de decisión, para administrar confidencialidad y permisos.
+     */
+    public MotorDecisionAcceso getMotorDecision() {
+        return motorDecision;
+    }
+    
     @Override
     public String verInformacionBasica(Proyecto proyecto) {
         return accesoReal.verInformacionBasica(proyecto);
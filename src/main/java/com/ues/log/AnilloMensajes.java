@@ -0,0 +1,104 @@
+package com.ues.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Buffer circular acotado, sin candados, de muchos productores y un solo
+ * consumidor. Cada ranura guarda un número de secuencia: vale "posición"
+ * cuando está libre para esa vuelta y "posición + 1" cuando ya tiene un
+ * mensaje publicado. Los productores reservan posición con un CAS sobre la
+ * cola; si el buffer está lleno, ofrecer() devuelve false sin esperar.
+ */
+final class AnilloMensajes {
+    private final int mascara;
+    private final AtomicLongArray secuencias;
+    private final NivelLog[] niveles;
+    private final String[] mensajes;
+    private final AtomicLong cola = new AtomicLong(); // Próxima posición a reservar
+    private long cabeza;                              // Próxima posición a leer (solo el consumidor)
+
+    /**
+     * @param capacidad Potencia de 2
+     */
+    AnilloMensajes(int capacidad) {
+        if (capacidad <= 0 || Integer.bitCount(capacidad) != 1) {
+            throw new IllegalArgumentException("La capacidad debe ser potencia de 2: " + capacidad);
+        }
+        this.mascara = capacidad - 1;
+        this.secuencias = new AtomicLongArray(capacidad);
+        this.niveles = new NivelLog[capacidad];
+        this.mensajes = new String[capacidad];
+        for (int i = 0; i < capacidad; i++) {
+            secuencias.set(i, i);
+        }
+    }
+
+    /**
+     * Publica un mensaje. Nunca bloquea.
+     * @return false si el buffer está lleno
+     */
+    boolean ofrecer(NivelLog nivel, String mensaje) {
+        long posicion;
+        while (true) {
+            posicion = cola.get();
+            long diferencia = secuencias.get(indice(posicion)) - posicion;
+            if (diferencia == 0) {
+                if (cola.compareAndSet(posicion, posicion + 1)) {
+                    break;
+                }
+            } else if (diferencia < 0) {
+                return false; // La ranura aún no fue leída en la vuelta anterior
+            }
+            // diferencia > 0: otro productor ya tomó la posición; reintentar
+        }
+        int i = indice(posicion);
+        niveles[i] = nivel;
+        mensajes[i] = mensaje;
+        secuencias.set(i, posicion + 1); // Escritura volátil: publica la ranura
+        return true;
+    }
+
+    /**
+     * Entrega al destino hasta 'maximo' mensajes publicados. Solo la llama el
+     * consumidor. Un mensaje que el destino no pudo escribir se cuenta igual.
+     * @return Cantidad de mensajes entregados
+     */
+    int drenar(DestinoLog destino, int maximo) {
+        int entregados = 0;
+        while (entregados < maximo) {
+            int i = indice(cabeza);
+            if (secuencias.get(i) != cabeza + 1) {
+                break;
+            }
+            NivelLog nivel = niveles[i];
+            String mensaje = mensajes[i];
+            niveles[i] = null;
+            mensajes[i] = null;
+            secuencias.set(i, cabeza + mascara + 1); // Libre para la siguiente vuelta
+            cabeza++;
+            entregados++;
+            escribirSeguro(destino, nivel, mensaje);
+        }
+        return entregados;
+    }
+
+    static void escribirSeguro(DestinoLog destino, NivelLog nivel, String mensaje) {
+        try {
+            destino.escribir(nivel, mensaje);
+        } catch (RuntimeException e) {
+            // Un destino defectuoso no debe detener la bitácora
+        }
+    }
+
+    /**
+     * Posiciones reservadas hasta ahora (publicadas o en curso).
+     */
+    long getReservados() {
+        return cola.get();
+    }
+
+    private int indice(long posicion) {
+        return (int) (posicion & mascara);
+    }
+}
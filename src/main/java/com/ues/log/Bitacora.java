@@ -0,0 +1,165 @@
+package com.ues.log;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * BITÁCORA ASÍNCRONA
+ *
+ * Reemplaza los System.out.println del código de negocio. Registrar un
+ * mensaje solo lo publica en un buffer circular sin candados; un hilo de
+ * fondo lo entrega al destino (la consola por defecto) en lotes, así que
+ * el llamador nunca espera por la E/S de consola. Si el buffer se llena el
+ * mensaje se descarta y se cuenta, en lugar de bloquear.
+ *
+ * El nivel se filtra antes de construir el mensaje: las variantes con
+ * Supplier solo arman el texto si el nivel está activo.
+ */
+public final class Bitacora {
+    private static final int CAPACIDAD = 1 << 16;
+    private static final int LOTE = 256;
+    private static final long ESPERA_MAXIMA_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final AnilloMensajes ANILLO = new AnilloMensajes(CAPACIDAD);
+    private static final DestinoConsola CONSOLA = new DestinoConsola();
+    private static final LongAdder DESCARTADOS = new LongAdder();
+    private static final Thread ESCRITOR;
+
+    private static volatile NivelLog nivel = NivelLog.DEBUG; // Por defecto se muestra todo
+    private static volatile DestinoLog destino = CONSOLA;
+    private static volatile boolean escritorEsperando;
+    private static volatile long entregados;
+
+    static {
+        ESCRITOR = new Thread(Bitacora::escribirEnSegundoPlano, "bitacora-escritor");
+        ESCRITOR.setDaemon(true);
+        ESCRITOR.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Bitacora::vaciar, "bitacora-cierre"));
+    }
+
+    private Bitacora() {
+    }
+
+    // ========== REGISTRO ==========
+
+    public static void error(String mensaje) { registrar(NivelLog.ERROR, mensaje); }
+    public static void advertencia(String mensaje) { registrar(NivelLog.ADVERTENCIA, mensaje); }
+    public static void info(String mensaje) { registrar(NivelLog.INFO, mensaje); }
+    public static void debug(String mensaje) { registrar(NivelLog.DEBUG, mensaje); }
+
+    public static void error(Supplier<String> mensaje) { registrar(NivelLog.ERROR, mensaje); }
+    public static void advertencia(Supplier<String> mensaje) { registrar(NivelLog.ADVERTENCIA, mensaje); }
+    public static void info(Supplier<String> mensaje) { registrar(NivelLog.INFO, mensaje); }
+    public static void debug(Supplier<String> mensaje) { registrar(NivelLog.DEBUG, mensaje); }
+
+    public static void registrar(NivelLog nivelMensaje, String mensaje) {
+        if (estaActivo(nivelMensaje)) {
+            publicar(nivelMensaje, mensaje);
+        }
+    }
+
+    /**
+     * Construye el mensaje solo si el nivel está activo.
+     */
+    public static void registrar(NivelLog nivelMensaje, Supplier<String> mensaje) {
+        if (estaActivo(nivelMensaje)) {
+            publicar(nivelMensaje, mensaje.get());
+        }
+    }
+
+    public static boolean estaActivo(NivelLog nivelMensaje) {
+        return nivelMensaje.getValor() <= nivel.getValor();
+    }
+
+    // ========== CONFIGURACIÓN ==========
+
+    public static void setNivel(NivelLog nuevoNivel) {
+        nivel = nuevoNivel;
+    }
+
+    public static NivelLog getNivel() {
+        return nivel;
+    }
+
+    /**
+     * Cambia el destino de los mensajes (null vuelve a la consola).
+     */
+    public static void setDestino(DestinoLog nuevoDestino) {
+        vaciar();
+        destino = nuevoDestino != null ? nuevoDestino : CONSOLA;
+    }
+
+    /**
+     * Activa o desactiva los colores ANSI en la consola.
+     */
+    public static void setAnsi(boolean ansi) {
+        CONSOLA.setAnsi(ansi);
+    }
+
+    /**
+     * Mensajes descartados por buffer lleno desde el inicio.
+     */
+    public static long getDescartados() {
+        return DESCARTADOS.sum();
+    }
+
+    /**
+     * Espera a que el hilo escritor entregue todo lo publicado hasta ahora.
+     */
+    public static void vaciar() {
+        long objetivo = ANILLO.getReservados();
+        while (entregados < objetivo && ESCRITOR.isAlive()) {
+            LockSupport.unpark(ESCRITOR);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+    }
+
+    // ========== HILO ESCRITOR ==========
+
+    private static void publicar(NivelLog nivelMensaje, String mensaje) {
+        if (!ANILLO.ofrecer(nivelMensaje, mensaje)) {
+            DESCARTADOS.increment();
+            return;
+        }
+        if (escritorEsperando) {
+            LockSupport.unpark(ESCRITOR);
+        }
+    }
+
+    private static void escribirEnSegundoPlano() {
+        long descartadosInformados = 0;
+        while (true) {
+            DestinoLog actual = destino;
+            int cantidad = ANILLO.drenar(actual, LOTE);
+            if (cantidad > 0) {
+                vaciarDestino(actual);
+                entregados += cantidad;
+                continue;
+            }
+
+            long descartados = DESCARTADOS.sum();
+            if (descartados > descartadosInformados) {
+                AnilloMensajes.escribirSeguro(actual, NivelLog.ADVERTENCIA, "⚠️ Bitácora: " +
+                                              (descartados - descartadosInformados) + " mensajes descartados");
+                vaciarDestino(actual);
+                descartadosInformados = descartados;
+            }
+
+            escritorEsperando = true;
+            if (entregados == ANILLO.getReservados()) {
+                LockSupport.parkNanos(ESPERA_MAXIMA_NANOS);
+            }
+            escritorEsperando = false;
+        }
+    }
+
+    private static void vaciarDestino(DestinoLog actual) {
+        try {
+            actual.vaciar();
+        } catch (RuntimeException e) {
+            // Un destino defectuoso no debe detener la bitácora
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.ues.log;
+
+import java.io.PrintStream;
+
+/**
+ * Escribe en consola: los errores a System.err y el resto a System.out.
+ * Con ANSI desactivado elimina las secuencias de color de los mensajes.
+ */
+public class DestinoConsola implements DestinoLog {
+    private final PrintStream salida;
+    private final PrintStream errores;
+    private volatile boolean ansi = true;
+
+    public DestinoConsola() {
+        this(System.out, System.err);
+    }
+
+    public DestinoConsola(PrintStream salida, PrintStream errores) {
+        this.salida = salida;
+        this.errores = errores;
+    }
+
+    public void setAnsi(boolean ansi) {
+        this.ansi = ansi;
+    }
+
+    public boolean isAnsi() {
+        return ansi;
+    }
+
+    @Override
+    public void escribir(NivelLog nivel, String mensaje) {
+        PrintStream destino = nivel == NivelLog.ERROR ? errores : salida;
+        destino.println(ansi ? mensaje : sinAnsi(mensaje));
+    }
+
+    @Override
+    public void vaciar() {
+        salida.flush();
+        errores.flush();
+    }
+
+    /**
+     * Quita las secuencias ESC [ ... letra (colores ANSI).
+     */
+    static String sinAnsi(String mensaje) {
+        int escape = mensaje.indexOf('\u001B');
+        if (escape < 0) {
+            return mensaje;
+        }
+        StringBuilder limpio = new StringBuilder(mensaje.length());
+        int i = 0;
+        while (escape >= 0) {
+            limpio.append(mensaje, i, escape);
+            i = escape + 1;
+            if (i < mensaje.length() && mensaje.charAt(i) == '[') {
+                i++;
+                while (i < mensaje.length() && !Character.isLetter(mensaje.charAt(i))) {
+                    i++;
+                }
+                i++; // Letra final de la secuencia
+            }
+            escape = i < mensaje.length() ? mensaje.indexOf('\u001B', i) : -1;
+        }
+        if (i < mensaje.length()) {
+            limpio.append(mensaje, i, mensaje.length());
+        }
+        return limpio.toString();
+    }
+}
@@ -0,0 +1,16 @@
+package com.ues.log;
+
+/**
+ * Destino final de los mensajes de la bitácora (consola, archivo, memoria).
+ * Solo lo invoca el hilo escritor de la bitácora, así que las
+ * implementaciones no necesitan ser seguras para hilos.
+ */
+public interface DestinoLog {
+    void escribir(NivelLog nivel, String mensaje);
+
+    /**
+     * Se llama al terminar cada lote de mensajes.
+     */
+    default void vaciar() {
+    }
+}
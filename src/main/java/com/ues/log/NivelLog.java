@@ -0,0 +1,34 @@
+package com.ues.log;
+
+/**
+ * Niveles de la bitácora, con la misma numeración que el nivelLog de la
+ * auditoría: 1=Error, 2=Warning, 3=Info, 4=Debug.
+ */
+public enum NivelLog {
+    ERROR(1),
+    ADVERTENCIA(2),
+    INFO(3),
+    DEBUG(4);
+
+    private final int valor;
+
+    NivelLog(int valor) {
+        this.valor = valor;
+    }
+
+    public int getValor() {
+        return valor;
+    }
+
+    /**
+     * Nivel correspondiente a un número de nivel de auditoría (fuera de rango = DEBUG).
+     */
+    public static NivelLog desdeValor(int valor) {
+        switch (valor) {
+            case 1: return ERROR;
+            case 2: return ADVERTENCIA;
+            case 3: return INFO;
+            default: return DEBUG;
+        }
+    }
+}
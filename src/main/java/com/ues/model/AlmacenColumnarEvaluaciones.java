@@ -0,0 +1,470 @@
+package com.ues.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Almacén columnar de evaluaciones.
+ * Cada campo de Evaluacion vive en su propio arreglo primitivo (una fila por
+ * evaluación); los textos y referencias que se repiten (tipo, nombre,
+ * descripción, estudiante, proyecto) se guardan una sola vez en diccionarios
+ * y cada fila solo guarda su código int. Los promedios y conteos son ciclos
+ * sobre double[] sin crear objetos.
+ *
+ * Las vistas Evaluacion se construyen bajo demanda y no copian la fila:
+ * cada getter lee la columna y calificar() escribe en ella. Los demás
+ * campos de una vista son de solo lectura, y una vista no admite
+ * observadores de calificación: cada consulta crea otra vista, así que no
+ * habría dónde conservarlos.
+ *
+ * Las evaluaciones vivas de los proyectos siguen siendo objetos Evaluacion
+ * completos; este almacén sirve para preparar el archivo histórico y para
+ * consultas sobre ese periodo, no reduce el heap de las evaluaciones activas.
+ */
+public class AlmacenColumnarEvaluaciones {
+    /** Valor de notaObtenida para una evaluación aún no calificada */
+    public static final double SIN_CALIFICAR = -1;
+    /** Código de las columnas de diccionario cuando el valor es null */
+    public static final int SIN_VALOR = -1;
+
+    private static final long SIN_FECHA = Long.MIN_VALUE;
+
+    // Columnas
+    private int[] ids;
+    private double[] notasMaximas;
+    private double[] notasObtenidas;
+    private long[] fechas;
+    private int[] tipos;
+    private int[] nombres;
+    private int[] descripciones;
+    private int[] estudiantes;
+    private int[] proyectos;
+    private int tamanio;
+
+    // Diccionarios
+    private final Diccionario<String> diccionarioTipos = new Diccionario<>();
+    private final Diccionario<String> diccionarioTextos = new Diccionario<>();
+    private final Diccionario<Estudiante> diccionarioEstudiantes = new Diccionario<>();
+    private final Diccionario<Proyecto> diccionarioProyectos = new Diccionario<>();
+
+    public AlmacenColumnarEvaluaciones() {
+        this(1024);
+    }
+
+    /**
+     * @param capacidadInicial Filas reservadas antes de crecer
+     */
+    public AlmacenColumnarEvaluaciones(int capacidadInicial) {
+        int capacidad = Math.max(capacidadInicial, 16);
+        ids = new int[capacidad];
+        notasMaximas = new double[capacidad];
+        notasObtenidas = new double[capacidad];
+        fechas = new long[capacidad];
+        tipos = new int[capacidad];
+        nombres = new int[capacidad];
+        descripciones = new int[capacidad];
+        estudiantes = new int[capacidad];
+        proyectos = new int[capacidad];
+    }
+
+    /**
+     * Crea un almacén con las evaluaciones indicadas.
+     */
+    public static AlmacenColumnarEvaluaciones desde(Collection<Evaluacion> evaluaciones) {
+        AlmacenColumnarEvaluaciones almacen = new AlmacenColumnarEvaluaciones(evaluaciones.size());
+        for (Evaluacion evaluacion : evaluaciones) {
+            almacen.agregar(evaluacion);
+        }
+        return almacen;
+    }
+
+    // ========== ESCRITURA ==========
+
+    /**
+     * Copia una evaluación en las columnas.
+     * @return Número de fila asignado
+     */
+    public synchronized int agregar(Evaluacion evaluacion) {
+        int fila = nuevaFila();
+        ids[fila] = evaluacion.getId();
+        notasMaximas[fila] = evaluacion.getNotaMaxima();
+        notasObtenidas[fila] = evaluacion.getNotaObtenida();
+        Date fecha = evaluacion.getFechaEvaluacion();
+        fechas[fila] = fecha != null ? fecha.getTime() : SIN_FECHA;
+        tipos[fila] = diccionarioTipos.codificar(evaluacion.getTipo());
+        nombres[fila] = diccionarioTextos.codificar(evaluacion.getNombre());
+        descripciones[fila] = diccionarioTextos.codificar(evaluacion.getDescripcion());
+        estudiantes[fila] = diccionarioEstudiantes.codificar(evaluacion.getEstudianteEvaluado());
+        proyectos[fila] = diccionarioProyectos.codificar(evaluacion.getProyecto());
+        return fila;
+    }
+
+    /**
+     * Agrega una fila sin crear un objeto Evaluacion.
+     * @return Número de fila asignado
+     */
+    public synchronized int agregar(int id, String tipo, double notaMaxima, double notaObtenida,
+                                    long fechaMillis, Estudiante estudiante, Proyecto proyecto) {
+        int fila = nuevaFila();
+        ids[fila] = id;
+        notasMaximas[fila] = notaMaxima;
+        notasObtenidas[fila] = notaObtenida;
+        fechas[fila] = fechaMillis;
+        tipos[fila] = diccionarioTipos.codificar(tipo);
+        nombres[fila] = SIN_VALOR;
+        descripciones[fila] = SIN_VALOR;
+        estudiantes[fila] = diccionarioEstudiantes.codificar(estudiante);
+        proyectos[fila] = diccionarioProyectos.codificar(proyecto);
+        return fila;
+    }
+
+    /**
+     * Califica una fila con las mismas reglas que Evaluacion.calificar.
+     * @return true si la nota está en rango
+     */
+    public synchronized boolean calificar(int fila, double nota) {
+        verificarFila(fila);
+        if (nota < 0 || nota > notasMaximas[fila]) {
+            return false;
+        }
+        notasObtenidas[fila] = nota;
+        return true;
+    }
+
+    // ========== LECTURA ==========
+
+    public synchronized int tamanio() {
+        return tamanio;
+    }
+
+    /**
+     * Vista Evaluacion de la fila: lee y califica directamente sobre las
+     * columnas, sin copiar los datos.
+     */
+    public Evaluacion ver(int fila) {
+        synchronized (this) {
+            verificarFila(fila);
+        }
+        return new VistaEvaluacion(this, fila);
+    }
+
+    /**
+     * Lista de solo lectura con una vista por fila; las vistas se crean al
+     * acceder a cada posición.
+     */
+    public List<Evaluacion> aLista() {
+        return new AbstractList<Evaluacion>() {
+            @Override
+            public Evaluacion get(int fila) {
+                return ver(fila);
+            }
+
+            @Override
+            public int size() {
+                return tamanio();
+            }
+        };
+    }
+
+    public synchronized int getId(int fila) {
+        verificarFila(fila);
+        return ids[fila];
+    }
+
+    public synchronized double getNotaObtenida(int fila) {
+        verificarFila(fila);
+        return notasObtenidas[fila];
+    }
+
+    public synchronized double getNotaMaxima(int fila) {
+        verificarFila(fila);
+        return notasMaximas[fila];
+    }
+
+    public synchronized long getFechaMillis(int fila) {
+        verificarFila(fila);
+        return fechas[fila];
+    }
+
+    public synchronized String getNombre(int fila) {
+        verificarFila(fila);
+        return diccionarioTextos.valor(nombres[fila]);
+    }
+
+    public synchronized String getDescripcion(int fila) {
+        verificarFila(fila);
+        return diccionarioTextos.valor(descripciones[fila]);
+    }
+
+    public synchronized String getTipo(int fila) {
+        verificarFila(fila);
+        return diccionarioTipos.valor(tipos[fila]);
+    }
+
+    public synchronized Estudiante getEstudiante(int fila) {
+        verificarFila(fila);
+        return diccionarioEstudiantes.valor(estudiantes[fila]);
+    }
+
+    public synchronized Proyecto getProyecto(int fila) {
+        verificarFila(fila);
+        return diccionarioProyectos.valor(proyectos[fila]);
+    }
+
+    /**
+     * Tipos distintos registrados; el índice de cada uno es su código.
+     */
+    public synchronized List<String> getTiposRegistrados() {
+        return new ArrayList<>(diccionarioTipos.valores);
+    }
+
+    // ========== AGREGACIONES ==========
+
+    public synchronized int contarCalificadas() {
+        int calificadas = 0;
+        for (int i = 0; i < tamanio; i++) {
+            if (notasObtenidas[i] >= 0) {
+                calificadas++;
+            }
+        }
+        return calificadas;
+    }
+
+    /**
+     * Promedio de las notas calificadas (NaN si no hay ninguna).
+     */
+    public synchronized double promedio() {
+        double suma = 0;
+        int cantidad = 0;
+        for (int i = 0; i < tamanio; i++) {
+            double nota = notasObtenidas[i];
+            if (nota >= 0) {
+                suma += nota;
+                cantidad++;
+            }
+        }
+        return cantidad == 0 ? Double.NaN : suma / cantidad;
+    }
+
+    /**
+     * Promedio de las notas calificadas de un tipo (NaN si no hay ninguna).
+     */
+    public synchronized double promedio(String tipo) {
+        int codigo = diccionarioTipos.buscar(tipo);
+        if (codigo == SIN_VALOR && tipo != null) {
+            return Double.NaN;
+        }
+        return promedioPorCodigo(tipos, codigo);
+    }
+
+    /**
+     * Promedio de las notas calificadas de un proyecto (NaN si no hay ninguna).
+     */
+    public synchronized double promedio(Proyecto proyecto) {
+        int codigo = diccionarioProyectos.buscar(proyecto);
+        if (codigo == SIN_VALOR && proyecto != null) {
+            return Double.NaN;
+        }
+        return promedioPorCodigo(proyectos, codigo);
+    }
+
+    /**
+     * Promedio del porcentaje obtenido (nota / nota máxima * 100).
+     */
+    public synchronized double promedioPorcentaje() {
+        double suma = 0;
+        int cantidad = 0;
+        for (int i = 0; i < tamanio; i++) {
+            double nota = notasObtenidas[i];
+            if (nota >= 0) {
+                suma += nota / notasMaximas[i];
+                cantidad++;
+            }
+        }
+        return cantidad == 0 ? Double.NaN : suma / cantidad * 100;
+    }
+
+    /**
+     * Evaluaciones calificadas con porcentaje mayor o igual al mínimo.
+     * @param porcentajeMinimo Porcentaje de aprobación (0-100)
+     */
+    public synchronized int contarAprobadas(double porcentajeMinimo) {
+        double proporcion = porcentajeMinimo / 100;
+        int aprobadas = 0;
+        for (int i = 0; i < tamanio; i++) {
+            double nota = notasObtenidas[i];
+            if (nota >= 0 && nota >= proporcion * notasMaximas[i]) {
+                aprobadas++;
+            }
+        }
+        return aprobadas;
+    }
+
+    /**
+     * Cantidad de evaluaciones por tipo, indexada por código de tipo.
+     */
+    public synchronized int[] contarPorTipo() {
+        int[] conteos = new int[diccionarioTipos.valores.size()];
+        for (int i = 0; i < tamanio; i++) {
+            if (tipos[i] != SIN_VALOR) {
+                conteos[tipos[i]]++;
+            }
+        }
+        return conteos;
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private double promedioPorCodigo(int[] columna, int codigo) {
+        double suma = 0;
+        int cantidad = 0;
+        for (int i = 0; i < tamanio; i++) {
+            double nota = notasObtenidas[i];
+            if (columna[i] == codigo && nota >= 0) {
+                suma += nota;
+                cantidad++;
+            }
+        }
+        return cantidad == 0 ? Double.NaN : suma / cantidad;
+    }
+
+    private int nuevaFila() {
+        if (tamanio == ids.length) {
+            int capacidad = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacidad);
+            notasMaximas = Arrays.copyOf(notasMaximas, capacidad);
+            notasObtenidas = Arrays.copyOf(notasObtenidas, capacidad);
+            fechas = Arrays.copyOf(fechas, capacidad);
+            tipos = Arrays.copyOf(tipos, capacidad);
+            nombres = Arrays.copyOf(nombres, capacidad);
+            descripciones = Arrays.copyOf(descripciones, capacidad);
+            estudiantes = Arrays.copyOf(estudiantes, capacidad);
+            proyectos = Arrays.copyOf(proyectos, capacidad);
+        }
+        return tamanio++;
+    }
+
+    private void verificarFila(int fila) {
+        if (fila < 0 || fila >= tamanio) {
+            throw new IndexOutOfBoundsException("Fila inválida: " + fila);
+        }
+    }
+
+    // ========== CLASES INTERNAS ==========
+
+    /**
+     * Evaluacion respaldada por una fila del almacén (flyweight). Calificar
+     * escribe la columna y no notifica observadores de calificación.
+     */
+    private static final class VistaEvaluacion extends Evaluacion {
+        private final AlmacenColumnarEvaluaciones almacen;
+        private final int fila;
+
+        VistaEvaluacion(AlmacenColumnarEvaluaciones almacen, int fila) {
+            this.almacen = almacen;
+            this.fila = fila;
+        }
+
+        @Override
+        public boolean calificar(double notaObtenida) {
+            return almacen.calificar(fila, notaObtenida);
+        }
+
+        @Override
+        public boolean calificarSinAviso(double notaObtenida) {
+            return almacen.calificar(fila, notaObtenida);
+        }
+
+        @Override
+        public boolean agregarObservadorCalificacion(ObservadorCalificacion observador) {
+            throw new UnsupportedOperationException("Vista columnar: no admite observadores de calificación");
+        }
+
+        @Override
+        public boolean estaCalificada() {
+            return getNotaObtenida() >= 0;
+        }
+
+        @Override
+        public double getPorcentaje() {
+            double nota = getNotaObtenida();
+            return nota < 0 ? -1 : nota / getNotaMaxima() * 100;
+        }
+
+        @Override public int getId() { return almacen.getId(fila); }
+        @Override public String getNombre() { return almacen.getNombre(fila); }
+        @Override public String getDescripcion() { return almacen.getDescripcion(fila); }
+        @Override public double getNotaMaxima() { return almacen.getNotaMaxima(fila); }
+        @Override public double getNotaObtenida() { return almacen.getNotaObtenida(fila); }
+        @Override public double getCalificacion() { return almacen.getNotaObtenida(fila); }
+        @Override public String getTipo() { return almacen.getTipo(fila); }
+        @Override public Estudiante getEstudianteEvaluado() { return almacen.getEstudiante(fila); }
+        @Override public Proyecto getProyecto() { return almacen.getProyecto(fila); }
+
+        @Override
+        public Date getFechaEvaluacion() {
+            long fecha = almacen.getFechaMillis(fila);
+            return fecha == SIN_FECHA ? null : new Date(fecha);
+        }
+
+        @Override public void setId(int id) { soloLectura(); }
+        @Override public void setNombre(String nombre) { soloLectura(); }
+        @Override public void setDescripcion(String descripcion) { soloLectura(); }
+        @Override public void setFechaEvaluacion(Date fecha) { soloLectura(); }
+        @Override public void setNotaMaxima(double notaMaxima) { soloLectura(); }
+        @Override public void setEstudianteEvaluado(Estudiante estudiante) { soloLectura(); }
+        @Override public void setProyecto(Proyecto proyecto) { soloLectura(); }
+        @Override public void setTipo(String tipo) { soloLectura(); }
+
+        private static void soloLectura() {
+            throw new UnsupportedOperationException("Vista columnar: solo se puede calificar");
+        }
+
+        @Override
+        public String toString() {
+            return "Evaluacion{" +
+                    "id=" + getId() +
+                    ", nombre='" + getNombre() + '\'' +
+                    ", tipo='" + getTipo() + '\'' +
+                    ", notaObtenida=" + (estaCalificada() ? getNotaObtenida() : "No calificada") +
+                    ", notaMaxima=" + getNotaMaxima() +
+                    '}';
+        }
+    }
+
+    /**
+     * Asigna un código int consecutivo a cada valor distinto.
+     */
+    private static final class Diccionario<T> {
+        final Map<T, Integer> codigos = new HashMap<>();
+        final List<T> valores = new ArrayList<>();
+
+        int codificar(T valor) {
+            if (valor == null) {
+                return SIN_VALOR;
+            }
+            Integer codigo = codigos.get(valor);
+            if (codigo == null) {
+                codigo = valores.size();
+                codigos.put(valor, codigo);
+                valores.add(valor);
+            }
+            return codigo;
+        }
+
+        int buscar(T valor) {
+            Integer codigo = valor == null ? null : codigos.get(valor);
+            return codigo == null ? SIN_VALOR : codigo;
+        }
+
+        T valor(int codigo) {
+            return codigo == SIN_VALOR ? null : valores.get(codigo);
+        }
+    }
+}
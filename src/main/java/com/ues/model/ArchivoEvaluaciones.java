@@ -0,0 +1,447 @@
+package com.ues.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Archivo histórico de evaluaciones fuera del heap.
+ *
+ * Un periodo cerrado se escribe una sola vez en un archivo de registros de
+ * ancho fijo (.dat) más un diccionario (.dic) con los ids de estudiante, los
+ * ids de proyecto y los tipos. Al abrirlo, el .dat se mapea en memoria (por bloques, para no
+ * depender del límite de 2 GB de un MappedByteBuffer) y solo se mantienen
+ * en el heap dos índices: registros por estudiante y por proyecto. Las
+ * consultas leen los campos directamente del mapa, sin crear Evaluacion.
+ *
+ * Los estudiantes se identifican por el id de texto con el que los registra
+ * el servicio ({@link Estudiante#getCodigo()}): el id numérico puede
+ * repetirse o quedar en 0 y mezclaría estudiantes distintos.
+ *
+ * Registro (40 bytes):
+ * [int id][int estudiante][int proyecto][int tipo][double notaMaxima][double notaObtenida][long fecha]
+ */
+public class ArchivoEvaluaciones implements AutoCloseable {
+    private static final int MAGICO = 0x45564132; // "EVA2": estudiante por código de diccionario
+    private static final int CABECERA = 16;       // [int mágico][int tamaño registro][long cantidad]
+    private static final int TAMANIO_REGISTRO = 40;
+    private static final int REGISTROS_POR_BLOQUE = (1 << 30) / TAMANIO_REGISTRO;
+    private static final String EXTENSION_DATOS = ".dat";
+    private static final String EXTENSION_DICCIONARIO = ".dic";
+    private static final int[] SIN_REGISTROS = new int[0];
+
+    private final Path ruta;
+    private final FileChannel canal;
+    private final MappedByteBuffer[] bloques;
+    private final int cantidad;
+    private final String[] estudiantes;
+    private final String[] proyectos;
+    private final String[] tipos;
+    private final Map<String, Integer> codigosEstudiante;
+    private final Map<String, Integer> codigosProyecto;
+    private final int[][] porEstudiante;
+    private final int[][] porProyecto;
+
+    // ========== ESCRITURA ==========
+
+    /**
+     * Escribe un periodo de evaluaciones y abre el archivo resultante.
+     * @param ruta Ruta base, sin extensión (se crean ruta.dat y ruta.dic)
+     */
+    public static ArchivoEvaluaciones escribir(Path ruta, Collection<Evaluacion> evaluaciones) throws IOException {
+        try (Escritor escritor = new Escritor(ruta)) {
+            for (Evaluacion evaluacion : evaluaciones) {
+                Estudiante estudiante = evaluacion.getEstudianteEvaluado();
+                Proyecto proyecto = evaluacion.getProyecto();
+                Date fecha = evaluacion.getFechaEvaluacion();
+                escritor.agregar(evaluacion.getId(),
+                                 estudiante != null ? estudiante.getCodigo() : null,
+                                 proyecto != null ? proyecto.getId() : null,
+                                 evaluacion.getTipo(),
+                                 evaluacion.getNotaMaxima(),
+                                 evaluacion.getNotaObtenida(),
+                                 fecha != null ? fecha.getTime() : Long.MIN_VALUE);
+            }
+        }
+        return abrir(ruta);
+    }
+
+    /**
+     * Escribe las filas de un almacén columnar y abre el archivo resultante.
+     * @param ruta Ruta base, sin extensión (se crean ruta.dat y ruta.dic)
+     */
+    public static ArchivoEvaluaciones escribir(Path ruta, AlmacenColumnarEvaluaciones almacen) throws IOException {
+        try (Escritor escritor = new Escritor(ruta)) {
+            int filas = almacen.tamanio();
+            for (int i = 0; i < filas; i++) {
+                Estudiante estudiante = almacen.getEstudiante(i);
+                Proyecto proyecto = almacen.getProyecto(i);
+                escritor.agregar(almacen.getId(i),
+                                 estudiante != null ? estudiante.getCodigo() : null,
+                                 proyecto != null ? proyecto.getId() : null,
+                                 almacen.getTipo(i),
+                                 almacen.getNotaMaxima(i),
+                                 almacen.getNotaObtenida(i),
+                                 almacen.getFechaMillis(i));
+            }
+        }
+        return abrir(ruta);
+    }
+
+    // ========== APERTURA ==========
+
+    /**
+     * Abre un archivo ya escrito y construye sus índices.
+     * @param ruta Ruta base, sin extensión
+     */
+    public static ArchivoEvaluaciones abrir(Path ruta) throws IOException {
+        return new ArchivoEvaluaciones(ruta);
+    }
+
+    private ArchivoEvaluaciones(Path ruta) throws IOException {
+        this.ruta = ruta;
+
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(conExtension(ruta, EXTENSION_DICCIONARIO))))) {
+            this.estudiantes = leerTextos(entrada);
+            this.proyectos = leerTextos(entrada);
+            this.tipos = leerTextos(entrada);
+        }
+        this.codigosEstudiante = codigos(estudiantes);
+        this.codigosProyecto = codigos(proyectos);
+
+        this.canal = FileChannel.open(conExtension(ruta, EXTENSION_DATOS), StandardOpenOption.READ);
+        try {
+            if (canal.size() < CABECERA) {
+                throw new IOException("Archivo de evaluaciones inválido: " + ruta);
+            }
+            ByteBuffer cabecera = canal.map(FileChannel.MapMode.READ_ONLY, 0, CABECERA);
+            if (cabecera.getInt() != MAGICO || cabecera.getInt() != TAMANIO_REGISTRO) {
+                throw new IOException("Archivo de evaluaciones inválido: " + ruta);
+            }
+            long registros = cabecera.getLong();
+            if (registros > Integer.MAX_VALUE
+                    || CABECERA + registros * TAMANIO_REGISTRO > canal.size()) {
+                throw new IOException("Archivo de evaluaciones incompleto: " + ruta);
+            }
+            this.cantidad = (int) registros;
+
+            int numeroBloques = (cantidad + REGISTROS_POR_BLOQUE - 1) / REGISTROS_POR_BLOQUE;
+            this.bloques = new MappedByteBuffer[numeroBloques];
+            for (int b = 0; b < numeroBloques; b++) {
+                int enBloque = Math.min(REGISTROS_POR_BLOQUE, cantidad - b * REGISTROS_POR_BLOQUE);
+                long inicio = CABECERA + (long) b * REGISTROS_POR_BLOQUE * TAMANIO_REGISTRO;
+                bloques[b] = canal.map(FileChannel.MapMode.READ_ONLY, inicio, (long) enBloque * TAMANIO_REGISTRO);
+            }
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+
+        // Índices: una sola pasada sobre el mapa
+        ListaEnteros[] listasEstudiante = new ListaEnteros[estudiantes.length];
+        ListaEnteros[] listasProyecto = new ListaEnteros[proyectos.length];
+        for (int i = 0; i < cantidad; i++) {
+            indexar(listasEstudiante, codigoEstudiante(i), i);
+            indexar(listasProyecto, codigoProyecto(i), i);
+        }
+        this.porEstudiante = aArreglos(listasEstudiante);
+        this.porProyecto = aArreglos(listasProyecto);
+    }
+
+    // ========== CONSULTAS POR REGISTRO ==========
+
+    public int tamanio() {
+        return cantidad;
+    }
+
+    public int getId(int registro) {
+        return bloque(registro).getInt(desplazamiento(registro));
+    }
+
+    /**
+     * @return Id de texto del estudiante, o null si no tenía
+     */
+    public String getIdEstudiante(int registro) {
+        int codigo = codigoEstudiante(registro);
+        return codigo >= 0 ? estudiantes[codigo] : null;
+    }
+
+    public String getIdProyecto(int registro) {
+        int codigo = codigoProyecto(registro);
+        return codigo >= 0 ? proyectos[codigo] : null;
+    }
+
+    public String getTipo(int registro) {
+        int codigo = bloque(registro).getInt(desplazamiento(registro) + 12);
+        return codigo >= 0 ? tipos[codigo] : null;
+    }
+
+    public double getNotaMaxima(int registro) {
+        return bloque(registro).getDouble(desplazamiento(registro) + 16);
+    }
+
+    public double getNotaObtenida(int registro) {
+        return bloque(registro).getDouble(desplazamiento(registro) + 24);
+    }
+
+    public long getFechaMillis(int registro) {
+        return bloque(registro).getLong(desplazamiento(registro) + 32);
+    }
+
+    /**
+     * Construye un Evaluacion con los datos del registro (sin referencias a
+     * estudiante ni proyecto, que ya no viven en memoria).
+     */
+    public Evaluacion ver(int registro) {
+        long fecha = getFechaMillis(registro);
+        Evaluacion evaluacion = new Evaluacion(getId(registro), null, null,
+                                               fecha == Long.MIN_VALUE ? null : new Date(fecha),
+                                               getNotaMaxima(registro), getTipo(registro));
+        evaluacion.setNotaObtenida(getNotaObtenida(registro));
+        return evaluacion;
+    }
+
+    // ========== CONSULTAS POR ÍNDICE ==========
+
+    /**
+     * Números de registro de un estudiante, en orden de escritura.
+     */
+    public int[] registrosDeEstudiante(String idEstudiante) {
+        Integer codigo = codigosEstudiante.get(idEstudiante);
+        return codigo != null ? porEstudiante[codigo].clone() : SIN_REGISTROS;
+    }
+
+    /**
+     * Números de registro de un proyecto, en orden de escritura.
+     */
+    public int[] registrosDeProyecto(String idProyecto) {
+        Integer codigo = codigosProyecto.get(idProyecto);
+        return codigo != null ? porProyecto[codigo].clone() : SIN_REGISTROS;
+    }
+
+    /**
+     * Promedio de las notas calificadas de un estudiante (NaN si no hay).
+     */
+    public double promedioEstudiante(String idEstudiante) {
+        Integer codigo = codigosEstudiante.get(idEstudiante);
+        return codigo != null ? promedio(porEstudiante[codigo]) : Double.NaN;
+    }
+
+    /**
+     * Promedio de las notas calificadas de un proyecto (NaN si no hay).
+     */
+    public double promedioProyecto(String idProyecto) {
+        Integer codigo = codigosProyecto.get(idProyecto);
+        return codigo != null ? promedio(porProyecto[codigo]) : Double.NaN;
+    }
+
+    public Path getRuta() {
+        return ruta;
+    }
+
+    /**
+     * Cierra el canal. Los bloques mapeados se liberan cuando el recolector
+     * los descarta; no se deben usar las consultas después de cerrar.
+     */
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private double promedio(int[] registros) {
+        double suma = 0;
+        int calificadas = 0;
+        for (int registro : registros) {
+            double nota = getNotaObtenida(registro);
+            if (nota >= 0) {
+                suma += nota;
+                calificadas++;
+            }
+        }
+        return calificadas == 0 ? Double.NaN : suma / calificadas;
+    }
+
+    private int codigoEstudiante(int registro) {
+        return bloque(registro).getInt(desplazamiento(registro) + 4);
+    }
+
+    private int codigoProyecto(int registro) {
+        return bloque(registro).getInt(desplazamiento(registro) + 8);
+    }
+
+    private ByteBuffer bloque(int registro) {
+        if (registro < 0 || registro >= cantidad) {
+            throw new IndexOutOfBoundsException("Registro inválido: " + registro);
+        }
+        return bloques[registro / REGISTROS_POR_BLOQUE];
+    }
+
+    private static int desplazamiento(int registro) {
+        return (registro % REGISTROS_POR_BLOQUE) * TAMANIO_REGISTRO;
+    }
+
+    private static Path conExtension(Path ruta, String extension) {
+        return ruta.resolveSibling(ruta.getFileName() + extension);
+    }
+
+    private static Map<String, Integer> codigos(String[] textos) {
+        Map<String, Integer> codigos = new HashMap<>(textos.length * 2);
+        for (int i = 0; i < textos.length; i++) {
+            codigos.put(textos[i], i);
+        }
+        return codigos;
+    }
+
+    private static void indexar(ListaEnteros[] listas, int codigo, int registro) {
+        if (codigo >= 0) {
+            if (listas[codigo] == null) {
+                listas[codigo] = new ListaEnteros();
+            }
+            listas[codigo].agregar(registro);
+        }
+    }
+
+    private static int[][] aArreglos(ListaEnteros[] listas) {
+        int[][] arreglos = new int[listas.length][];
+        for (int i = 0; i < listas.length; i++) {
+            arreglos[i] = listas[i] != null ? listas[i].aArreglo() : SIN_REGISTROS;
+        }
+        return arreglos;
+    }
+
+    private static String[] leerTextos(DataInputStream entrada) throws IOException {
+        String[] textos = new String[entrada.readInt()];
+        for (int i = 0; i < textos.length; i++) {
+            textos[i] = entrada.readUTF();
+        }
+        return textos;
+    }
+
+    // ========== CLASES INTERNAS ==========
+
+    /**
+     * Escribe registros con un buffer directo y al cerrar completa la
+     * cabecera y el diccionario.
+     */
+    private static final class Escritor implements AutoCloseable {
+        private final Path ruta;
+        private final FileChannel canal;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANIO_REGISTRO * 4096);
+        private final Map<String, Integer> estudiantes = new HashMap<>();
+        private final Map<String, Integer> proyectos = new HashMap<>();
+        private final Map<String, Integer> tipos = new HashMap<>();
+        private final List<String> listaEstudiantes = new ArrayList<>();
+        private final List<String> listaProyectos = new ArrayList<>();
+        private final List<String> listaTipos = new ArrayList<>();
+        private long cantidad;
+
+        Escritor(Path ruta) throws IOException {
+            this.ruta = ruta;
+            this.canal = FileChannel.open(conExtension(ruta, EXTENSION_DATOS), StandardOpenOption.CREATE,
+                                          StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            canal.position(CABECERA);
+        }
+
+        void agregar(int id, String idEstudiante, String idProyecto, String tipo,
+                     double notaMaxima, double notaObtenida, long fecha) throws IOException {
+            if (buffer.remaining() < TAMANIO_REGISTRO) {
+                volcar();
+            }
+            buffer.putInt(id)
+                  .putInt(codificar(idEstudiante, estudiantes, listaEstudiantes))
+                  .putInt(codificar(idProyecto, proyectos, listaProyectos))
+                  .putInt(codificar(tipo, tipos, listaTipos))
+                  .putDouble(notaMaxima)
+                  .putDouble(notaObtenida)
+                  .putLong(fecha);
+            cantidad++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                volcar();
+                ByteBuffer cabecera = ByteBuffer.allocate(CABECERA);
+                cabecera.putInt(MAGICO).putInt(TAMANIO_REGISTRO).putLong(cantidad).flip();
+                while (cabecera.hasRemaining()) {
+                    canal.write(cabecera, cabecera.position());
+                }
+                canal.force(true);
+            } finally {
+                canal.close();
+            }
+
+            try (DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(conExtension(ruta, EXTENSION_DICCIONARIO))))) {
+                escribirTextos(salida, listaEstudiantes);
+                escribirTextos(salida, listaProyectos);
+                escribirTextos(salida, listaTipos);
+            }
+        }
+
+        private void volcar() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private static int codificar(String valor, Map<String, Integer> codigos, List<String> valores) {
+            if (valor == null) {
+                return -1;
+            }
+            Integer codigo = codigos.get(valor);
+            if (codigo == null) {
+                codigo = valores.size();
+                codigos.put(valor, codigo);
+                valores.add(valor);
+            }
+            return codigo;
+        }
+
+        private static void escribirTextos(DataOutputStream salida, List<String> textos) throws IOException {
+            salida.writeInt(textos.size());
+            for (String texto : textos) {
+                salida.writeUTF(texto);
+            }
+        }
+    }
+
+    /**
+     * Lista de int que crece sin crear Integer.
+     */
+    private static final class ListaEnteros {
+        private int[] valores = new int[8];
+        private int tamanio;
+
+        void agregar(int valor) {
+            if (tamanio == valores.length) {
+                valores = Arrays.copyOf(valores, tamanio * 2);
+            }
+            valores[tamanio++] = valor;
+        }
+
+        int[] aArreglo() {
+            return Arrays.copyOf(valores, tamanio);
+        }
+    }
+}
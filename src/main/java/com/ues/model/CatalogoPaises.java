@@ -0,0 +1,257 @@
+package com.ues.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Diccionario denso de países.
+ * Cada país registrado recibe un código int consecutivo (0, 1, 2...) que se
+ * guarda como id del Pais, y existe una sola instancia por país. Los
+ * acumulados por país (estudiantes, inscripciones, calificaciones) viven
+ * en arreglos indexados por ese código y se actualizan de forma incremental,
+ * así que los reportes regionales no recorren estudiantes.
+ *
+ * Las calificaciones se cuentan por evaluación seguida: el catálogo se
+ * registra como observador de cada evaluación que entra a un proyecto, así
+ * que también ve las recalificaciones, y la descuenta cuando sale.
+ */
+public class CatalogoPaises implements SeguidorEvaluaciones, ObservadorCalificacion {
+    // Se publica último al registrar: quien lo lee ve los acumulados completos
+    private volatile Pais[] paises = new Pais[0];
+    private final Map<String, Integer> codigoPorClave = new HashMap<>();
+    private final Map<String, Integer> codigoPorISO = new HashMap<>();
+
+    // Acumulados por código de país
+    private volatile LongAdder[] estudiantes = new LongAdder[0];
+    private volatile LongAdder[] inscripciones = new LongAdder[0];
+    private volatile LongAdder[] calificaciones = new LongAdder[0];
+    private volatile DoubleAdder[] sumaCalificaciones = new DoubleAdder[0];
+
+    /**
+     * Registra un país y le asigna el siguiente código.
+     * @param clave Identificador externo (ej. "PA1")
+     * @return La instancia única del país
+     * @throws IllegalArgumentException si la clave ya está registrada
+     */
+    public synchronized Pais registrar(String clave, String nombre, String codigoISO) {
+        if (codigoPorClave.containsKey(clave)) {
+            throw new IllegalArgumentException("País ya registrado: " + clave);
+        }
+        int codigo = paises.length;
+        Pais pais = new Pais(codigo, nombre, codigoISO);
+
+        // Arreglos nuevos en vez de modificarlos en sitio: los lectores sin
+        // candado ven siempre un arreglo completo
+        Pais[] nuevos = Arrays.copyOf(paises, codigo + 1);
+        nuevos[codigo] = pais;
+        estudiantes = agregar(estudiantes, new LongAdder());
+        inscripciones = agregar(inscripciones, new LongAdder());
+        calificaciones = agregar(calificaciones, new LongAdder());
+        sumaCalificaciones = agregar(sumaCalificaciones, new DoubleAdder());
+        paises = nuevos;
+
+        codigoPorClave.put(clave, codigo);
+        if (codigoISO != null) {
+            codigoPorISO.put(codigoISO, codigo);
+        }
+        return pais;
+    }
+
+    // ========== BÚSQUEDA ==========
+
+    public synchronized Pais buscar(String clave) {
+        Integer codigo = codigoPorClave.get(clave);
+        return codigo == null ? null : paises[codigo];
+    }
+
+    public synchronized Pais buscarPorISO(String codigoISO) {
+        Integer codigo = codigoPorISO.get(codigoISO);
+        return codigo == null ? null : paises[codigo];
+    }
+
+    /**
+     * País por código, en O(1).
+     */
+    public Pais porCodigo(int codigo) {
+        return paises[codigo];
+    }
+
+    public int tamanio() {
+        return paises.length;
+    }
+
+    public List<Pais> todos() {
+        return Collections.unmodifiableList(Arrays.asList(paises.clone()));
+    }
+
+    // ========== ACUMULADOS ==========
+
+    public void registrarEstudiante(Pais pais) {
+        int codigo = codigoValido(pais);
+        if (codigo >= 0) {
+            estudiantes[codigo].increment();
+        }
+    }
+
+    public void quitarEstudiante(Pais pais) {
+        int codigo = codigoValido(pais);
+        if (codigo >= 0) {
+            estudiantes[codigo].decrement();
+        }
+    }
+
+    public void registrarInscripcion(Pais pais) {
+        int codigo = codigoValido(pais);
+        if (codigo >= 0) {
+            inscripciones[codigo].increment();
+        }
+    }
+
+    public void quitarInscripcion(Pais pais) {
+        int codigo = codigoValido(pais);
+        if (codigo >= 0) {
+            inscripciones[codigo].decrement();
+        }
+    }
+
+    public void registrarCalificacion(Pais pais, double calificacion) {
+        int codigo = codigoValido(pais);
+        if (codigo >= 0) {
+            // La suma va antes que la cuenta: un promedio leído a mitad no
+            // divide entre una calificación que aún no se sumó
+            sumaCalificaciones[codigo].add(calificacion);
+            calificaciones[codigo].increment();
+        }
+    }
+
+    public void quitarCalificacion(Pais pais, double calificacion) {
+        int codigo = codigoValido(pais);
+        if (codigo >= 0) {
+            // Orden inverso al registro: la cuenta baja antes que la suma
+            calificaciones[codigo].decrement();
+            sumaCalificaciones[codigo].add(-calificacion);
+        }
+    }
+
+    // ========== SEGUIMIENTO DE EVALUACIONES ==========
+
+    /**
+     * Cuenta la nota de la evaluación en el país de su estudiante y sigue sus
+     * recalificaciones. Seguir dos veces la misma evaluación no tiene efecto.
+     */
+    @Override
+    public void evaluacionAgregada(Evaluacion evaluacion) {
+        if (evaluacion.agregarObservadorCalificacion(this) && evaluacion.estaCalificada()) {
+            registrarCalificacion(paisDe(evaluacion), evaluacion.getNotaObtenida());
+        }
+    }
+
+    /**
+     * Descuenta la nota de una evaluación seguida y deja de seguirla.
+     */
+    @Override
+    public void evaluacionQuitada(Evaluacion evaluacion) {
+        if (evaluacion.eliminarObservadorCalificacion(this) && evaluacion.estaCalificada()) {
+            quitarCalificacion(paisDe(evaluacion), evaluacion.getNotaObtenida());
+        }
+    }
+
+    @Override
+    public void calificacionCambiada(Evaluacion evaluacion, double anterior, double nueva) {
+        Pais pais = paisDe(evaluacion);
+        if (anterior >= 0) {
+            quitarCalificacion(pais, anterior);
+        }
+        registrarCalificacion(pais, nueva);
+    }
+
+    public long getEstudiantes(int codigo) {
+        return estudiantes[codigo].sum();
+    }
+
+    public long getInscripciones(int codigo) {
+        return inscripciones[codigo].sum();
+    }
+
+    /**
+     * Promedio de calificaciones de los estudiantes del país (NaN si no hay).
+     */
+    public double getPromedio(int codigo) {
+        long cantidad = calificaciones[codigo].sum();
+        return cantidad == 0 ? Double.NaN : sumaCalificaciones[codigo].sum() / cantidad;
+    }
+
+    /**
+     * Resumen de todos los países, leído de los arreglos acumulados.
+     */
+    public List<ResumenPais> getResumen() {
+        Pais[] actuales = paises;
+        List<ResumenPais> resumen = new ArrayList<>(actuales.length);
+        for (int i = 0; i < actuales.length; i++) {
+            resumen.add(new ResumenPais(actuales[i], getEstudiantes(i),
+                                        getInscripciones(i), getPromedio(i)));
+        }
+        return resumen;
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    /**
+     * Código del país si es la instancia registrada en este catálogo, o -1.
+     */
+    private int codigoValido(Pais pais) {
+        if (pais == null) {
+            return -1;
+        }
+        Pais[] actuales = paises;
+        int codigo = pais.getId();
+        return codigo >= 0 && codigo < actuales.length && actuales[codigo] == pais ? codigo : -1;
+    }
+
+    private static Pais paisDe(Evaluacion evaluacion) {
+        Estudiante estudiante = evaluacion.getEstudianteEvaluado();
+        return estudiante != null ? estudiante.getPais() : null;
+    }
+
+    private static <T> T[] agregar(T[] arreglo, T elemento) {
+        T[] nuevo = Arrays.copyOf(arreglo, arreglo.length + 1);
+        nuevo[arreglo.length] = elemento;
+        return nuevo;
+    }
+
+    // ========== CLASES INTERNAS ==========
+
+    /**
+     * Acumulados de un país en un momento dado.
+     */
+    public static class ResumenPais {
+        private final Pais pais;
+        private final long estudiantes;
+        private final long inscripciones;
+        private final double promedio;
+
+        public ResumenPais(Pais pais, long estudiantes, long inscripciones, double promedio) {
+            this.pais = pais;
+            this.estudiantes = estudiantes;
+            this.inscripciones = inscripciones;
+            this.promedio = promedio;
+        }
+
+        public Pais getPais() { return pais; }
+        public long getEstudiantes() { return estudiantes; }
+        public long getInscripciones() { return inscripciones; }
+        public double getPromedio() { return promedio; }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d estudiantes, %d inscripciones, promedio %.2f",
+                                 pais.getNombre(), estudiantes, inscripciones, promedio);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.ues.model;
+
+/**
+ * Interfaz para proyectos que mantienen sus estadísticas de evaluación
+ * actualizadas en cada agregarEvaluacion, quitarEvaluacion y calificación.
+ */
+public interface ConEstadisticasEvaluaciones {
+    /**
+     * Método para obtener las estadísticas acumuladas
+     * @return Estadísticas de las evaluaciones registradas
+     */
+    EstadisticasEvaluaciones getEstadisticas();
+
+    /**
+     * Método para retirar una evaluación descontándola de las estadísticas
+     * @param evaluacion Evaluación a retirar
+     * @return true si la evaluación pertenecía al proyecto
+     */
+    boolean quitarEvaluacion(Evaluacion evaluacion);
+}
@@ -1,6 +1,11 @@
 package com.ues.model;
 
+import com.ues.log.Bitacora;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
 
 /**
  * Clase que representa un curso en el sistema universitario.
@@ -12,7 +17,9 @@ public class Curso {
     private String codigo;
     private String descripcion;
     private Profesor profesor;
-    private List<Estudiante> estudiantesInscritos;
+    // Inscritos por identidad del objeto (los ids pueden repetirse o faltar):
+    // pertenencia O(1) y orden de inscripción
+    private final Set<Estudiante> estudiantesInscritos = new LinkedHashSet<>();
 
     /**
      * Constructor por defecto
@@ -41,7 +48,7 @@ public class Curso {
     public void asignarProfesor(Profesor profesor) {
         this.profesor = profesor;
         profesor.asignarCurso(this);
-        System.out.println("Profesor " + profesor.getNombre() + " asignado al curso: " + nombre);
+        Bitacora.debug(() -> "Profesor " + profesor.getNombre() + " asignado al curso: " + nombre);
     }
 
     /**
@@ -49,13 +56,83 @@ public class Curso {
      * @param estudiante Estudiante que se inscribirá en el curso
      */
     public void inscribirEstudiante(Estudiante estudiante) {
-        if (estudiantesInscritos != null && !estudiantesInscritos.contains(estudiante)) {
-            estudiantesInscritos.add(estudiante);
-            estudiante.inscribirCurso(this);
-            System.out.println("Estudiante " + estudiante.getNombre() + " inscrito en el curso: " + nombre);
+        if (inscribirSinAviso(estudiante)) {
+            Bitacora.debug(() -> "Estudiante " + estudiante.getNombre() + " inscrito en el curso: " + nombre);
         }
     }
 
+    /**
+     * Inscribe sin registrar mensajes, para operaciones en lote
+     * @param estudiante Estudiante que se inscribirá en el curso
+     * @return true si no estaba inscrito
+     */
+    public boolean inscribirSinAviso(Estudiante estudiante) {
+        if (!estudiantesInscritos.add(estudiante)) {
+            return false;
+        }
+        estudiante.agregarCurso(this);
+        return true;
+    }
+
+    /**
+     * Traspasa la inscripción de un estudiante a otro, por ejemplo cuando se
+     * reemplaza el registro de un estudiante con el mismo id
+     * @param anterior Estudiante inscrito
+     * @param nuevo Estudiante que toma su lugar
+     * @return true si el anterior estaba inscrito
+     */
+    public boolean reemplazarInscrito(Estudiante anterior, Estudiante nuevo) {
+        if (!estudiantesInscritos.remove(anterior)) {
+            return false;
+        }
+        anterior.quitarCurso(this);
+        inscribirSinAviso(nuevo);
+        return true;
+    }
+
+    /**
+     * Pasa la inscripción de un estudiante a otro curso, por ejemplo cuando
+     * se reemplaza el registro de un curso con el mismo id
+     * @param estudiante Estudiante inscrito
+     * @param destino Curso que toma el lugar de este
+     * @return true si el estudiante estaba inscrito
+     */
+    public boolean trasladarInscrito(Estudiante estudiante, Curso destino) {
+        if (!estudiantesInscritos.remove(estudiante)) {
+            return false;
+        }
+        estudiante.quitarCurso(this);
+        destino.inscribirSinAviso(estudiante);
+        return true;
+    }
+
+    /**
+     * Método para verificar si un estudiante está inscrito en el curso
+     * @param estudiante Estudiante a verificar
+     * @return true si está inscrito
+     */
+    public boolean estaInscrito(Estudiante estudiante) {
+        return estudiantesInscritos.contains(estudiante);
+    }
+
+    /**
+     * Método para obtener la cantidad de estudiantes inscritos
+     * @return Cantidad de inscritos
+     */
+    public int getCantidadInscritos() {
+        return estudiantesInscritos.size();
+    }
+
+    /**
+     * Spliterator sobre el conjunto vivo de inscritos, sin copiarlo. El
+     * conjunto no es seguro para hilos: debe consumirse con el candado que
+     * protege al curso.
+     * @return Spliterator ORDERED, DISTINCT y SIZED de los inscritos
+     */
+    public Spliterator<Estudiante> spliteratorInscritos() {
+        return estudiantesInscritos.spliterator();
+    }
+
     // Getters y Setters
     public int getId() {
         return id;
@@ -97,12 +174,16 @@ public class Curso {
         this.profesor = profesor;
     }
 
+    /**
+     * @return Copia de los inscritos en orden de inscripción
+     */
     public List<Estudiante> getEstudiantesInscritos() {
-        return estudiantesInscritos;
+        return new ArrayList<>(estudiantesInscritos);
     }
 
     public void setEstudiantesInscritos(List<Estudiante> estudiantesInscritos) {
-        this.estudiantesInscritos = estudiantesInscritos;
+        this.estudiantesInscritos.clear();
+        this.estudiantesInscritos.addAll(estudiantesInscritos);
     }
 
     @Override
@@ -0,0 +1,226 @@
+package com.ues.model;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Acumulador incremental de las calificaciones de un proyecto.
+ * Mantiene cantidad, suma, mínimo, máximo y cantidad de evaluaciones bajas
+ * para que las estrategias respondan en O(1) sin recorrer las evaluaciones.
+ *
+ * Como observador de calificación sigue las recalificaciones; las bajas se
+ * descuentan con quitar(). Si quitar o recalificar deja obsoleto el mínimo o
+ * el máximo, se recalculan sobre la fuente en la siguiente consulta.
+ */
+public class EstadisticasEvaluaciones implements ObservadorCalificacion {
+    /** Calificación por debajo de la cual una evaluación se considera baja */
+    public static final double UMBRAL_BAJA = 70;
+
+    private int cantidad;
+    private int bajas;
+    private double suma;
+    private double minimo = Double.NaN;
+    private double maximo = Double.NaN;
+    private boolean extremosObsoletos;
+    private final Supplier<List<Evaluacion>> fuente; // Para recalcular extremos; puede ser null
+
+    public EstadisticasEvaluaciones() {
+        this(null);
+    }
+
+    /**
+     * @param fuente Evaluaciones acumuladas, usadas para recalcular el mínimo
+     *               y el máximo después de quitar o recalificar
+     */
+    public EstadisticasEvaluaciones(Supplier<List<Evaluacion>> fuente) {
+        this.fuente = fuente;
+    }
+
+    /**
+     * Registra una nueva calificación
+     * @param calificacion Calificación obtenida
+     */
+    public synchronized void registrar(double calificacion) {
+        acumular(calificacion);
+    }
+
+    /**
+     * Descuenta una calificación registrada antes
+     * @param calificacion Calificación a quitar
+     */
+    public synchronized void quitar(double calificacion) {
+        cantidad--;
+        suma -= calificacion;
+        if (calificacion < UMBRAL_BAJA) {
+            bajas--;
+        }
+        if (cantidad == 0) {
+            reiniciar();
+        } else if (calificacion <= minimo || calificacion >= maximo) {
+            extremosObsoletos = true;
+        }
+    }
+
+    /**
+     * Sustituye una calificación registrada por su nuevo valor
+     * @param anterior Calificación registrada
+     * @param nueva Calificación que la reemplaza
+     */
+    public synchronized void reemplazar(double anterior, double nueva) {
+        quitar(anterior);
+        acumular(nueva);
+    }
+
+    @Override
+    public void calificacionCambiada(Evaluacion evaluacion, double anterior, double nueva) {
+        reemplazar(anterior, nueva);
+    }
+
+    /**
+     * Vuelve a acumular desde cero las calificaciones actuales
+     * @param evaluaciones Evaluaciones vigentes
+     */
+    public synchronized void reconstruir(List<Evaluacion> evaluaciones) {
+        reiniciar();
+        for (Evaluacion evaluacion : evaluaciones) {
+            acumular(evaluacion.getCalificacion());
+        }
+    }
+
+    private void acumular(double calificacion) {
+        cantidad++;
+        suma += calificacion;
+        if (calificacion < UMBRAL_BAJA) {
+            bajas++;
+        }
+        if (cantidad == 1) {
+            minimo = calificacion;
+            maximo = calificacion;
+        } else {
+            minimo = Math.min(minimo, calificacion);
+            maximo = Math.max(maximo, calificacion);
+        }
+    }
+
+    private void reiniciar() {
+        cantidad = 0;
+        bajas = 0;
+        suma = 0;
+        minimo = Double.NaN;
+        maximo = Double.NaN;
+        extremosObsoletos = false;
+    }
+
+    /**
+     * Recalcula mínimo y máximo si una baja o recalificación los invalidó.
+     * Sin fuente quedan en NaN.
+     */
+    private void actualizarExtremos() {
+        if (!extremosObsoletos) {
+            return;
+        }
+        extremosObsoletos = false;
+        minimo = Double.NaN;
+        maximo = Double.NaN;
+        if (fuente == null) {
+            return;
+        }
+        for (Evaluacion evaluacion : fuente.get()) {
+            double calificacion = evaluacion.getCalificacion();
+            minimo = Double.isNaN(minimo) ? calificacion : Math.min(minimo, calificacion);
+            maximo = Double.isNaN(maximo) ? calificacion : Math.max(maximo, calificacion);
+        }
+    }
+
+    /**
+     * Obtiene las estadísticas de un proyecto: las mantenidas si el proyecto
+     * las acumula, o las calcula en una sola pasada en caso contrario.
+     * @param proyecto Proyecto a consultar
+     * @return Estadísticas de sus evaluaciones
+     */
+    public static EstadisticasEvaluaciones de(Proyecto proyecto) {
+        if (proyecto instanceof ConEstadisticasEvaluaciones) {
+            return ((ConEstadisticasEvaluaciones) proyecto).getEstadisticas();
+        }
+        return calcular(proyecto.getEvaluaciones());
+    }
+
+    /**
+     * Reconstruye si la cantidad acumulada ya no coincide con la lista,
+     * es decir, si alguien la modificó sin pasar por el proyecto
+     * @param evaluaciones Evaluaciones vigentes
+     */
+    public synchronized void verificar(List<Evaluacion> evaluaciones) {
+        if (cantidad != evaluaciones.size()) {
+            reconstruir(evaluaciones);
+        }
+    }
+
+    /**
+     * Calcula las estadísticas de una lista de evaluaciones
+     * @param evaluaciones Evaluaciones a acumular
+     * @return Nuevas estadísticas
+     */
+    public static EstadisticasEvaluaciones calcular(List<Evaluacion> evaluaciones) {
+        EstadisticasEvaluaciones estadisticas = new EstadisticasEvaluaciones();
+        for (Evaluacion evaluacion : evaluaciones) {
+            estadisticas.registrar(evaluacion.getCalificacion());
+        }
+        return estadisticas;
+    }
+
+    // Getters
+    public synchronized int getCantidad() {
+        return cantidad;
+    }
+
+    public synchronized int getBajas() {
+        return bajas;
+    }
+
+    public synchronized double getSuma() {
+        return suma;
+    }
+
+    /**
+     * @return Promedio de calificaciones, 0 si no hay evaluaciones
+     */
+    public synchronized double getPromedio() {
+        return cantidad == 0 ? 0 : suma / cantidad;
+    }
+
+    /**
+     * @return Proporción (0-1) de evaluaciones bajas, 0 si no hay evaluaciones
+     */
+    public synchronized double getProporcionBajas() {
+        return cantidad == 0 ? 0 : (double) bajas / cantidad;
+    }
+
+    /**
+     * @return Calificación mínima, NaN si no hay evaluaciones
+     */
+    public synchronized double getMinimo() {
+        actualizarExtremos();
+        return minimo;
+    }
+
+    /**
+     * @return Calificación máxima, NaN si no hay evaluaciones
+     */
+    public synchronized double getMaximo() {
+        actualizarExtremos();
+        return maximo;
+    }
+
+    @Override
+    public synchronized String toString() {
+        actualizarExtremos();
+        return "EstadisticasEvaluaciones{" +
+                "cantidad=" + cantidad +
+                ", bajas=" + bajas +
+                ", promedio=" + getPromedio() +
+                ", minimo=" + minimo +
+                ", maximo=" + maximo +
+                '}';
+    }
+}
@@ -1,7 +1,11 @@
 package com.ues.model;
 
+import com.ues.log.Bitacora;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Clase que representa un estudiante en el sistema universitario.
@@ -9,12 +13,14 @@ import java.util.List;
  */
 public class Estudiante {
     private int id;
+    private String codigo; // Id de texto con el que lo registra el servicio
     private String nombre;
     private String apellido;
     private String email;
     private Date fechaNacimiento;
     private Pais pais;
-    private List<Curso> cursosInscritos;
+    // Cursos por identidad del objeto: pertenencia O(1) y orden de inscripción
+    private final Set<Curso> cursosInscritos = new LinkedHashSet<>();
     private List<Proyecto> proyectosParticipantes;
 
     /**
@@ -42,12 +48,35 @@ public class Estudiante {
      * @param curso Curso en el que se inscribirá el estudiante
      */
     public void inscribirCurso(Curso curso) {
-        if (cursosInscritos != null && !cursosInscritos.contains(curso)) {
-            cursosInscritos.add(curso);
-            System.out.println("Estudiante " + nombre + " inscrito en el curso: " + curso.getNombre());
+        if (agregarCurso(curso)) {
+            Bitacora.debug(() -> "Estudiante " + nombre + " inscrito en el curso: " + curso.getNombre());
         }
     }
 
+    /**
+     * Agrega el curso sin registrar mensajes (lo usa Curso al inscribir)
+     * @return true si no estaba inscrito
+     */
+    boolean agregarCurso(Curso curso) {
+        return cursosInscritos.add(curso);
+    }
+
+    /**
+     * Quita el curso sin registrar mensajes (lo usa Curso al traspasar)
+     */
+    boolean quitarCurso(Curso curso) {
+        return cursosInscritos.remove(curso);
+    }
+
+    /**
+     * Método para verificar si el estudiante está inscrito en un curso
+     * @param curso Curso a verificar
+     * @return true si está inscrito
+     */
+    public boolean estaInscritoEn(Curso curso) {
+        return cursosInscritos.contains(curso);
+    }
+
     /**
      * Método para asignar al estudiante a un proyecto
      * @param proyecto Proyecto al que se asignará el estudiante
@@ -55,7 +84,7 @@ public class Estudiante {
     public void asignarProyecto(Proyecto proyecto) {
         if (proyectosParticipantes != null && !proyectosParticipantes.contains(proyecto)) {
             proyectosParticipantes.add(proyecto);
-            System.out.println("Estudiante " + nombre + " asignado al proyecto: " + proyecto.getNombre());
+            Bitacora.debug(() -> "Estudiante " + nombre + " asignado al proyecto: " + proyecto.getNombre());
         }
     }
 
@@ -68,6 +97,18 @@ public class Estudiante {
         this.id = id;
     }
 
+    /**
+     * @return Id de texto del repositorio del servicio (null si el
+     *         estudiante no se creó por el servicio)
+     */
+    public String getCodigo() {
+        return codigo;
+    }
+
+    public void setCodigo(String codigo) {
+        this.codigo = codigo;
+    }
+
     public String getNombre() {
         return nombre;
     }
@@ -108,12 +149,16 @@ public class Estudiante {
         this.pais = pais;
     }
 
+    /**
+     * @return Copia de los cursos en orden de inscripción
+     */
     public List<Curso> getCursosInscritos() {
-        return cursosInscritos;
+        return new ArrayList<>(cursosInscritos);
     }
 
     public void setCursosInscritos(List<Curso> cursosInscritos) {
-        this.cursosInscritos = cursosInscritos;
+        this.cursosInscritos.clear();
+        this.cursosInscritos.addAll(cursosInscritos);
     }
 
     public List<Proyecto> getProyectosParticipantes() {
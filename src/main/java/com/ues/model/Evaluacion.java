@@ -1,5 +1,7 @@
 package com.ues.model;
 
+import com.ues.log.Bitacora;
+import java.util.Arrays;
 import java.util.Date;
 
 /**
@@ -7,14 +9,18 @@ import java.util.Date;
  * Puede ser una evaluación de un curso o de un proyecto.
  */
 public class Evaluacion {
+    private static final ObservadorCalificacion[] SIN_OBSERVADORES = new ObservadorCalificacion[0];
+
     private int id;
     private String nombre;
     private String descripcion;
     private Date fechaEvaluacion;
     private double notaMaxima;
-    private double notaObtenida;
+    private volatile double notaObtenida; // Se cambia bajo el monitor, se lee sin él
     private Estudiante estudianteEvaluado;
+    private Proyecto proyecto; // Proyecto evaluado, si aplica
     private String tipo; // EXAMEN, PROYECTO, TAREA, etc.
+    private volatile ObservadorCalificacion[] observadores = SIN_OBSERVADORES; // Copia en escritura
 
     /**
      * Constructor por defecto
@@ -42,21 +48,81 @@ public class Evaluacion {
     }
 
     /**
-     * Método para calificar la evaluación
+     * Método para calificar la evaluación. Leer la nota anterior, cambiarla y
+     * avisar ocurre bajo el monitor de la evaluación: dos calificaciones
+     * simultáneas llegan a los observadores como pares (anterior, nueva)
+     * encadenados, en el mismo orden en que se aplicaron.
      * @param notaObtenida Nota obtenida por el estudiante
      * @return true si la calificación fue exitosa, false si la nota está fuera de rango
      */
-    public boolean calificar(double notaObtenida) {
+    public synchronized boolean calificar(double notaObtenida) {
         if (notaObtenida >= 0 && notaObtenida <= notaMaxima) {
+            double anterior = this.notaObtenida;
             this.notaObtenida = notaObtenida;
-            System.out.println("Evaluación '" + nombre + "' calificada con: " + notaObtenida + "/" + notaMaxima);
+            Bitacora.debug(() -> "Evaluación '" + nombre + "' calificada con: " + notaObtenida + "/" + notaMaxima);
+            ObservadorCalificacion[] actuales = observadores;
+            for (int i = 0; i < actuales.length; i++) {
+                actuales[i].calificacionCambiada(this, anterior, notaObtenida);
+            }
             return true;
         } else {
-            System.out.println("Error: La nota " + notaObtenida + " está fuera del rango permitido (0-" + notaMaxima + ")");
+            Bitacora.advertencia(() -> "Error: La nota " + notaObtenida + " está fuera del rango permitido (0-" + notaMaxima + ")");
             return false;
         }
     }
 
+    /**
+     * Califica sin registrar mensajes ni avisar a los observadores, para
+     * evaluaciones recién creadas en operaciones en lote
+     * @param notaObtenida Nota obtenida por el estudiante
+     * @return true si la nota está dentro del rango
+     */
+    public synchronized boolean calificarSinAviso(double notaObtenida) {
+        if (notaObtenida >= 0 && notaObtenida <= notaMaxima) {
+            this.notaObtenida = notaObtenida;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Método para recibir los cambios de nota de esta evaluación.
+     * Registrar dos veces el mismo observador no tiene efecto.
+     * @param observador Observador a registrar
+     * @return true si no estaba registrado
+     */
+    public synchronized boolean agregarObservadorCalificacion(ObservadorCalificacion observador) {
+        ObservadorCalificacion[] actuales = observadores;
+        for (ObservadorCalificacion actual : actuales) {
+            if (actual == observador) {
+                return false;
+            }
+        }
+        ObservadorCalificacion[] nuevos = Arrays.copyOf(actuales, actuales.length + 1);
+        nuevos[actuales.length] = observador;
+        observadores = nuevos;
+        return true;
+    }
+
+    /**
+     * Método para dejar de recibir los cambios de nota de esta evaluación
+     * @param observador Observador a eliminar
+     * @return true si estaba registrado
+     */
+    public synchronized boolean eliminarObservadorCalificacion(ObservadorCalificacion observador) {
+        ObservadorCalificacion[] actuales = observadores;
+        for (int i = 0; i < actuales.length; i++) {
+            if (actuales[i] == observador) {
+                ObservadorCalificacion[] nuevos = new ObservadorCalificacion[actuales.length - 1];
+                System.arraycopy(actuales, 0, nuevos, 0, i);
+                System.arraycopy(actuales, i + 1, nuevos, i, actuales.length - i - 1);
+                observadores = nuevos.length == 0 ? SIN_OBSERVADORES : nuevos;
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Método para verificar si la evaluación ya ha sido calificada
      * @return true si ya fue calificada, false en caso contrario
@@ -121,6 +187,21 @@ public class Evaluacion {
         return notaObtenida;
     }
 
+    /**
+     * Restaura una nota ya validada, sin mensajes (vistas del almacén columnar)
+     */
+    void setNotaObtenida(double notaObtenida) {
+        this.notaObtenida = notaObtenida;
+    }
+
+    /**
+     * Calificación usada por las estrategias y observadores de proyectos
+     * @return Nota obtenida
+     */
+    public double getCalificacion() {
+        return notaObtenida;
+    }
+
     public Estudiante getEstudianteEvaluado() {
         return estudianteEvaluado;
     }
@@ -129,6 +210,14 @@ public class Evaluacion {
         this.estudianteEvaluado = estudianteEvaluado;
     }
 
+    public Proyecto getProyecto() {
+        return proyecto;
+    }
+
+    public void setProyecto(Proyecto proyecto) {
+        this.proyecto = proyecto;
+    }
+
     public String getTipo() {
         return tipo;
     }
@@ -0,0 +1,15 @@
+package com.ues.model;
+
+/**
+ * Interfaz para quien necesita enterarse cuando cambia la nota de una
+ * evaluación (estadísticas de proyecto, resúmenes por país).
+ */
+public interface ObservadorCalificacion {
+    /**
+     * Método invocado después de calificar una evaluación
+     * @param evaluacion Evaluación calificada
+     * @param anterior Nota previa (-1 si no estaba calificada)
+     * @param nueva Nota asignada
+     */
+    void calificacionCambiada(Evaluacion evaluacion, double anterior, double nueva);
+}
@@ -1,5 +1,6 @@
 package com.ues.model;
 
+import com.ues.log.Bitacora;
 import java.util.List;
 
 /**
@@ -44,10 +45,19 @@ public class Profesor {
     public void asignarCurso(Curso curso) {
         if (cursosImpartidos != null && !cursosImpartidos.contains(curso)) {
             cursosImpartidos.add(curso);
-            System.out.println("Profesor " + nombre + " asignado al curso: " + curso.getNombre());
+            Bitacora.debug(() -> "Profesor " + nombre + " asignado al curso: " + curso.getNombre());
         }
     }
 
+    /**
+     * Deja de impartir el curso, por ejemplo cuando se reemplaza su registro
+     * @param curso Curso a quitar
+     * @return true si lo impartía
+     */
+    public boolean quitarCurso(Curso curso) {
+        return cursosImpartidos != null && cursosImpartidos.remove(curso);
+    }
+
     /**
      * Método para asignar un proyecto al profesor como supervisor
      * @param proyecto Proyecto que será supervisado por el profesor
@@ -55,7 +65,7 @@ public class Profesor {
     public void supervisarProyecto(Proyecto proyecto) {
         if (proyectosSupervisados != null && !proyectosSupervisados.contains(proyecto)) {
             proyectosSupervisados.add(proyecto);
-            System.out.println("Profesor " + nombre + " supervisando el proyecto: " + proyecto.getNombre());
+            Bitacora.debug(() -> "Profesor " + nombre + " supervisando el proyecto: " + proyecto.getNombre());
         }
     }
 
@@ -0,0 +1,19 @@
+package com.ues.model;
+
+/**
+ * Interfaz para quien lleva cuentas sobre las evaluaciones de un proyecto
+ * (ej. resúmenes por país): se entera cuando una evaluación entra o sale.
+ */
+public interface SeguidorEvaluaciones {
+    /**
+     * Método invocado después de agregar una evaluación al proyecto
+     * @param evaluacion Evaluación agregada
+     */
+    void evaluacionAgregada(Evaluacion evaluacion);
+
+    /**
+     * Método invocado después de quitar una evaluación del proyecto
+     * @param evaluacion Evaluación retirada
+     */
+    void evaluacionQuitada(Evaluacion evaluacion);
+}
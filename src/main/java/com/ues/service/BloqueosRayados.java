@@ -0,0 +1,90 @@
+package com.ues.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * BLOQUEOS RAYADOS (LOCK STRIPING)
+ *
+ * Conjunto fijo de candados indexados por la identidad de las entidades.
+ * Las operaciones que tocan dos entidades toman ambas franjas siempre en el
+ * mismo orden (índice menor primero) para evitar interbloqueos, sin recurrir
+ * a un candado global.
+ */
+public class BloqueosRayados {
+    private final ReentrantLock[] franjas;
+    private final int mascara;
+    private final boolean porValor;
+
+    /**
+     * @param cantidad Número mínimo de franjas (se redondea a potencia de 2)
+     */
+    public BloqueosRayados(int cantidad) {
+        this(cantidad, false);
+    }
+
+    /**
+     * @param cantidad Número mínimo de franjas (se redondea a potencia de 2)
+     * @param porValor true para indexar por hashCode (claves como ids de
+     *                 texto) en lugar de por identidad
+     */
+    public BloqueosRayados(int cantidad, boolean porValor) {
+        this.porValor = porValor;
+        int tamanio = Integer.highestOneBit(Math.max(1, cantidad - 1)) << 1;
+        this.franjas = new ReentrantLock[tamanio];
+        this.mascara = tamanio - 1;
+        for (int i = 0; i < tamanio; i++) {
+            franjas[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Ejecuta la acción con la franja de una entidad tomada.
+     */
+    public <T> T ejecutar(Object entidad, Supplier<T> accion) {
+        ReentrantLock candado = franjas[indice(entidad)];
+        candado.lock();
+        try {
+            return accion.get();
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Ejecuta la acción con las franjas de ambas entidades tomadas.
+     */
+    public <T> T ejecutar(Object primera, Object segunda, Supplier<T> accion) {
+        int i = indice(primera);
+        int j = indice(segunda);
+        if (i == j) {
+            return ejecutar(primera, accion);
+        }
+
+        ReentrantLock menor = franjas[Math.min(i, j)];
+        ReentrantLock mayor = franjas[Math.max(i, j)];
+        menor.lock();
+        try {
+            mayor.lock();
+            try {
+                return accion.get();
+            } finally {
+                mayor.unlock();
+            }
+        } finally {
+            menor.unlock();
+        }
+    }
+
+    public void ejecutar(Object primera, Object segunda, Runnable accion) {
+        ejecutar(primera, segunda, () -> {
+            accion.run();
+            return null;
+        });
+    }
+
+    private int indice(Object entidad) {
+        int hash = porValor ? entidad.hashCode() : System.identityHashCode(entidad);
+        return (hash ^ (hash >>> 16)) & mascara;
+    }
+}
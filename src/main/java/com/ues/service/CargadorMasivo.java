@@ -0,0 +1,856 @@
+package com.ues.service;
+
+import com.ues.log.Bitacora;
+import com.ues.service.UniversidadService.EstadoOperacion;
+import com.ues.service.UniversidadService.ResultadoLote;
+import com.ues.service.UniversidadService.SolicitudEvaluacion;
+import com.ues.service.UniversidadService.SolicitudInscripcion;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * CARGADOR MASIVO CSV / NDJSON
+ *
+ * Lee el archivo por un FileChannel con un buffer directo, línea por línea,
+ * sin cargarlo completo. Cada línea se divide en posiciones (inicio, fin)
+ * sobre un mismo arreglo de bytes: solo se crean String para los campos que
+ * se usan, las columnas que sobran se ignoran y los números se leen
+ * directamente de los bytes.
+ *
+ * Las claves foráneas (país, profesor) se validan contra los repositorios
+ * al leer cada línea; las de inscripciones y evaluaciones las valida el
+ * método en lote del servicio. Cada lote se aplica en paralelo mientras se
+ * lee el siguiente; si un id se repite dentro del lote, sus líneas se
+ * aplican en orden y gana la última.
+ *
+ * Columnas por tipo (encabezado del CSV o claves del objeto NDJSON):
+ * - ESTUDIANTES: id, nombre, pais
+ * - PROFESORES: id, nombre
+ * - CURSOS: id, nombre, profesor
+ * - INSCRIPCIONES: estudiante, curso
+ * - EVALUACIONES: estudiante, proyecto, calificacion
+ *
+ * Los campos CSV entre comillas no pueden contener saltos de línea.
+ */
+public class CargadorMasivo {
+    private static final int TAMANIO_LOTE_POR_DEFECTO = 8192;
+    private static final int TAMANIO_BUFFER = 256 * 1024;
+    private static final int MAX_ERRORES_DETALLADOS = 100;
+
+    public enum TipoRegistro {
+        ESTUDIANTES("id", "nombre", "pais"),
+        PROFESORES("id", "nombre"),
+        CURSOS("id", "nombre", "profesor"),
+        INSCRIPCIONES("estudiante", "curso"),
+        EVALUACIONES("estudiante", "proyecto", "calificacion");
+
+        private final String[] columnas;
+        private final byte[][] clavesBytes;
+
+        TipoRegistro(String... columnas) {
+            this.columnas = columnas;
+            this.clavesBytes = new byte[columnas.length][];
+            for (int i = 0; i < columnas.length; i++) {
+                clavesBytes[i] = columnas[i].getBytes(StandardCharsets.UTF_8);
+            }
+        }
+
+        public List<String> getColumnas() {
+            return Collections.unmodifiableList(Arrays.asList(columnas));
+        }
+    }
+
+    public enum Formato {
+        CSV,
+        NDJSON;
+
+        /**
+         * Formato según la extensión: .ndjson o .jsonl es NDJSON, el resto CSV.
+         */
+        public static Formato desde(Path archivo) {
+            String nombre = archivo.getFileName().toString().toLowerCase();
+            return nombre.endsWith(".ndjson") || nombre.endsWith(".jsonl") ? NDJSON : CSV;
+        }
+    }
+
+    private final UniversidadService servicio;
+    private final int tamanioLote;
+    private final Consumer<Progreso> alProgresar;
+
+    public CargadorMasivo(UniversidadService servicio) {
+        this(servicio, TAMANIO_LOTE_POR_DEFECTO, progreso -> { });
+    }
+
+    /**
+     * @param tamanioLote Registros por lote aplicado
+     * @param alProgresar Recibe el progreso al terminar cada lote
+     */
+    public CargadorMasivo(UniversidadService servicio, int tamanioLote, Consumer<Progreso> alProgresar) {
+        if (tamanioLote <= 0) {
+            throw new IllegalArgumentException("Tamaño de lote inválido: " + tamanioLote);
+        }
+        this.servicio = servicio;
+        this.tamanioLote = tamanioLote;
+        this.alProgresar = alProgresar;
+    }
+
+    public ResultadoCarga cargar(Path archivo, TipoRegistro tipo) throws IOException {
+        return cargar(archivo, tipo, Formato.desde(archivo));
+    }
+
+    /**
+     * Carga el archivo completo y devuelve los totales por estado.
+     */
+    public ResultadoCarga cargar(Path archivo, TipoRegistro tipo, Formato formato) throws IOException {
+        Carga carga = new Carga();
+        long inicio = System.nanoTime();
+
+        try (LectorLineas lector = new LectorLineas(archivo)) {
+            Registro registro = new Registro(tipo.columnas.length);
+            int[] columnaDePosicion = null; // Solo CSV: posición en la línea -> columna
+            if (formato == Formato.CSV) {
+                if (!lector.siguiente()) {
+                    return carga.resultado(lector, inicio);
+                }
+                columnaDePosicion = leerEncabezado(lector, tipo);
+            }
+
+            Lote lote = new Lote(tamanioLote);
+            CompletableFuture<Void> enCurso = CompletableFuture.completedFuture(null);
+            while (lector.siguiente()) {
+                if (lector.largo == 0) {
+                    continue;
+                }
+                boolean valido = formato == Formato.CSV
+                    ? registro.dividirCsv(lector.linea, lector.largo, columnaDePosicion)
+                    : registro.dividirJson(lector.linea, lector.largo, tipo.clavesBytes);
+                if (valido && registro.completo()) {
+                    agregar(tipo, registro, lector.numeroLinea, lote, carga);
+                } else {
+                    carga.rechazar(lector.numeroLinea, EstadoOperacion.FORMATO_INVALIDO);
+                }
+
+                if (lote.tamanio() >= tamanioLote) {
+                    // Aplicar este lote en paralelo mientras se lee el siguiente
+                    enCurso.join();
+                    carga.publicar(lector, inicio, alProgresar);
+                    Lote listo = lote;
+                    enCurso = CompletableFuture.runAsync(() -> aplicar(tipo, listo, carga));
+                    lote = new Lote(tamanioLote);
+                }
+            }
+            enCurso.join();
+            aplicar(tipo, lote, carga);
+            carga.publicar(lector, inicio, alProgresar);
+
+            ResultadoCarga resultado = carga.resultado(lector, inicio);
+            Bitacora.info(() -> "📥 Carga de " + tipo + " desde " + archivo.getFileName() + ": " + resultado);
+            return resultado;
+        }
+    }
+
+    // ========== VALIDACIÓN Y APLICACIÓN ==========
+
+    /**
+     * Valida las claves foráneas que no revisa el servicio y agrega el
+     * registro al lote.
+     */
+    private void agregar(TipoRegistro tipo, Registro registro, long linea, Lote lote, Carga carga) {
+        switch (tipo) {
+            case ESTUDIANTES: {
+                String pais = registro.texto(2);
+                if (!servicio.getPaises().containsKey(pais)) {
+                    carga.rechazar(linea, EstadoOperacion.PAIS_NO_ENCONTRADO);
+                    return;
+                }
+                lote.agregar(linea, new String[] {registro.texto(0), registro.texto(1), pais});
+                break;
+            }
+            case PROFESORES:
+                lote.agregar(linea, new String[] {registro.texto(0), registro.texto(1)});
+                break;
+            case CURSOS: {
+                String profesor = registro.texto(2);
+                if (!servicio.getProfesores().containsKey(profesor)) {
+                    carga.rechazar(linea, EstadoOperacion.PROFESOR_NO_ENCONTRADO);
+                    return;
+                }
+                lote.agregar(linea, new String[] {registro.texto(0), registro.texto(1), profesor});
+                break;
+            }
+            case INSCRIPCIONES:
+                lote.agregar(linea, new SolicitudInscripcion(registro.texto(0), registro.texto(1)));
+                break;
+            case EVALUACIONES: {
+                double calificacion = registro.numero(2);
+                if (Double.isNaN(calificacion)) {
+                    carga.rechazar(linea, EstadoOperacion.FORMATO_INVALIDO);
+                    return;
+                }
+                lote.agregar(linea, new SolicitudEvaluacion(registro.texto(0), registro.texto(1), calificacion));
+                break;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void aplicar(TipoRegistro tipo, Lote lote, Carga carga) {
+        int n = lote.tamanio();
+        if (n == 0) {
+            return;
+        }
+        EstadoOperacion[] estados;
+        switch (tipo) {
+            case INSCRIPCIONES:
+                estados = estadosDe(servicio.inscribirEnLote((List<SolicitudInscripcion>) (List<?>) lote.elementos));
+                break;
+            case EVALUACIONES:
+                estados = estadosDe(servicio.registrarEvaluacionesEnLote(
+                    (List<SolicitudEvaluacion>) (List<?>) lote.elementos));
+                break;
+            default:
+                // Sin método en lote: las entidades se crean en paralelo sobre
+                // los repositorios concurrentes del servicio. Los ids repetidos
+                // en el lote se crean después y en orden de archivo, para que
+                // gane la última línea como en una carga secuencial
+                EstadoOperacion[] creados = new EstadoOperacion[n];
+                boolean[] repetido = marcarIdsRepetidos(lote);
+                IntStream.range(0, n).parallel()
+                    .filter(i -> !repetido[i])
+                    .forEach(i -> creados[i] = crear(tipo, (String[]) lote.elementos.get(i)));
+                for (int i = 0; i < n; i++) {
+                    if (repetido[i]) {
+                        creados[i] = crear(tipo, (String[]) lote.elementos.get(i));
+                    }
+                }
+                estados = creados;
+                break;
+        }
+        for (int i = 0; i < n; i++) {
+            if (estados[i] == EstadoOperacion.APLICADA) {
+                carga.aplicar();
+            } else {
+                carga.rechazar(lote.lineas[i], estados[i]);
+            }
+        }
+    }
+
+    private EstadoOperacion crear(TipoRegistro tipo, String[] campos) {
+        // La clave foránea pudo desaparecer entre la lectura y la aplicación
+        EstadoOperacion faltante = claveForaneaFaltante(tipo, campos);
+        if (faltante != null) {
+            return faltante;
+        }
+        try {
+            switch (tipo) {
+                case ESTUDIANTES:
+                    servicio.crearEstudiante(campos[0], campos[1], campos[2]);
+                    break;
+                case PROFESORES:
+                    servicio.crearProfesor(campos[0], campos[1]);
+                    break;
+                case CURSOS:
+                    servicio.crearCurso(campos[0], campos[1], campos[2]);
+                    break;
+                default:
+                    throw new IllegalStateException("Tipo sin creación individual: " + tipo);
+            }
+            return EstadoOperacion.APLICADA;
+        } catch (IllegalArgumentException e) {
+            faltante = claveForaneaFaltante(tipo, campos);
+            if (faltante != null) {
+                return faltante; // Se quitó justo después de la comprobación
+            }
+            Bitacora.debug(() -> tipo + " '" + campos[0] + "' rechazado: " + e.getMessage());
+            return EstadoOperacion.FORMATO_INVALIDO;
+        }
+    }
+
+    /**
+     * @return El estado de rechazo si la clave foránea del registro no
+     *         existe, o null si existe o el tipo no tiene una
+     */
+    private EstadoOperacion claveForaneaFaltante(TipoRegistro tipo, String[] campos) {
+        switch (tipo) {
+            case ESTUDIANTES:
+                return servicio.getPaises().containsKey(campos[2]) ? null : EstadoOperacion.PAIS_NO_ENCONTRADO;
+            case CURSOS:
+                return servicio.getProfesores().containsKey(campos[2]) ? null : EstadoOperacion.PROFESOR_NO_ENCONTRADO;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Marca los registros cuyo id aparece más de una vez en el lote.
+     */
+    private static boolean[] marcarIdsRepetidos(Lote lote) {
+        int n = lote.tamanio();
+        boolean[] repetido = new boolean[n];
+        Map<String, Integer> primera = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            Integer anterior = primera.putIfAbsent(((String[]) lote.elementos.get(i))[0], i);
+            if (anterior != null) {
+                repetido[anterior] = true;
+                repetido[i] = true;
+            }
+        }
+        return repetido;
+    }
+
+    private static EstadoOperacion[] estadosDe(ResultadoLote resultado) {
+        EstadoOperacion[] estados = new EstadoOperacion[resultado.getTotal()];
+        for (int i = 0; i < estados.length; i++) {
+            estados[i] = resultado.getEstado(i);
+        }
+        return estados;
+    }
+
+    /**
+     * Relaciona cada columna esperada con su posición en el encabezado.
+     * @throws IOException si falta alguna columna
+     */
+    private static int[] leerEncabezado(LectorLineas lector, TipoRegistro tipo) throws IOException {
+        String[] encabezado = new String(lector.linea, 0, lector.largo, StandardCharsets.UTF_8).split(",");
+        int[] columnaDePosicion = new int[encabezado.length];
+        Arrays.fill(columnaDePosicion, -1);
+        boolean[] encontradas = new boolean[tipo.columnas.length];
+        for (int posicion = 0; posicion < encabezado.length; posicion++) {
+            String nombre = encabezado[posicion].trim().replace("\"", "");
+            for (int columna = 0; columna < tipo.columnas.length; columna++) {
+                if (tipo.columnas[columna].equalsIgnoreCase(nombre)) {
+                    columnaDePosicion[posicion] = columna;
+                    encontradas[columna] = true;
+                }
+            }
+        }
+        for (int columna = 0; columna < encontradas.length; columna++) {
+            if (!encontradas[columna]) {
+                throw new IOException("Falta la columna '" + tipo.columnas[columna] + "' en el encabezado");
+            }
+        }
+        return columnaDePosicion;
+    }
+
+    // ========== CLASES INTERNAS ==========
+
+    /**
+     * Progreso de una carga en curso.
+     */
+    public static class Progreso {
+        private final long lineas;
+        private final long aplicados;
+        private final long rechazados;
+        private final long bytesLeidos;
+        private final long bytesTotales;
+        private final long nanos;
+
+        Progreso(long lineas, long aplicados, long rechazados, long bytesLeidos,
+                 long bytesTotales, long nanos) {
+            this.lineas = lineas;
+            this.aplicados = aplicados;
+            this.rechazados = rechazados;
+            this.bytesLeidos = bytesLeidos;
+            this.bytesTotales = bytesTotales;
+            this.nanos = nanos;
+        }
+
+        public long getLineas() { return lineas; }
+        public long getAplicados() { return aplicados; }
+        public long getRechazados() { return rechazados; }
+        public long getBytesLeidos() { return bytesLeidos; }
+        public long getBytesTotales() { return bytesTotales; }
+        public long getMilisegundos() { return nanos / 1_000_000; }
+
+        public double getPorcentaje() {
+            return bytesTotales == 0 ? 100 : 100.0 * bytesLeidos / bytesTotales;
+        }
+
+        public double getRegistrosPorSegundo() {
+            return nanos == 0 ? 0 : (aplicados + rechazados) * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.1f%% (%d aplicados, %d rechazados, %.0f reg/s)",
+                                 getPorcentaje(), aplicados, rechazados, getRegistrosPorSegundo());
+        }
+    }
+
+    /**
+     * Resultado final: progreso, totales por estado y el detalle de los
+     * primeros errores.
+     */
+    public static class ResultadoCarga {
+        private final Progreso progreso;
+        private final Map<EstadoOperacion, Long> porEstado;
+        private final List<String> errores;
+
+        ResultadoCarga(Progreso progreso, Map<EstadoOperacion, Long> porEstado, List<String> errores) {
+            this.progreso = progreso;
+            this.porEstado = Collections.unmodifiableMap(porEstado);
+            this.errores = Collections.unmodifiableList(errores);
+        }
+
+        public Progreso getProgreso() { return progreso; }
+        public Map<EstadoOperacion, Long> getPorEstado() { return porEstado; }
+
+        public long contar(EstadoOperacion estado) {
+            return porEstado.getOrDefault(estado, 0L);
+        }
+
+        /**
+         * "línea N: ESTADO" de los primeros rechazos, hasta 100.
+         */
+        public List<String> getErrores() { return errores; }
+
+        @Override
+        public String toString() {
+            return progreso.getAplicados() + " aplicados, " + progreso.getRechazados() +
+                   " rechazados en " + progreso.getMilisegundos() + " ms";
+        }
+    }
+
+    /**
+     * Totales de una carga. Lo actualizan el hilo lector y el que aplica lotes.
+     */
+    private static final class Carga {
+        private final Map<EstadoOperacion, Long> porEstado = new EnumMap<>(EstadoOperacion.class);
+        private final List<String> errores = new ArrayList<>();
+        private long aplicados;
+        private long rechazados;
+
+        synchronized void aplicar() {
+            aplicados++;
+            porEstado.merge(EstadoOperacion.APLICADA, 1L, Long::sum);
+        }
+
+        synchronized void rechazar(long linea, EstadoOperacion estado) {
+            rechazados++;
+            porEstado.merge(estado, 1L, Long::sum);
+            if (errores.size() < MAX_ERRORES_DETALLADOS) {
+                errores.add("línea " + linea + ": " + estado);
+            }
+        }
+
+        synchronized Progreso progreso(LectorLineas lector, long inicio) {
+            return new Progreso(lector.numeroLinea, aplicados, rechazados, lector.bytesLeidos,
+                                lector.bytesTotales, System.nanoTime() - inicio);
+        }
+
+        void publicar(LectorLineas lector, long inicio, Consumer<Progreso> alProgresar) {
+            alProgresar.accept(progreso(lector, inicio));
+        }
+
+        synchronized ResultadoCarga resultado(LectorLineas lector, long inicio) {
+            return new ResultadoCarga(progreso(lector, inicio), new EnumMap<>(porEstado), new ArrayList<>(errores));
+        }
+    }
+
+    /**
+     * Registros listos para aplicar y la línea de la que salió cada uno.
+     */
+    private static final class Lote {
+        final List<Object> elementos;
+        long[] lineas;
+
+        Lote(int capacidad) {
+            elementos = new ArrayList<>(capacidad);
+            lineas = new long[capacidad];
+        }
+
+        void agregar(long linea, Object elemento) {
+            if (elementos.size() == lineas.length) {
+                lineas = Arrays.copyOf(lineas, lineas.length * 2);
+            }
+            lineas[elementos.size()] = linea;
+            elementos.add(elemento);
+        }
+
+        int tamanio() {
+            return elementos.size();
+        }
+    }
+
+    /**
+     * Lee líneas de un FileChannel a un arreglo de bytes reutilizable.
+     */
+    private static final class LectorLineas implements AutoCloseable {
+        private final FileChannel canal;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANIO_BUFFER);
+        final long bytesTotales;
+        long bytesLeidos;
+        long numeroLinea;
+        byte[] linea = new byte[1024];
+        int largo;
+
+        LectorLineas(Path archivo) throws IOException {
+            canal = FileChannel.open(archivo, StandardOpenOption.READ);
+            bytesTotales = canal.size();
+            buffer.flip(); // Vacío hasta la primera lectura
+        }
+
+        /**
+         * Carga la siguiente línea, sin el salto de línea.
+         * @return false al llegar al final del archivo
+         */
+        boolean siguiente() throws IOException {
+            largo = 0;
+            boolean leyo = false;
+            while (true) {
+                if (!buffer.hasRemaining()) {
+                    buffer.clear();
+                    int leidos = canal.read(buffer);
+                    buffer.flip();
+                    if (leidos <= 0) {
+                        if (leyo) {
+                            terminarLinea();
+                        }
+                        return leyo;
+                    }
+                    bytesLeidos += leidos;
+                }
+                leyo = true;
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    if (b == '\n') {
+                        terminarLinea();
+                        return true;
+                    }
+                    if (largo == linea.length) {
+                        linea = Arrays.copyOf(linea, largo * 2);
+                    }
+                    linea[largo++] = b;
+                }
+            }
+        }
+
+        private void terminarLinea() {
+            numeroLinea++;
+            if (largo > 0 && linea[largo - 1] == '\r') {
+                largo--;
+            }
+            // Marca de orden de bytes UTF-8 al inicio del archivo
+            if (numeroLinea == 1 && largo >= 3 && linea[0] == (byte) 0xEF
+                    && linea[1] == (byte) 0xBB && linea[2] == (byte) 0xBF) {
+                System.arraycopy(linea, 3, linea, 0, largo - 3);
+                largo -= 3;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            canal.close();
+        }
+    }
+
+    /**
+     * Posiciones de los campos de la línea actual, por columna esperada.
+     */
+    private static final class Registro {
+        private final int[] inicio;
+        private final int[] fin;
+        private final boolean[] escapado; // Requiere decodificar comillas o '\'
+        private byte[] bytes;
+        private boolean json;
+
+        Registro(int columnas) {
+            inicio = new int[columnas];
+            fin = new int[columnas];
+            escapado = new boolean[columnas];
+        }
+
+        private void limpiar(byte[] linea, boolean json) {
+            this.bytes = linea;
+            this.json = json;
+            Arrays.fill(inicio, -1);
+        }
+
+        boolean completo() {
+            for (int columna = 0; columna < inicio.length; columna++) {
+                if (inicio[columna] < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean dividirCsv(byte[] linea, int largo, int[] columnaDePosicion) {
+            limpiar(linea, false);
+            int posicion = 0;
+            int i = 0;
+            while (true) {
+                int desde;
+                int hasta;
+                boolean conEscape = false;
+                if (i < largo && linea[i] == '"') {
+                    desde = ++i;
+                    while (i < largo && !(linea[i] == '"' && (i + 1 >= largo || linea[i + 1] != '"'))) {
+                        if (linea[i] == '"') {
+                            conEscape = true;
+                            i++; // Comilla doble escapada
+                        }
+                        i++;
+                    }
+                    if (i >= largo) {
+                        return false; // Comillas sin cerrar
+                    }
+                    hasta = i++;
+                    if (i < largo && linea[i] != ',') {
+                        return false;
+                    }
+                } else {
+                    desde = i;
+                    while (i < largo && linea[i] != ',') {
+                        i++;
+                    }
+                    hasta = i;
+                }
+                if (posicion < columnaDePosicion.length && columnaDePosicion[posicion] >= 0) {
+                    int columna = columnaDePosicion[posicion];
+                    inicio[columna] = desde;
+                    fin[columna] = hasta;
+                    escapado[columna] = conEscape;
+                }
+                posicion++;
+                if (i >= largo) {
+                    return true;
+                }
+                i++; // Coma
+            }
+        }
+
+        /**
+         * Objeto JSON plano: claves de texto y valores de texto, número,
+         * booleano o null (null cuenta como campo ausente).
+         */
+        boolean dividirJson(byte[] linea, int largo, byte[][] claves) {
+            limpiar(linea, true);
+            int i = saltarEspacios(linea, 0, largo);
+            if (i >= largo || linea[i] != '{') {
+                return false;
+            }
+            i = saltarEspacios(linea, i + 1, largo);
+            if (i < largo && linea[i] == '}') {
+                return true;
+            }
+            while (true) {
+                if (i >= largo || linea[i] != '"') {
+                    return false;
+                }
+                int claveDesde = ++i;
+                i = finDeCadena(linea, i, largo);
+                if (i >= largo) {
+                    return false;
+                }
+                int claveHasta = i++;
+                i = saltarEspacios(linea, i, largo);
+                if (i >= largo || linea[i] != ':') {
+                    return false;
+                }
+                i = saltarEspacios(linea, i + 1, largo);
+                if (i >= largo) {
+                    return false;
+                }
+
+                int desde;
+                int hasta;
+                boolean conEscape = false;
+                if (linea[i] == '"') {
+                    desde = ++i;
+                    i = finDeCadena(linea, i, largo);
+                    if (i >= largo) {
+                        return false;
+                    }
+                    conEscape = contiene(linea, desde, i, (byte) '\\');
+                    hasta = i++;
+                } else {
+                    desde = i;
+                    while (i < largo && linea[i] != ',' && linea[i] != '}' && linea[i] != ' ' && linea[i] != '\t') {
+                        i++;
+                    }
+                    hasta = i;
+                    if (hasta - desde == 4 && linea[desde] == 'n') {
+                        desde = -1; // null
+                    }
+                }
+
+                int columna = buscarClave(linea, claveDesde, claveHasta, claves);
+                if (columna >= 0 && desde >= 0) {
+                    inicio[columna] = desde;
+                    fin[columna] = hasta;
+                    escapado[columna] = conEscape;
+                }
+
+                i = saltarEspacios(linea, i, largo);
+                if (i < largo && linea[i] == ',') {
+                    i = saltarEspacios(linea, i + 1, largo);
+                } else {
+                    return i < largo && linea[i] == '}';
+                }
+            }
+        }
+
+        /**
+         * Texto de la columna; solo aquí se crea un String.
+         */
+        String texto(int columna) {
+            int desde = inicio[columna];
+            int hasta = fin[columna];
+            if (!escapado[columna]) {
+                return new String(bytes, desde, hasta - desde, StandardCharsets.UTF_8).trim();
+            }
+            String crudo = new String(bytes, desde, hasta - desde, StandardCharsets.UTF_8);
+            return (json ? decodificarJson(crudo) : crudo.replace("\"\"", "\"")).trim();
+        }
+
+        /**
+         * Número de la columna leído de los bytes; NaN si no es un número.
+         * Usa Double.parseDouble solo para exponentes o más de 15 dígitos.
+         */
+        double numero(int columna) {
+            int i = inicio[columna];
+            int hasta = fin[columna];
+            while (i < hasta && bytes[i] == ' ') {
+                i++;
+            }
+            while (hasta > i && bytes[hasta - 1] == ' ') {
+                hasta--;
+            }
+            boolean negativo = i < hasta && bytes[i] == '-';
+            if (negativo) {
+                i++;
+            }
+            long mantisa = 0;
+            int digitos = 0;
+            int decimales = 0;
+            boolean punto = false;
+            for (; i < hasta; i++) {
+                byte b = bytes[i];
+                if (b >= '0' && b <= '9') {
+                    mantisa = mantisa * 10 + (b - '0');
+                    digitos++;
+                    if (punto) {
+                        decimales++;
+                    }
+                } else if (b == '.' && !punto) {
+                    punto = true;
+                } else {
+                    return numeroLento(columna);
+                }
+            }
+            if (digitos == 0) {
+                return Double.NaN;
+            }
+            if (digitos > 15) {
+                return numeroLento(columna);
+            }
+            // Mantisa y potencia exactas en double: la división redondea bien
+            double valor = mantisa / POTENCIAS_DE_DIEZ[decimales];
+            return negativo ? -valor : valor;
+        }
+
+        private double numeroLento(int columna) {
+            try {
+                return Double.parseDouble(texto(columna));
+            } catch (NumberFormatException e) {
+                return Double.NaN;
+            }
+        }
+
+        private static final double[] POTENCIAS_DE_DIEZ = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+        };
+
+        private static int saltarEspacios(byte[] linea, int i, int largo) {
+            while (i < largo && (linea[i] == ' ' || linea[i] == '\t')) {
+                i++;
+            }
+            return i;
+        }
+
+        /**
+         * Posición de la comilla que cierra la cadena que empieza en i.
+         */
+        private static int finDeCadena(byte[] linea, int i, int largo) {
+            while (i < largo && linea[i] != '"') {
+                if (linea[i] == '\\') {
+                    i++;
+                }
+                i++;
+            }
+            return i;
+        }
+
+        private static boolean contiene(byte[] linea, int desde, int hasta, byte buscado) {
+            for (int i = desde; i < hasta; i++) {
+                if (linea[i] == buscado) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static int buscarClave(byte[] linea, int desde, int hasta, byte[][] claves) {
+            for (int columna = 0; columna < claves.length; columna++) {
+                byte[] clave = claves[columna];
+                if (clave.length == hasta - desde && igualesEn(linea, desde, clave)) {
+                    return columna;
+                }
+            }
+            return -1;
+        }
+
+        private static boolean igualesEn(byte[] linea, int desde, byte[] clave) {
+            for (int i = 0; i < clave.length; i++) {
+                if (linea[desde + i] != clave[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static String decodificarJson(String crudo) {
+            StringBuilder texto = new StringBuilder(crudo.length());
+            for (int i = 0; i < crudo.length(); i++) {
+                char c = crudo.charAt(i);
+                if (c != '\\' || i + 1 >= crudo.length()) {
+                    texto.append(c);
+                    continue;
+                }
+                char siguiente = crudo.charAt(++i);
+                switch (siguiente) {
+                    case 'n': texto.append('\n'); break;
+                    case 't': texto.append('\t'); break;
+                    case 'r': texto.append('\r'); break;
+                    case 'b': texto.append('\b'); break;
+                    case 'f': texto.append('\f'); break;
+                    case 'u':
+                        try {
+                            texto.append((char) Integer.parseInt(crudo.substring(i + 1, i + 5), 16));
+                            i += 4;
+                        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+                            texto.append("\\u"); // Secuencia inválida: se deja tal cual
+                        }
+                        break;
+                    default: texto.append(siguiente); // \" \\ \/
+                }
+            }
+            return texto.toString();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ues.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ÍNDICE SECUNDARIO SEGURO PARA HILOS
+ * Mantiene clave -> entidades y entidad -> clave, así que buscar por
+ * atributo cuesta O(resultado) y reindexar una entidad no requiere conocer
+ * su clave anterior.
+ */
+public class IndiceSecundario<K, V> {
+    private final ConcurrentHashMap<K, Set<V>> porClave = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<V, K> claveDe = new ConcurrentHashMap<>();
+
+    /**
+     * Asocia la entidad a la clave, quitándola de su clave anterior.
+     */
+    public void indexar(V valor, K clave) {
+        claveDe.compute(valor, (v, anterior) -> {
+            if (anterior != null) {
+                quitarDeClave(anterior, v);
+            }
+            porClave.compute(clave, (k, valores) -> {
+                Set<V> conjunto = valores != null ? valores : ConcurrentHashMap.newKeySet();
+                conjunto.add(v);
+                return conjunto;
+            });
+            return clave;
+        });
+    }
+
+    /**
+     * Quita la entidad del índice.
+     * @return true si estaba indexada
+     */
+    public boolean quitar(V valor) {
+        boolean[] quitado = new boolean[1];
+        claveDe.computeIfPresent(valor, (v, anterior) -> {
+            quitarDeClave(anterior, v);
+            quitado[0] = true;
+            return null;
+        });
+        return quitado[0];
+    }
+
+    /**
+     * Entidades asociadas a la clave (copia).
+     */
+    public List<V> buscar(K clave) {
+        Set<V> valores = clave == null ? null : porClave.get(clave);
+        return valores == null ? Collections.emptyList() : new ArrayList<>(valores);
+    }
+
+    public int contar(K clave) {
+        Set<V> valores = clave == null ? null : porClave.get(clave);
+        return valores == null ? 0 : valores.size();
+    }
+
+    public K getClave(V valor) {
+        return claveDe.get(valor);
+    }
+
+    private void quitarDeClave(K clave, V valor) {
+        porClave.computeIfPresent(clave, (k, valores) -> {
+            valores.remove(valor);
+            return valores.isEmpty() ? null : valores;
+        });
+    }
+}
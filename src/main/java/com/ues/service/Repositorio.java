@@ -0,0 +1,80 @@
+package com.ues.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * REPOSITORIO EN MEMORIA SEGURO PARA HILOS
+ * Envuelve un ConcurrentHashMap indexado por el id de la entidad.
+ */
+public class Repositorio<T> {
+    private final String nombreEntidad;
+    private final ConcurrentHashMap<String, T> entidades = new ConcurrentHashMap<>();
+
+    /**
+     * @param nombreEntidad Nombre usado en los mensajes de error (ej. "Estudiante")
+     */
+    public Repositorio(String nombreEntidad) {
+        this.nombreEntidad = nombreEntidad;
+    }
+
+    /**
+     * Guarda la entidad, reemplazando la que tuviera el mismo id.
+     * @return La entidad reemplazada, o null
+     */
+    public T guardar(String id, T entidad) {
+        return entidades.put(id, entidad);
+    }
+
+    /**
+     * Guarda la entidad solo si el id no existe.
+     * @return true si se guardó
+     */
+    public boolean guardarSiAusente(String id, T entidad) {
+        return entidades.putIfAbsent(id, entidad) == null;
+    }
+
+    /**
+     * @return La entidad o null si no existe
+     */
+    public T buscar(String id) {
+        return id == null ? null : entidades.get(id);
+    }
+
+    /**
+     * @return La entidad
+     * @throws IllegalArgumentException si no existe
+     */
+    public T obtener(String id) {
+        T entidad = buscar(id);
+        if (entidad == null) {
+            throw new IllegalArgumentException(nombreEntidad + " no encontrado: " + id);
+        }
+        return entidad;
+    }
+
+    public boolean existe(String id) {
+        return id != null && entidades.containsKey(id);
+    }
+
+    public T eliminar(String id) {
+        return entidades.remove(id);
+    }
+
+    public Collection<T> todos() {
+        return Collections.unmodifiableCollection(entidades.values());
+    }
+
+    public int tamanio() {
+        return entidades.size();
+    }
+
+    /**
+     * Vista de solo lectura del repositorio como mapa id -> entidad.
+     */
+    public Map<String, T> comoMapa() {
+        return Collections.unmodifiableMap(entidades);
+    }
+}
@@ -3,12 +3,24 @@ package com.ues.service;
 import com.ues.creacional.factory.*;
 import com.ues.creacional.builder.*;
 import com.ues.creacional.singleton.*;
+import com.ues.estructural.adapter.SistemaExternoAdapter;
 import com.ues.estructural.proxy.*;
 import com.ues.estructural.decorator.*;
+import com.ues.comportamiento.iterator.ProyectoIterator;
 import com.ues.comportamiento.observer.*;
 import com.ues.comportamiento.strategy.*;
 import com.ues.model.*;
+import com.ues.log.Bitacora;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * SERVICIO PRINCIPAL QUE INTEGRA TODOS LOS PATRONES
@@ -25,15 +37,55 @@ public class UniversidadService {
     // Proxy
     private ProxyAccesoProyecto proxyAcceso;
     
-    // Repositorios
-    private Map<String, Estudiante> estudiantes;
-    private Map<String, Profesor> profesores;
-    private Map<String, Curso> cursos;
-    private Map<String, Proyecto> proyectos;
-    private Map<String, Pais> paises;
+    // Adapter: sincronización opcional con el registro académico externo
+    private volatile SistemaExternoAdapter sistemaExterno;
+    
+    // Observer: bus central de eventos de proyectos
+    private final BusEventos busEventos;
+    
+    // Repositorios (seguros para hilos)
+    private final Repositorio<Estudiante> estudiantes;
+    private final Repositorio<Profesor> profesores;
+    private final Repositorio<Curso> cursos;
+    private final Repositorio<Proyecto> proyectos;
+    private final Repositorio<Pais> paises;
+    
+    // Diccionario denso de países con acumulados para reportes regionales
+    private final CatalogoPaises catalogoPaises = new CatalogoPaises();
+    
+    // Las recalificaciones de evaluaciones registradas también van al registro
+    // externo. Corre dentro de calificar(), así que solo encola, sin esperar turno
+    private final ObservadorCalificacion reenvioCalificaciones =
+        (evaluacion, anterior, nueva) -> sincronizarEvaluacion(evaluacion, true);
+    
+    // Índices secundarios (consultas por atributo en O(resultado))
+    private final IndiceSecundario<String, Estudiante> estudiantesPorPais = new IndiceSecundario<>();
+    private final IndiceSecundario<String, Proyecto> proyectosPorProfesor = new IndiceSecundario<>();
+    private final IndiceSecundario<String, Curso> cursosPorProfesor = new IndiceSecundario<>();
+    private final Set<Proyecto> proyectosActivos = ConcurrentHashMap.newKeySet();
+    
+    // Candados rayados para operaciones que tocan dos entidades
+    private final BloqueosRayados bloqueos;
+    // Candados por id: reemplazar una entidad y reindexarla es una sola operación
+    private final BloqueosRayados bloqueosIds;
+    // Estudiantes y cursos cuyo registro se está reemplazando: quien los
+    // encuentre al inscribir espera el registro nuevo en vez de usarlos
+    private final Set<Object> enReemplazo = ConcurrentHashMap.newKeySet();
+    // Un reemplazo a la vez: el de un estudiante y el de uno de sus cursos
+    // tocarían las mismas inscripciones
+    private final Object candadoReemplazos = new Object();
+    
+    // Operaciones en lote
+    private static final int TAMANIO_BLOQUE = 1024;    // Elementos por tarea paralela
+    private static final int TAMANIO_LOTE = 64 * 1024; // Elementos leídos de un Stream por lote
+    private final AtomicInteger secuenciaEvaluaciones = new AtomicInteger();
+    private final AtomicInteger secuenciaCursos = new AtomicInteger(); // Ids únicos aun creando en paralelo
+    
+    // Periodos cerrados, fuera del heap
+    private final List<ArchivoEvaluaciones> archivosEvaluaciones = new CopyOnWriteArrayList<>();
     
     public UniversidadService() {
-        System.out.println("🎓 INICIALIZANDO SISTEMA UES-ICCIS");
+        Bitacora.info("🎓 INICIALIZANDO SISTEMA UES-ICCIS");
         
         // Inicializar factories
         estudianteFactory = new EstudianteFactory();
@@ -46,45 +98,95 @@ public class UniversidadService {
         // Inicializar Proxy
         proxyAcceso = new ProxyAccesoProyecto();
         
+        // Inicializar bus de eventos con sus observadores
+        busEventos = new BusEventos();
+        new NotificadorEmail().suscribirseA(busEventos);
+        busEventos.suscribir(evento -> proyectosActivos.remove(evento.getProyecto()),
+                             EventoProyecto.TipoEvento.PROYECTO_CERRADO);
+        
         // Inicializar repositorios
-        estudiantes = new HashMap<>();
-        profesores = new HashMap<>();
-        cursos = new HashMap<>();
-        proyectos = new HashMap<>();
-        paises = new HashMap<>();
+        estudiantes = new Repositorio<>("Estudiante");
+        profesores = new Repositorio<>("Profesor");
+        cursos = new Repositorio<>("Curso");
+        proyectos = new Repositorio<>("Proyecto");
+        paises = new Repositorio<>("País");
+        bloqueos = new BloqueosRayados(64);
+        bloqueosIds = new BloqueosRayados(64, true);
         
         inicializarPaises();
     }
     
     private void inicializarPaises() {
         String[][] datosPaises = {
-            {"PA1", "Colombia"}, {"PA2", "Brasil"}, {"PA3", "Perú"},
-            {"PA4", "Argentina"}, {"PA5", "Chile"}, {"PA6", "Ecuador"},
-            {"PA7", "Venezuela"}, {"PA8", "Bolivia"}, {"PA9", "Paraguay"},
-            {"PA10", "Uruguay"}
+            {"PA1", "Colombia", "CO"}, {"PA2", "Brasil", "BR"}, {"PA3", "Perú", "PE"},
+            {"PA4", "Argentina", "AR"}, {"PA5", "Chile", "CL"}, {"PA6", "Ecuador", "EC"},
+            {"PA7", "Venezuela", "VE"}, {"PA8", "Bolivia", "BO"}, {"PA9", "Paraguay", "PY"},
+            {"PA10", "Uruguay", "UY"}
         };
         
+        // Una sola instancia por país, con id igual a su código denso
         for (String[] datos : datosPaises) {
-            paises.put(datos[0], new Pais(datos[0], datos[1]));
+            paises.guardar(datos[0], catalogoPaises.registrar(datos[0], datos[1], datos[2]));
         }
     }
     
     // ========== MÉTODOS CON FACTORY METHOD ==========
     
     public Estudiante crearEstudiante(String id, String nombre, String idPais) {
-        Pais pais = paises.get(idPais);
+        Pais pais = paises.buscar(idPais);
         if (pais == null) {
             throw new IllegalArgumentException("País no encontrado: " + idPais);
         }
         
         Estudiante estudiante = estudianteFactory.crear(id, nombre, pais);
-        estudiantes.put(id, estudiante);
-        return estudiante;
+        estudiante.setCodigo(id); // El id numérico puede repetirse o quedar en 0
+        return bloqueosIds.ejecutar(id, () -> {
+            Estudiante reemplazado = estudiantes.buscar(id);
+            try {
+                if (reemplazado != null) {
+                    // Antes de publicar el nuevo: nadie más lo modifica todavía
+                    traspasarInscripciones(reemplazado, estudiante);
+                }
+                Estudiante anterior = estudiantes.guardar(id, estudiante);
+                if (anterior != null) {
+                    estudiantesPorPais.quitar(anterior);
+                    catalogoPaises.quitarEstudiante(anterior.getPais());
+                }
+                estudiantesPorPais.indexar(estudiante, idPais);
+                catalogoPaises.registrarEstudiante(pais);
+                return estudiante;
+            } finally {
+                if (reemplazado != null) {
+                    enReemplazo.remove(reemplazado); // El nuevo ya está publicado
+                }
+            }
+        });
+    }
+    
+    /**
+     * Pasa las inscripciones del registro reemplazado al nuevo y mueve su
+     * cuenta por país.
+     */
+    private void traspasarInscripciones(Estudiante anterior, Estudiante nuevo) {
+        synchronized (candadoReemplazos) {
+            List<Curso> inscritos = bloqueos.ejecutar(anterior, () -> {
+                enReemplazo.add(anterior); // Desde aquí nadie más lo inscribe
+                return anterior.getCursosInscritos();
+            });
+            for (Curso curso : inscritos) {
+                bloqueos.ejecutar(anterior, curso, () -> {
+                    if (curso.reemplazarInscrito(anterior, nuevo)) {
+                        catalogoPaises.quitarInscripcion(anterior.getPais());
+                        catalogoPaises.registrarInscripcion(nuevo.getPais());
+                    }
+                });
+            }
+        }
     }
     
     public Profesor crearProfesor(String id, String nombre) {
         Profesor profesor = profesorFactory.crear(id, nombre);
-        profesores.put(id, profesor);
+        profesores.guardar(id, profesor);
         return profesor;
     }
     
@@ -92,7 +194,7 @@ public class UniversidadService {
     
     public Proyecto crearProyectoComplejo(String id, String nombre, String descripcion, 
                                          String idProfesor) {
-        Profesor profesor = profesores.get(idProfesor);
+        Profesor profesor = profesores.buscar(idProfesor);
         if (profesor == null) {
             throw new IllegalArgumentException("Profesor no encontrado");
         }
@@ -108,7 +210,7 @@ public class UniversidadService {
             .agregarObjetivo("Publicar resultados")
             .build();
         
-        proyectos.put(id, proyecto);
+        registrarProyecto(id, proyecto, idProfesor);
         profesor.setProyecto(proyecto);
         
         return proyecto;
@@ -118,7 +220,7 @@ public class UniversidadService {
     
     public Proyecto crearProyectoAmbiental(String id, String nombre, String descripcion,
                                           String idProfesor) {
-        Profesor profesor = profesores.get(idProfesor);
+        Profesor profesor = profesores.buscar(idProfesor);
         if (profesor == null) {
             throw new IllegalArgumentException("Profesor no encontrado");
         }
@@ -126,7 +228,7 @@ public class UniversidadService {
         Proyecto proyectoBase = new Proyecto(id, nombre, descripcion, profesor);
         Proyecto proyectoDecorado = new SeguimientoAmbientalDecorator(proyectoBase);
         
-        proyectos.put(id, proyectoDecorado);
+        registrarProyecto(id, proyectoDecorado, idProfesor);
         profesor.setProyecto(proyectoDecorado);
         
         return proyectoDecorado;
@@ -135,7 +237,7 @@ public class UniversidadService {
     // ========== MÉTODOS CON PROXY ==========
     
     public void accederProyecto(String usuario, String idProyecto) {
-        Proyecto proyecto = proyectos.get(idProyecto);
+        Proyecto proyecto = proyectos.buscar(idProyecto);
         if (proyecto == null) {
             throw new IllegalArgumentException("Proyecto no encontrado");
         }
@@ -147,17 +249,19 @@ public class UniversidadService {
     
     public ProyectoObservable crearProyectoObservable(String id, String nombre, 
                                                      String descripcion, String idProfesor) {
-        Profesor profesor = profesores.get(idProfesor);
+        Profesor profesor = profesores.buscar(idProfesor);
         if (profesor == null) {
             throw new IllegalArgumentException("Profesor no encontrado");
         }
         
         ProyectoObservable proyecto = new ProyectoObservable(id, nombre, descripcion, profesor);
         
-        // Agregar observadores
-        proyecto.agregarObservador(new NotificadorEmail());
+        // Publicar en el bus central (los observadores se suscriben allí)
+        proyecto.setBus(busEventos);
+        // Las evaluaciones agregadas directamente también cuentan por país
+        proyecto.setSeguidorEvaluaciones(catalogoPaises);
         
-        proyectos.put(id, proyecto);
+        registrarProyecto(id, proyecto, idProfesor);
         profesor.setProyecto(proyecto);
         
         return proyecto;
@@ -167,7 +271,7 @@ public class UniversidadService {
     
     public boolean evaluarProyectoConEstrategia(String idProyecto, 
                                                EstrategiaEvaluacion estrategia) {
-        Proyecto proyecto = proyectos.get(idProyecto);
+        Proyecto proyecto = proyectos.buscar(idProyecto);
         if (proyecto == null) {
             throw new IllegalArgumentException("Proyecto no encontrado");
         }
@@ -177,16 +281,621 @@ public class UniversidadService {
     
     // ========== MÉTODOS DE NEGOCIO ==========
     
+    public Curso crearCurso(String id, String nombre, String idProfesor) {
+        Profesor profesor = profesores.obtener(idProfesor);
+        Curso curso = new Curso(secuenciaCursos.incrementAndGet(), nombre, id, null);
+        
+        // El curso y el profesor se actualizan juntos
+        bloqueos.ejecutar(curso, profesor, () -> curso.asignarProfesor(profesor));
+        return bloqueosIds.ejecutar(id, () -> {
+            Curso reemplazado = cursos.buscar(id);
+            try {
+                if (reemplazado != null) {
+                    // Igual que con estudiantes: antes de publicar el nuevo
+                    traspasarCurso(reemplazado, curso);
+                }
+                Curso anterior = cursos.guardar(id, curso);
+                if (anterior != null) {
+                    cursosPorProfesor.quitar(anterior);
+                }
+                cursosPorProfesor.indexar(curso, idProfesor);
+                return curso;
+            } finally {
+                if (reemplazado != null) {
+                    enReemplazo.remove(reemplazado);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Pasa los inscritos del curso reemplazado al nuevo y lo quita de los
+     * cursos de su profesor. Los inscritos son los mismos, así que las
+     * cuentas por país no cambian.
+     */
+    private void traspasarCurso(Curso anterior, Curso nuevo) {
+        synchronized (candadoReemplazos) {
+            List<Estudiante> inscritos = bloqueos.ejecutar(anterior, () -> {
+                enReemplazo.add(anterior); // Desde aquí nadie más se inscribe en él
+                return anterior.getEstudiantesInscritos();
+            });
+            for (Estudiante estudiante : inscritos) {
+                bloqueos.ejecutar(estudiante, anterior, () -> {
+                    anterior.trasladarInscrito(estudiante, nuevo);
+                });
+            }
+        }
+        Profesor profesor = anterior.getProfesor();
+        if (profesor != null) {
+            bloqueos.ejecutar(anterior, profesor, () -> {
+                profesor.quitarCurso(anterior);
+            });
+        }
+    }
+    
     public void inscribirEstudianteEnCurso(String idEstudiante, String idCurso) {
-        Estudiante estudiante = estudiantes.get(idEstudiante);
-        Curso curso = cursos.get(idCurso);
+        Estudiante estudiante = estudiantes.buscar(idEstudiante);
+        Curso curso = cursos.buscar(idCurso);
         
         if (estudiante == null || curso == null) {
             throw new IllegalArgumentException("Estudiante o curso no encontrado");
         }
         
-        curso.agregarEstudiante(estudiante);
+        Estudiante[] estudianteVigente = { estudiante };
+        Curso[] cursoVigente = { curso };
+        EstadoOperacion estado = inscribirVigentes(idEstudiante, idCurso, estudianteVigente, cursoVigente,
+                                                   0, true);
+        if (estado == EstadoOperacion.ESTUDIANTE_NO_ENCONTRADO || estado == EstadoOperacion.CURSO_NO_ENCONTRADO) {
+            throw new IllegalArgumentException("Estudiante o curso no encontrado");
+        }
+        if (estado == EstadoOperacion.APLICADA) {
+            sincronizarInscripcion(estudianteVigente[0], cursoVigente[0]); // Ya sin candados
+        }
+    }
+    
+    /**
+     * Inscribe, con ambos lados cambiando de forma atómica, al estudiante y
+     * el curso de la posición dada si siguen siendo los registrados con esos
+     * ids. Si uno se reemplazó entre la búsqueda y el candado, espera a que
+     * termine el reemplazo (tiene el candado del id) y usa el registro nuevo,
+     * que deja en la misma posición.
+     * @return APLICADA, DUPLICADA, o NO_ENCONTRADO si el id ya no existe
+     */
+    private EstadoOperacion inscribirVigentes(String idEstudiante, String idCurso, Estudiante[] estudiantesLote,
+                                              Curso[] cursosLote, int i, boolean conAviso) {
+        while (true) {
+            Estudiante estudiante = estudiantesLote[i];
+            Curso curso = cursosLote[i];
+            EstadoOperacion estado = bloqueos.ejecutar(estudiante, curso, () -> {
+                if (enReemplazo.contains(estudiante) || enReemplazo.contains(curso) ||
+                        estudiantes.buscar(idEstudiante) != estudiante || cursos.buscar(idCurso) != curso) {
+                    return null;
+                }
+                if (curso.estaInscrito(estudiante)) {
+                    return EstadoOperacion.DUPLICADA;
+                }
+                if (conAviso) {
+                    curso.inscribirEstudiante(estudiante);
+                } else {
+                    // Sin un mensaje por inscripción: el costo por elemento es solo el dato
+                    curso.inscribirSinAviso(estudiante);
+                }
+                catalogoPaises.registrarInscripcion(estudiante.getPais());
+                return EstadoOperacion.APLICADA;
+            });
+            if (estado != null) {
+                return estado;
+            }
+            
+            estudiantesLote[i] = bloqueosIds.ejecutar(idEstudiante, () -> estudiantes.buscar(idEstudiante));
+            cursosLote[i] = bloqueosIds.ejecutar(idCurso, () -> cursos.buscar(idCurso));
+            if (estudiantesLote[i] == null) {
+                return EstadoOperacion.ESTUDIANTE_NO_ENCONTRADO;
+            }
+            if (cursosLote[i] == null) {
+                return EstadoOperacion.CURSO_NO_ENCONTRADO;
+            }
+        }
     }
     
     public void asignarEstudianteAProyecto(String idEstudiante, String idProyecto) {
-        Estudiante estudiante = estudiantes.get(idEstudi
\ No newline at end of file
+        Estudiante estudiante = estudiantes.buscar(idEstudiante);
+        Proyecto proyecto = proyectos.buscar(idProyecto);
+        
+        if (estudiante == null || proyecto == null) {
+            throw new IllegalArgumentException("Estudiante o proyecto no encontrado");
+        }
+        
+        bloqueos.ejecutar(estudiante, proyecto, () -> estudiante.asignarProyecto(proyecto));
+    }
+    
+    /**
+     * Guarda un proyecto y lo agrega a los índices por profesor y de activos.
+     */
+    private void registrarProyecto(String id, Proyecto proyecto, String idProfesor) {
+        bloqueosIds.ejecutar(id, () -> {
+            Proyecto anterior = proyectos.guardar(id, proyecto);
+            if (anterior != null) {
+                proyectosPorProfesor.quitar(anterior);
+                proyectosActivos.remove(anterior);
+            }
+            proyectosPorProfesor.indexar(proyecto, idProfesor);
+            if (proyecto.isActivo()) {
+                proyectosActivos.add(proyecto);
+            }
+            return null;
+        });
+    }
+    
+    // ========== SINCRONIZACIÓN EXTERNA ==========
+    
+    /**
+     * Envía la inscripción al registro externo. Se llama sin candados del
+     * servicio, porque el adaptador puede esperar turno de envío; si falla,
+     * se registra el error y la inscripción local se mantiene.
+     */
+    private void sincronizarInscripcion(Estudiante estudiante, Curso curso) {
+        SistemaExternoAdapter externo = sistemaExterno;
+        if (externo != null) {
+            try {
+                externo.enviarInscripcion(estudiante.getCodigo(), curso);
+            } catch (RuntimeException e) {
+                Bitacora.error(() -> "❌ Inscripción de " + estudiante.getCodigo() + " en el curso " +
+                                     curso.getCodigo() + " sin enviar al registro: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Envía la nota actual de la evaluación al registro externo, con las
+     * mismas reglas que {@link #sincronizarInscripcion}.
+     * @param sinEsperar true si quien llama puede tener candados tomados: el
+     *                   cambio solo se encola y el adaptador envía el lote
+     *                   lleno desde su temporizador
+     */
+    private void sincronizarEvaluacion(Evaluacion evaluacion, boolean sinEsperar) {
+        SistemaExternoAdapter externo = sistemaExterno;
+        if (externo != null) {
+            Estudiante estudiante = evaluacion.getEstudianteEvaluado();
+            String idEstudiante = estudiante != null ? estudiante.getCodigo() : null;
+            try {
+                if (sinEsperar) {
+                    externo.encolarEvaluacion(idEstudiante, evaluacion);
+                } else {
+                    externo.enviarEvaluacion(idEstudiante, evaluacion);
+                }
+            } catch (RuntimeException e) {
+                Bitacora.error(() -> "❌ Evaluación " + evaluacion.getId() +
+                                     " sin enviar al registro: " + e.getMessage());
+            }
+        }
+    }
+    
+    // ========== OPERACIONES EN LOTE ==========
+    
+    /**
+     * Inscribe estudiantes en cursos en lote. Valida todas las solicitudes en
+     * una pasada y aplica las válidas en bloques paralelos.
+     * @return Estado de cada solicitud, en el mismo orden de la lista
+     */
+    public ResultadoLote inscribirEnLote(List<SolicitudInscripcion> solicitudes) {
+        int n = solicitudes.size();
+        EstadoOperacion[] estados = new EstadoOperacion[n];
+        Estudiante[] estudiantesLote = new Estudiante[n];
+        Curso[] cursosLote = new Curso[n];
+        
+        // Validación en una sola pasada
+        for (int i = 0; i < n; i++) {
+            SolicitudInscripcion solicitud = solicitudes.get(i);
+            estudiantesLote[i] = estudiantes.buscar(solicitud.getIdEstudiante());
+            cursosLote[i] = cursos.buscar(solicitud.getIdCurso());
+            if (estudiantesLote[i] == null) {
+                estados[i] = EstadoOperacion.ESTUDIANTE_NO_ENCONTRADO;
+            } else if (cursosLote[i] == null) {
+                estados[i] = EstadoOperacion.CURSO_NO_ENCONTRADO;
+            }
+        }
+        
+        // Aplicación en bloques paralelos
+        int bloques = (n + TAMANIO_BLOQUE - 1) / TAMANIO_BLOQUE;
+        IntStream.range(0, bloques).parallel().forEach(bloque -> {
+            int fin = Math.min(n, (bloque + 1) * TAMANIO_BLOQUE);
+            for (int i = bloque * TAMANIO_BLOQUE; i < fin; i++) {
+                if (estados[i] == null) {
+                    SolicitudInscripcion solicitud = solicitudes.get(i);
+                    estados[i] = inscribirVigentes(solicitud.getIdEstudiante(), solicitud.getIdCurso(),
+                                                   estudiantesLote, cursosLote, i, false);
+                }
+            }
+        });
+        
+        // Al registro externo con los candados ya liberados
+        if (sistemaExterno != null) {
+            for (int i = 0; i < n; i++) {
+                if (estados[i] == EstadoOperacion.APLICADA) {
+                    sincronizarInscripcion(estudiantesLote[i], cursosLote[i]);
+                }
+            }
+        }
+        
+        return new ResultadoLote(estados);
+    }
+    
+    /**
+     * Inscribe en lote leyendo el Stream por partes, sin materializarlo completo.
+     */
+    public ResultadoLote inscribirEnLote(Stream<SolicitudInscripcion> solicitudes) {
+        return procesarPorLotes(solicitudes, this::inscribirEnLote);
+    }
+    
+    /**
+     * Registra evaluaciones en lote. Las solicitudes se agrupan por proyecto:
+     * cada proyecto se procesa en orden y los proyectos en paralelo.
+     * @return Estado de cada solicitud, en el mismo orden de la lista
+     */
+    public ResultadoLote registrarEvaluacionesEnLote(List<SolicitudEvaluacion> solicitudes) {
+        int n = solicitudes.size();
+        EstadoOperacion[] estados = new EstadoOperacion[n];
+        Estudiante[] estudiantesLote = new Estudiante[n];
+        Evaluacion[] evaluacionesLote = new Evaluacion[n];
+        Map<Proyecto, List<Integer>> porProyecto = new LinkedHashMap<>();
+        
+        // Validación en una sola pasada
+        for (int i = 0; i < n; i++) {
+            SolicitudEvaluacion solicitud = solicitudes.get(i);
+            estudiantesLote[i] = estudiantes.buscar(solicitud.getIdEstudiante());
+            Proyecto proyecto = proyectos.buscar(solicitud.getIdProyecto());
+            double calificacion = solicitud.getCalificacion();
+            if (estudiantesLote[i] == null) {
+                estados[i] = EstadoOperacion.ESTUDIANTE_NO_ENCONTRADO;
+            } else if (proyecto == null) {
+                estados[i] = EstadoOperacion.PROYECTO_NO_ENCONTRADO;
+            } else if (!(calificacion >= 0 && calificacion <= 100)) {
+                estados[i] = EstadoOperacion.CALIFICACION_INVALIDA;
+            } else {
+                porProyecto.computeIfAbsent(proyecto, p -> new ArrayList<>()).add(i);
+            }
+        }
+        
+        // Aplicación: un grupo por proyecto, en paralelo
+        porProyecto.entrySet().parallelStream().forEach(grupo -> {
+            Proyecto proyecto = grupo.getKey();
+            bloqueos.ejecutar(proyecto, () -> {
+                List<Evaluacion> registradas = new ArrayList<>(grupo.getValue().size());
+                for (int i : grupo.getValue()) {
+                    Evaluacion evaluacion = new Evaluacion(secuenciaEvaluaciones.incrementAndGet(),
+                        "Evaluación " + proyecto.getId(), null, new Date(), 100, "PROYECTO");
+                    evaluacion.calificarSinAviso(solicitudes.get(i).getCalificacion()); // Ya validada
+                    evaluacion.agregarObservadorCalificacion(reenvioCalificaciones);
+                    evaluacion.setEstudianteEvaluado(estudiantesLote[i]);
+                    evaluacion.setProyecto(proyecto);
+                    registradas.add(evaluacion);
+                    evaluacionesLote[i] = evaluacion;
+                    estados[i] = EstadoOperacion.APLICADA;
+                }
+                
+                agregarAlProyecto(proyecto, registradas); // Un solo aviso por grupo
+                for (Evaluacion evaluacion : registradas) {
+                    catalogoPaises.evaluacionAgregada(evaluacion); // Sin efecto si el proyecto ya avisó
+                }
+                sistemaEvaluacion.registrarEvaluaciones(proyecto, registradas); // Un solo mensaje por grupo
+                return null;
+            });
+        });
+        
+        // Al registro externo con los candados ya liberados
+        if (sistemaExterno != null) {
+            for (Evaluacion evaluacion : evaluacionesLote) {
+                if (evaluacion != null) {
+                    sincronizarEvaluacion(evaluacion, false);
+                }
+            }
+        }
+        
+        return new ResultadoLote(estados);
+    }
+    
+    /**
+     * Registra una sola evaluación con las mismas validaciones y efectos
+     * que el lote.
+     */
+    public EstadoOperacion registrarEvaluacion(String idEstudiante, String idProyecto, double calificacion) {
+        return registrarEvaluacionesEnLote(Collections.singletonList(
+            new SolicitudEvaluacion(idEstudiante, idProyecto, calificacion))).getEstado(0);
+    }
+    
+    /**
+     * Registra evaluaciones en lote leyendo el Stream por partes.
+     */
+    public ResultadoLote registrarEvaluacionesEnLote(Stream<SolicitudEvaluacion> solicitudes) {
+        return procesarPorLotes(solicitudes, this::registrarEvaluacionesEnLote);
+    }
+    
+    private <T> ResultadoLote procesarPorLotes(Stream<T> solicitudes, 
+                                               Function<List<T>, ResultadoLote> operacion) {
+        List<ResultadoLote> parciales = new ArrayList<>();
+        List<T> lote = new ArrayList<>(TAMANIO_LOTE);
+        Iterator<T> iterador = solicitudes.iterator();
+        while (iterador.hasNext()) {
+            lote.add(iterador.next());
+            if (lote.size() == TAMANIO_LOTE || !iterador.hasNext()) {
+                parciales.add(operacion.apply(lote));
+                lote.clear();
+            }
+        }
+        return ResultadoLote.unir(parciales);
+    }
+    
+    // ========== ARCHIVO HISTÓRICO ==========
+    
+    /**
+     * Mueve a un archivo mapeado en memoria las evaluaciones que cumplan el
+     * criterio (ej. las de un semestre cerrado) y las quita de sus proyectos.
+     * Las filas se copian primero a un almacén columnar, que es lo que se
+     * escribe; solo se quitan del heap después de que el archivo quedó escrito.
+     * @param ruta Ruta base del archivo, sin extensión
+     */
+    public ArchivoEvaluaciones archivarEvaluaciones(Path ruta, Predicate<Evaluacion> criterio) 
+            throws IOException {
+        // Por proyecto y en el orden de cada uno: es el orden de escritura
+        Map<Proyecto, List<Evaluacion>> archivadas = new LinkedHashMap<>();
+        AlmacenColumnarEvaluaciones filas = new AlmacenColumnarEvaluaciones();
+        for (Proyecto proyecto : proyectos.todos()) {
+            bloqueos.ejecutar(proyecto, () -> {
+                List<Evaluacion> delProyecto = new ArrayList<>();
+                for (Evaluacion evaluacion : proyecto.getEvaluaciones()) {
+                    if (criterio.test(evaluacion)) {
+                        delProyecto.add(evaluacion);
+                        filas.agregar(evaluacion);
+                    }
+                }
+                if (!delProyecto.isEmpty()) {
+                    archivadas.put(proyecto, delProyecto);
+                }
+                return null;
+            });
+        }
+        
+        ArchivoEvaluaciones archivo = ArchivoEvaluaciones.escribir(ruta, filas);
+        for (Map.Entry<Proyecto, List<Evaluacion>> entrada : archivadas.entrySet()) {
+            Proyecto proyecto = entrada.getKey();
+            bloqueos.ejecutar(proyecto, () -> {
+                for (Evaluacion evaluacion : entrada.getValue()) {
+                    if (quitarDelProyecto(proyecto, evaluacion)) {
+                        catalogoPaises.evaluacionQuitada(evaluacion); // Sin efecto si el proyecto ya avisó
+                        evaluacion.eliminarObservadorCalificacion(reenvioCalificaciones);
+                    }
+                }
+                return null;
+            });
+        }
+        archivosEvaluaciones.add(archivo);
+        
+        Bitacora.info("🗄️ Archivadas " + archivo.tamanio() + " evaluaciones en " + ruta);
+        return archivo;
+    }
+    
+    /**
+     * Agrega las evaluaciones con un solo aviso a los observadores cuando el
+     * proyecto lo permite; si no, una por una.
+     */
+    private static void agregarAlProyecto(Proyecto proyecto, List<Evaluacion> evaluaciones) {
+        if (proyecto instanceof ProyectoObservable) {
+            ((ProyectoObservable) proyecto).agregarEvaluaciones(evaluaciones);
+            return;
+        }
+        for (Evaluacion evaluacion : evaluaciones) {
+            proyecto.agregarEvaluacion(evaluacion);
+        }
+    }
+    
+    /**
+     * Quita la evaluación descontándola de las estadísticas del proyecto
+     * cuando este las mantiene.
+     */
+    private static boolean quitarDelProyecto(Proyecto proyecto, Evaluacion evaluacion) {
+        if (proyecto instanceof ConEstadisticasEvaluaciones) {
+            return ((ConEstadisticasEvaluaciones) proyecto).quitarEvaluacion(evaluacion);
+        }
+        return proyecto.getEvaluaciones().remove(evaluacion);
+    }
+    
+    public List<ArchivoEvaluaciones> getArchivosEvaluaciones() {
+        return Collections.unmodifiableList(archivosEvaluaciones);
+    }
+    
+    // ========== CONSULTAS ==========
+    
+    public List<Estudiante> getEstudiantesPorPais(String idPais) {
+        return estudiantesPorPais.buscar(idPais);
+    }
+    
+    /**
+     * Estudiantes, inscripciones y promedio por país, leídos de los
+     * acumulados del catálogo sin recorrer estudiantes.
+     */
+    public List<CatalogoPaises.ResumenPais> generarReporteRegional() {
+        return catalogoPaises.getResumen();
+    }
+    
+    public CatalogoPaises getCatalogoPaises() {
+        return catalogoPaises;
+    }
+    
+    /**
+     * Cursor perezoso sobre todos los proyectos, sin copiar el repositorio.
+     * No toma candados: el recorrido es débilmente consistente y admite
+     * registros concurrentes.
+     */
+    public ProyectoIterator<Proyecto> iterarProyectos() {
+        return ProyectoIterator.deProyectos(proyectos.todos());
+    }
+    
+    /**
+     * Recorre los inscritos de un curso sin copiarlos: el recorrido completo
+     * ocurre con el candado del curso, así que el cursor no debe escapar de
+     * la función.
+     * @param recorrido Consume el cursor y devuelve el resultado
+     */
+    public <R> R recorrerInscritos(String idCurso, Function<ProyectoIterator<Estudiante>, R> recorrido) {
+        Curso curso = cursos.obtener(idCurso);
+        return bloqueos.ejecutar(curso, () -> recorrido.apply(ProyectoIterator.deInscritos(curso)));
+    }
+    
+    public List<Proyecto> getProyectosPorProfesor(String idProfesor) {
+        return proyectosPorProfesor.buscar(idProfesor);
+    }
+    
+    public List<Curso> getCursosPorProfesor(String idProfesor) {
+        return cursosPorProfesor.buscar(idProfesor);
+    }
+    
+    public List<Estudiante> getEstudiantesDeCurso(String idCurso) {
+        Curso curso = cursos.obtener(idCurso);
+        return bloqueos.ejecutar(curso, curso::getEstudiantesInscritos);
+    }
+    
+    /**
+     * Proyectos activos. Los observables salen del índice al publicar
+     * PROYECTO_CERRADO; el resto se depura aquí al detectar que se cerró.
+     */
+    public List<Proyecto> getProyectosActivos() {
+        List<Proyecto> activos = new ArrayList<>(proyectosActivos.size());
+        for (Proyecto proyecto : proyectosActivos) {
+            if (proyecto.isActivo()) {
+                activos.add(proyecto);
+            } else {
+                proyectosActivos.remove(proyecto);
+            }
+        }
+        return activos;
+    }
+    
+    public Map<String, Estudiante> getEstudiantes() {
+        return estudiantes.comoMapa();
+    }
+    
+    public Map<String, Profesor> getProfesores() {
+        return profesores.comoMapa();
+    }
+    
+    public Map<String, Curso> getCursos() {
+        return cursos.comoMapa();
+    }
+    
+    public Map<String, Proyecto> getProyectos() {
+        return proyectos.comoMapa();
+    }
+    
+    public Map<String, Pais> getPaises() {
+        return paises.comoMapa();
+    }
+    
+    /**
+     * Envía al registro académico las inscripciones y calificaciones que se
+     * apliquen desde ahora (null para dejar de sincronizar).
+     */
+    public void setSistemaExterno(SistemaExternoAdapter sistemaExterno) {
+        this.sistemaExterno = sistemaExterno;
+    }
+    
+    public BusEventos getBusEventos() {
+        return busEventos;
+    }
+    
+    // ========== CLASES INTERNAS ==========
+    
+    /**
+     * Resultado de cada elemento de una operación en lote.
+     */
+    public enum EstadoOperacion {
+        APLICADA,
+        DUPLICADA,
+        ESTUDIANTE_NO_ENCONTRADO,
+        CURSO_NO_ENCONTRADO,
+        PROYECTO_NO_ENCONTRADO,
+        CALIFICACION_INVALIDA,
+        PAIS_NO_ENCONTRADO,
+        PROFESOR_NO_ENCONTRADO,
+        FORMATO_INVALIDO
+    }
+    
+    /**
+     * Solicitud de inscripción (estudiante, curso).
+     */
+    public static class SolicitudInscripcion {
+        private final String idEstudiante;
+        private final String idCurso;
+        
+        public SolicitudInscripcion(String idEstudiante, String idCurso) {
+            this.idEstudiante = idEstudiante;
+            this.idCurso = idCurso;
+        }
+        
+        public String getIdEstudiante() { return idEstudiante; }
+        public String getIdCurso() { return idCurso; }
+    }
+    
+    /**
+     * Solicitud de evaluación (estudiante, proyecto, calificación).
+     */
+    public static class SolicitudEvaluacion {
+        private final String idEstudiante;
+        private final String idProyecto;
+        private final double calificacion;
+        
+        public SolicitudEvaluacion(String idEstudiante, String idProyecto, double calificacion) {
+            this.idEstudiante = idEstudiante;
+            this.idProyecto = idProyecto;
+            this.calificacion = calificacion;
+        }
+        
+        public String getIdEstudiante() { return idEstudiante; }
+        public String getIdProyecto() { return idProyecto; }
+        public double getCalificacion() { return calificacion; }
+    }
+    
+    /**
+     * Estados de una operación en lote, alineados con las solicitudes.
+     */
+    public static class ResultadoLote {
+        private final EstadoOperacion[] estados;
+        
+        ResultadoLote(EstadoOperacion[] estados) {
+            this.estados = estados;
+        }
+        
+        public EstadoOperacion getEstado(int indice) { return estados[indice]; }
+        public int getTotal() { return estados.length; }
+        
+        public int contar(EstadoOperacion estado) {
+            int cantidad = 0;
+            for (EstadoOperacion actual : estados) {
+                if (actual == estado) {
+                    cantidad++;
+                }
+            }
+            return cantidad;
+        }
+        
+        static ResultadoLote unir(List<ResultadoLote> parciales) {
+            int total = 0;
+            for (ResultadoLote parcial : parciales) {
+                total += parcial.estados.length;
+            }
+            EstadoOperacion[] unidos = new EstadoOperacion[total];
+            int posicion = 0;
+            for (ResultadoLote parcial : parciales) {
+                System.arraycopy(parcial.estados, 0, unidos, posicion, parcial.estados.length);
+                posicion += parcial.estados.length;
+            }
+            return new ResultadoLote(unidos);
+        }
+        
+        @Override
+        public String toString() {
+            return "ResultadoLote{total=" + estados.length + 
+                   ", aplicadas=" + contar(EstadoOperacion.APLICADA) + '}';
+        }
+    }
+}
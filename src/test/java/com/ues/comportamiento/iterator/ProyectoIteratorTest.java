@@ -0,0 +1,89 @@
+package com.ues.comportamiento.iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.ues.model.Curso;
+import com.ues.model.Estudiante;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class ProyectoIteratorTest {
+
+    private static List<Integer> numeros(int cantidad) {
+        List<Integer> numeros = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            numeros.add(i);
+        }
+        return numeros;
+    }
+
+    @Test
+    public void elRangoSeParteEnMitadesHastaUnElemento() {
+        Spliterator<Integer> resto = ProyectoIterator.sobre(numeros(10)).spliterator();
+        assertTrue(resto.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+
+        Spliterator<Integer> prefijo = resto.trySplit();
+        assertEquals(5, prefijo.estimateSize());
+        assertEquals(5, resto.estimateSize());
+
+        Spliterator<Integer> cuarto = resto.trySplit();
+        assertEquals(2, cuarto.estimateSize());
+        assertEquals(3, resto.estimateSize());
+        assertTrue(cuarto.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+
+        Spliterator<Integer> uno = cuarto.trySplit();
+        assertEquals(1, uno.estimateSize());
+        assertNull(uno.trySplit());
+
+        List<Integer> vistos = new ArrayList<>();
+        prefijo.forEachRemaining(vistos::add);
+        uno.forEachRemaining(vistos::add);
+        cuarto.forEachRemaining(vistos::add);
+        resto.forEachRemaining(vistos::add);
+        assertEquals(numeros(10), vistos);
+    }
+
+    @Test
+    public void filtrarQuitaSizedYConservaElOrden() {
+        Spliterator<Integer> filtrado = ProyectoIterator.sobre(numeros(10))
+            .filtrar(n -> n % 2 == 0)
+            .filtrar(n -> n > 2)
+            .spliterator();
+
+        assertTrue(filtrado.hasCharacteristics(Spliterator.ORDERED));
+        assertEquals(0, filtrado.characteristics() & (Spliterator.SIZED | Spliterator.SUBSIZED));
+        Spliterator<Integer> prefijo = filtrado.trySplit();
+        assertEquals(0, prefijo.characteristics() & (Spliterator.SIZED | Spliterator.SUBSIZED));
+
+        List<Integer> vistos = new ArrayList<>();
+        prefijo.forEachRemaining(vistos::add);
+        filtrado.forEachRemaining(vistos::add);
+        assertEquals(Arrays.asList(4, 6, 8), vistos);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void noSeFiltraUnRecorridoEmpezado() {
+        ProyectoIterator<Integer> cursor = ProyectoIterator.sobre(numeros(3));
+        cursor.next();
+        cursor.filtrar(n -> true);
+    }
+
+    @Test
+    public void losInscritosSeRecorrenSinCopiarEnOrdenDeInscripcion() {
+        Curso curso = new Curso(1, "Patrones", "PAT-1", "");
+        Estudiante ana = new Estudiante(1, "Ana", "Pérez", "ana@ues.edu");
+        Estudiante luis = new Estudiante(2, "Luis", "Gómez", "luis@ues.edu");
+        curso.inscribirEstudiante(ana);
+
+        ProyectoIterator<Estudiante> cursor = ProyectoIterator.deInscritos(curso);
+        curso.inscribirEstudiante(luis); // Antes de empezar: el recorrido lo ve
+
+        assertEquals(Arrays.asList(ana, luis), cursor.stream().collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,51 @@
+package com.ues.comportamiento.observer;
+
+import static org.junit.Assert.assertEquals;
+
+import com.ues.comportamiento.observer.EventoProyecto.TipoEvento;
+import com.ues.model.EstadisticasEvaluaciones;
+import org.junit.Test;
+
+public class ClasificadorNivelEventoTest {
+
+    private final ClasificadorNivelEvento porDefecto = ClasificadorNivelEvento.porDefecto();
+
+    @Test
+    public void porDefectoConservaLosNivelesPorMensaje() {
+        assertEquals(2, porDefecto.clasificar(new EventoProyecto(TipoEvento.EVALUACION_AGREGADA, null,
+                                                                 "Evaluación agregada: 45 puntos (BAJA)")));
+        assertEquals(2, porDefecto.clasificar(new EventoProyecto(TipoEvento.EVALUACION_AGREGADA, null,
+                                                                 "Nota <70")));
+        assertEquals(3, porDefecto.clasificar(new EventoProyecto(TipoEvento.EVALUACION_AGREGADA, null,
+                                                                 "Evaluación agregada: 95 puntos")));
+        assertEquals(1, porDefecto.clasificar(new EventoProyecto(TipoEvento.PROYECTO_CERRADO, null, "x")));
+        assertEquals(4, porDefecto.clasificar(new EventoProyecto(TipoEvento.ESTUDIANTE_AGREGADO, null, "x")));
+    }
+
+    @Test
+    public void porDefectoClasificaLasEvaluacionesPorSuCalificacion() {
+        assertEquals(2, porDefecto.clasificar(new EventoProyecto(TipoEvento.EVALUACION_AGREGADA, null, 45)));
+        assertEquals(3, porDefecto.clasificar(new EventoProyecto(TipoEvento.EVALUACION_AGREGADA, null, 70)));
+        assertEquals(3, porDefecto.clasificar(new EventoProyecto(TipoEvento.EVALUACION_AGREGADA, null, 95)));
+    }
+
+    @Test
+    public void conCalificacionElMensajeNoDecide() {
+        EventoProyecto evento = new EventoProyecto(TipoEvento.EVALUACION_AGREGADA, null, 95);
+        evento.reiniciar(TipoEvento.EVALUACION_AGREGADA, null, 95, "Sin notas bajas");
+
+        assertEquals(3, porDefecto.clasificar(evento));
+    }
+
+    @Test
+    public void elUmbralSoloAplicaAEventosConCalificacion() {
+        ClasificadorNivelEvento clasificador = ClasificadorNivelEvento.builder()
+            .agregarUmbralCalificacion(TipoEvento.EVALUACION_AGREGADA, EstadisticasEvaluaciones.UMBRAL_BAJA, 2)
+            .build();
+
+        assertEquals(2, clasificador.clasificar(new EventoProyecto(TipoEvento.EVALUACION_AGREGADA, null, 45)));
+        assertEquals(3, clasificador.clasificar(new EventoProyecto(TipoEvento.EVALUACION_AGREGADA, null, 70)));
+        assertEquals(3, clasificador.clasificar(new EventoProyecto(TipoEvento.EVALUACION_AGREGADA, null,
+                                                                   "45 puntos")));
+    }
+}
@@ -0,0 +1,195 @@
+package com.ues.comportamiento.observer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class DespachadorAsincronoTest {
+
+    /**
+     * Observador lento que anota el orden en que recibe los eventos.
+     */
+    private static final class ObservadorOrden implements ObservadorProyecto {
+        final List<Double> recibidos = new ArrayList<>();
+
+        @Override
+        public synchronized void actualizar(EventoProyecto evento) {
+            recibidos.add(evento.getCalificacion());
+            Thread.yield();
+        }
+
+        synchronized List<Double> getRecibidos() {
+            return new ArrayList<>(recibidos);
+        }
+    }
+
+    private static EventoProyecto evento(int numero) {
+        return new EventoProyecto(EventoProyecto.TipoEvento.EVALUACION_AGREGADA, null, numero);
+    }
+
+    private static void verificarOrden(List<Double> recibidos, int esperados) {
+        assertEquals(esperados, recibidos.size());
+        for (int i = 0; i < esperados; i++) {
+            assertEquals(i, recibidos.get(i), 0.0);
+        }
+    }
+
+    @Test
+    public void ejecutarEnLlamadorConservaElOrdenPorObservador() throws InterruptedException {
+        DespachadorAsincrono despachador =
+            new DespachadorAsincrono(1, 2, 1, PoliticaContrapresion.EJECUTAR_EN_LLAMADOR);
+        ObservadorOrden observador = new ObservadorOrden();
+        ObservadorProyecto[] observadores = { observador };
+
+        for (int i = 0; i < 5_000; i++) {
+            despachador.despachar(observadores, evento(i));
+        }
+        despachador.cerrar();
+
+        verificarOrden(observador.getRecibidos(), 5_000);
+    }
+
+    @Test
+    public void bloquearEntregaTodoEnOrden() throws InterruptedException {
+        DespachadorAsincrono despachador =
+            new DespachadorAsincrono(2, 4, 3, PoliticaContrapresion.BLOQUEAR);
+        ObservadorOrden observador = new ObservadorOrden();
+        ObservadorProyecto[] observadores = { observador };
+
+        for (int i = 0; i < 2_000; i++) {
+            despachador.despachar(observadores, evento(i));
+        }
+        despachador.cerrar();
+
+        verificarOrden(observador.getRecibidos(), 2_000);
+        assertEquals(0, despachador.getEntregasDescartadas());
+    }
+
+    @Test
+    public void cerrarNoPierdeEntregasAceptadas() throws InterruptedException {
+        DespachadorAsincrono despachador =
+            new DespachadorAsincrono(2, 8, 4, PoliticaContrapresion.BLOQUEAR);
+        AtomicInteger entregados = new AtomicInteger();
+        ObservadorProyecto[] observadores = { evento -> entregados.incrementAndGet() };
+        AtomicInteger aceptados = new AtomicInteger();
+
+        Thread[] productores = new Thread[4];
+        for (int p = 0; p < productores.length; p++) {
+            productores[p] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    try {
+                        despachador.despachar(observadores, evento(i));
+                        aceptados.incrementAndGet();
+                    } catch (IllegalStateException cerrado) {
+                        return;
+                    }
+                }
+            });
+            productores[p].start();
+        }
+        Thread.sleep(5);
+        despachador.cerrar();
+        for (Thread productor : productores) {
+            productor.join();
+        }
+
+        assertEquals(aceptados.get(), entregados.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void despacharDespuesDeCerrarFalla() throws InterruptedException {
+        DespachadorAsincrono despachador = new DespachadorAsincrono();
+        despachador.cerrar();
+        despachador.despachar(new ObservadorProyecto[0], evento(1));
+    }
+
+    @Test
+    public void observadorDefectuosoNoDetieneElCarril() throws InterruptedException {
+        DespachadorAsincrono despachador =
+            new DespachadorAsincrono(1, 16, 4, PoliticaContrapresion.BLOQUEAR);
+        ObservadorOrden sano = new ObservadorOrden();
+        ObservadorProyecto[] observadores = {
+            evento -> { throw new IllegalStateException("falla simulada"); },
+            sano
+        };
+
+        for (int i = 0; i < 100; i++) {
+            despachador.despachar(observadores, evento(i));
+        }
+        despachador.cerrar();
+
+        verificarOrden(sano.getRecibidos(), 100);
+        assertEquals(0, despachador.getEntregasDescartadas());
+    }
+
+    @Test(timeout = 10_000)
+    public void cerrarConLaColaLlenaNoBloqueaAUnObservadorQueDespacha() throws InterruptedException {
+        DespachadorAsincrono despachador =
+            new DespachadorAsincrono(1, 1, 1, PoliticaContrapresion.BLOQUEAR);
+        CountDownLatch entregando = new CountDownLatch(1);
+        CountDownLatch seguir = new CountDownLatch(1);
+        AtomicInteger rechazados = new AtomicInteger();
+        ObservadorProyecto[] observadores = new ObservadorProyecto[1];
+        observadores[0] = evento -> {
+            if (evento.getCalificacion() != 0) {
+                return;
+            }
+            entregando.countDown();
+            try {
+                seguir.await();
+                despachador.despachar(observadores, evento(2));
+            } catch (InterruptedException | IllegalStateException e) {
+                rechazados.incrementAndGet();
+            }
+        };
+
+        despachador.despachar(observadores, evento(0));
+        assertTrue(entregando.await(5, TimeUnit.SECONDS));
+        despachador.despachar(observadores, evento(1)); // Llena la cola
+        Thread cerrador = new Thread(() -> {
+            try {
+                despachador.cerrar();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        cerrador.start();
+        while (cerrador.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        seguir.countDown();
+
+        cerrador.join(5_000);
+        assertFalse(cerrador.isAlive());
+        assertEquals(1, rechazados.get());
+    }
+
+    @Test(timeout = 10_000)
+    public void unCarrilInterrumpidoDejaQueLosLlamadoresEntreguen() throws InterruptedException {
+        DespachadorAsincrono despachador =
+            new DespachadorAsincrono(1, 2, 1, PoliticaContrapresion.BLOQUEAR);
+        ObservadorOrden orden = new ObservadorOrden();
+        ObservadorProyecto[] observadores = {
+            evento -> {
+                if (evento.getCalificacion() == 0) {
+                    Thread.currentThread().interrupt(); // Interrumpe al hilo del carril
+                }
+            },
+            orden
+        };
+
+        for (int i = 0; i < 200; i++) {
+            despachador.despachar(observadores, evento(i));
+        }
+        despachador.cerrar();
+
+        verificarOrden(orden.getRecibidos(), 200);
+    }
+}
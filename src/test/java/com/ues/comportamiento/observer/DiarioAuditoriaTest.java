@@ -0,0 +1,161 @@
+package com.ues.comportamiento.observer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.ues.comportamiento.observer.RegistroAuditoria.EventoAuditoria;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DiarioAuditoriaTest {
+    private Path directorio;
+
+    @Before
+    public void crearDirectorio() throws IOException {
+        directorio = Files.createTempDirectory("diario-test");
+    }
+
+    @After
+    public void borrarDirectorio() throws IOException {
+        if (!Files.exists(directorio)) {
+            return;
+        }
+        try (DirectoryStream<Path> flujo = Files.newDirectoryStream(directorio)) {
+            for (Path ruta : flujo) {
+                Files.delete(ruta);
+            }
+        }
+        Files.delete(directorio);
+    }
+
+    private static EventoAuditoria evento(int numero) {
+        return new EventoAuditoria("PRUEBA", "Evento " + numero, "R" + numero, "Recurso", 3, "usuario");
+    }
+
+    private int contarSegmentos() throws IOException {
+        int total = 0;
+        try (DirectoryStream<Path> flujo = Files.newDirectoryStream(directorio, "*.seg")) {
+            for (Path ignorado : flujo) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    @Test
+    public void sincronizarDejaTodoEnDiscoConCualquierPolitica() throws IOException {
+        try (DiarioAuditoria diario = new DiarioAuditoria(directorio, PoliticaSincronizacion.NUNCA,
+                                                          1024 * 1024, 0)) {
+            for (int i = 0; i < 500; i++) {
+                diario.registrar(evento(i));
+            }
+            diario.sincronizar();
+
+            List<EventoAuditoria> leidos = new ArrayList<>();
+            DiarioAuditoria.reproducir(directorio, leidos::add);
+            assertEquals(500, leidos.size());
+            assertEquals("Evento 499", leidos.get(499).getDescripcion());
+        }
+    }
+
+    @Test
+    public void elEscritorNoGiraSinTrabajo() throws Exception {
+        try (DiarioAuditoria diario = new DiarioAuditoria(directorio, PoliticaSincronizacion.SIEMPRE,
+                                                          1024 * 1024, 0)) {
+            diario.registrar(evento(1));
+            diario.sincronizar();
+
+            ThreadMXBean hilos = ManagementFactory.getThreadMXBean();
+            long id = buscarHilo("diario-auditoria").getId();
+            long antes = hilos.getThreadCpuTime(id);
+            Thread.sleep(300);
+            long consumido = hilos.getThreadCpuTime(id) - antes;
+
+            assertTrue("CPU del escritor en reposo: " + consumido + " ns", consumido < 50_000_000L);
+        }
+    }
+
+    @Test
+    public void rotacionConservaSoloLosUltimosSegmentos() throws IOException {
+        try (DiarioAuditoria diario = new DiarioAuditoria(directorio, PoliticaSincronizacion.NUNCA,
+                                                          512, 0, 3)) {
+            for (int i = 0; i < 400; i++) {
+                diario.registrar(evento(i));
+                if (i % 10 == 0) {
+                    diario.sincronizar(); // Grupos pequeños: varias rotaciones
+                }
+            }
+            diario.sincronizar();
+        }
+        assertEquals(3, contarSegmentos());
+    }
+
+    @Test
+    public void unErrorDeEscrituraDejaElDiarioEnFallo() throws IOException {
+        DiarioAuditoria diario = new DiarioAuditoria(directorio, PoliticaSincronizacion.NUNCA, 256, 0);
+        // Sin directorio, la siguiente rotación de segmento falla
+        borrarDirectorio();
+
+        for (int i = 0; i < 50; i++) {
+            diario.registrar(evento(i));
+        }
+        try {
+            diario.sincronizar();
+            fail("sincronizar debía informar el fallo");
+        } catch (IOException esperado) {
+            assertTrue(diario.estaEnFallo());
+        }
+        try {
+            diario.registrar(evento(99));
+            fail("registrar debía informar el fallo");
+        } catch (UncheckedIOException esperado) {
+            // El diario ya no acepta eventos
+        }
+        try {
+            diario.close();
+            fail("close debía informar el fallo");
+        } catch (IOException esperado) {
+            // Mismo error que dejó el diario en fallo
+        }
+    }
+
+    private static Thread buscarHilo(String nombre) {
+        for (Thread hilo : Thread.getAllStackTraces().keySet()) {
+            if (hilo.getName().equals(nombre)) {
+                return hilo;
+            }
+        }
+        throw new AssertionError("No existe el hilo " + nombre);
+    }
+
+    @Test
+    public void reactivarLaPersistenciaNoRepiteEventosNiPierdeLosDelCambio() throws IOException {
+        RegistroAuditoria registro = new RegistroAuditoria();
+        registro.activarPersistencia(directorio, PoliticaSincronizacion.SIEMPRE);
+        registro.registrarAcceso("ana", "P1", true);
+        registro.activarPersistencia(directorio, PoliticaSincronizacion.SIEMPRE);
+        registro.registrarAcceso("ana", "P2", true);
+        registro.activarPersistencia(directorio, PoliticaSincronizacion.SIEMPRE);
+
+        assertEquals(2, registro.getEventosPorTipo("ACCESO_OK").size());
+        registro.desactivarPersistencia();
+
+        // Otro registro recupera los dos accesos del disco, una sola vez
+        RegistroAuditoria recuperado = new RegistroAuditoria();
+        recuperado.activarPersistencia(directorio, PoliticaSincronizacion.SIEMPRE);
+        recuperado.activarPersistencia(directorio, PoliticaSincronizacion.SIEMPRE);
+        recuperado.desactivarPersistencia();
+        assertEquals(2, recuperado.getEventosPorTipo("ACCESO_OK").size());
+    }
+}
@@ -0,0 +1,50 @@
+package com.ues.comportamiento.observer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import org.junit.Test;
+
+public class MetricasAuditoriaTest {
+
+    @Test
+    public void losUsuariosSinEventosRetenidosSalenDelConteo() {
+        RegistroAuditoria registro = new RegistroAuditoria("AUDITOR", 4, 5);
+        registro.setMetricasEnVivo(true);
+
+        registro.setUsuarioAuditor("ana");
+        registro.registrarAcceso("ana", "PR-1", true);
+        assertTrue(registro.generarReporteActividadUsuarios().containsKey("ana"));
+
+        registro.setUsuarioAuditor("AUDITOR");
+        for (int i = 0; i < 5; i++) {
+            registro.registrarEventoSistema("Evento " + i, 3);
+        }
+
+        Map<String, Integer> actividad = registro.generarReporteActividadUsuarios();
+        assertFalse(actividad.containsKey("ana"));
+        assertEquals(Integer.valueOf(5), actividad.get("AUDITOR"));
+    }
+
+    @Test
+    public void elReporteCoincideConElRecorridoDelHistorial() {
+        RegistroAuditoria registro = new RegistroAuditoria("AUDITOR", 4, 8);
+        for (int i = 0; i < 20; i++) {
+            registro.registrarEventoSistema("Evento " + i, 1 + i % 4);
+        }
+        RegistroAuditoria.ReporteAuditoria recorrido = registro.generarReporte();
+        Map<String, Integer> actividadRecorrida = registro.generarReporteActividadUsuarios();
+
+        registro.setMetricasEnVivo(true);
+        RegistroAuditoria.ReporteAuditoria enVivo = registro.generarReporte();
+
+        assertEquals(recorrido.getTotalEventos(), enVivo.getTotalEventos());
+        assertEquals(recorrido.getErrores(), enVivo.getErrores());
+        assertEquals(recorrido.getAdvertencias(), enVivo.getAdvertencias());
+        assertEquals(recorrido.getInformaciones(), enVivo.getInformaciones());
+        assertEquals(recorrido.getDebugs(), enVivo.getDebugs());
+        assertEquals(actividadRecorrida, registro.generarReporteActividadUsuarios());
+    }
+}
@@ -0,0 +1,134 @@
+package com.ues.comportamiento.observer;
+
+import static com.ues.model.EvaluacionesDePrueba.evaluacion;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.ues.comportamiento.strategy.EstrategiaEvaluacionEstricta;
+import com.ues.model.EstadisticasEvaluaciones;
+import com.ues.model.Evaluacion;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class ProyectoObservableTest {
+
+    /**
+     * Estadísticas calculadas recorriendo las evaluaciones actuales.
+     */
+    private static EstadisticasEvaluaciones recorrido(ProyectoObservable proyecto) {
+        return EstadisticasEvaluaciones.calcular(proyecto.getEvaluaciones());
+    }
+
+    @Test
+    public void lasEstadisticasSiguenRecalificacionesYBajas() {
+        ProyectoObservable proyecto = new ProyectoObservable("P1", "Proyecto", "", null);
+        Evaluacion primera = evaluacion(1);
+        Evaluacion segunda = evaluacion(2);
+        proyecto.agregarEvaluacion(primera);
+        proyecto.agregarEvaluacion(segunda);
+
+        primera.calificar(90);
+        segunda.calificar(50);
+        EstadisticasEvaluaciones mantenidas = proyecto.getEstadisticas();
+        assertEquals(recorrido(proyecto).getBajas(), mantenidas.getBajas());
+        assertEquals(recorrido(proyecto).getPromedio(), mantenidas.getPromedio(), 1e-9);
+
+        assertTrue(proyecto.quitarEvaluacion(segunda));
+        assertFalse(proyecto.quitarEvaluacion(segunda));
+        assertEquals(1, mantenidas.getCantidad());
+        assertEquals(0, mantenidas.getBajas());
+        assertEquals(90, mantenidas.getMinimo(), 0.0);
+
+        // Una evaluación retirada ya no afecta al proyecto
+        segunda.calificar(10);
+        assertEquals(0, proyecto.getEstadisticas().getBajas());
+    }
+
+    @Test
+    public void laEstrategiaVeLasNotasActuales() {
+        ProyectoObservable proyecto = new ProyectoObservable("P2", "Proyecto", "", null);
+        Evaluacion[] evaluaciones = new Evaluacion[5];
+        for (int i = 0; i < evaluaciones.length; i++) {
+            evaluaciones[i] = evaluacion(i);
+            proyecto.agregarEvaluacion(evaluaciones[i]);
+        }
+        EstrategiaEvaluacionEstricta estricta = new EstrategiaEvaluacionEstricta();
+
+        // Todas sin calificar cuentan como bajas
+        assertTrue(estricta.evaluarProyecto(proyecto));
+
+        for (Evaluacion evaluacion : evaluaciones) {
+            evaluacion.calificar(85);
+        }
+        assertFalse(estricta.evaluarProyecto(proyecto));
+    }
+
+    @Test
+    public void cambiosDirectosEnLaListaSeReconstruyen() {
+        ProyectoObservable proyecto = new ProyectoObservable("P3", "Proyecto", "", null);
+        proyecto.agregarEvaluacion(evaluacion(1));
+        proyecto.getEvaluaciones().clear();
+
+        assertEquals(0, proyecto.getEstadisticas().getCantidad());
+    }
+
+    @Test
+    public void unObservadorEnElBusYEnElProyectoRecibeUnaVez() {
+        BusEventos bus = new BusEventos();
+        ProyectoObservable proyecto = new ProyectoObservable("P4", "Proyecto", "", null);
+        proyecto.setBus(bus);
+        AtomicInteger ambos = new AtomicInteger();
+        AtomicInteger soloProyecto = new AtomicInteger();
+        ObservadorProyecto enAmbos = evento -> ambos.incrementAndGet();
+        bus.suscribir(enAmbos, EventoProyecto.TipoEvento.EVALUACION_AGREGADA);
+        proyecto.agregarObservador(enAmbos);
+        proyecto.agregarObservador(evento -> soloProyecto.incrementAndGet());
+
+        proyecto.agregarEvaluacion(evaluacion(1));
+
+        assertEquals(1, ambos.get());
+        assertEquals(1, soloProyecto.get());
+    }
+
+    @Test
+    public void elFiltroDelBusDecideQuienEntrega() {
+        BusEventos bus = new BusEventos();
+        ProyectoObservable proyecto = new ProyectoObservable("P5", "Proyecto", "", null);
+        proyecto.setBus(bus);
+        AtomicInteger recibidos = new AtomicInteger();
+        ObservadorProyecto observador = evento -> recibidos.incrementAndGet();
+        // El filtro del bus excluye este proyecto: lo entrega el propio proyecto
+        bus.suscribir(observador, id -> id.startsWith("X"), EventoProyecto.TipoEvento.EVALUACION_AGREGADA);
+        proyecto.agregarObservador(observador);
+
+        proyecto.agregarEvaluacion(evaluacion(1));
+
+        assertEquals(1, recibidos.get());
+    }
+
+    @Test
+    public void unGrupoDeEvaluacionesSeAvisaUnaVezConLaNotaMasBaja() {
+        ProyectoObservable proyecto = new ProyectoObservable("P6", "Proyecto", "", null);
+        List<EventoProyecto> recibidos = new ArrayList<>();
+        proyecto.agregarObservador(evento -> {
+            if (evento.getTipo() == EventoProyecto.TipoEvento.EVALUACION_AGREGADA) {
+                recibidos.add(evento.copiar());
+            }
+        });
+        Evaluacion[] grupo = {evaluacion(1), evaluacion(2), evaluacion(3)};
+        grupo[0].calificarSinAviso(80);
+        grupo[1].calificarSinAviso(45);
+        grupo[2].calificarSinAviso(90);
+
+        proyecto.agregarEvaluaciones(Arrays.asList(grupo));
+
+        assertEquals(1, recibidos.size());
+        assertEquals(45, recibidos.get(0).getCalificacion(), 0.0);
+        assertEquals(3, proyecto.getEstadisticas().getCantidad());
+        assertEquals(1, proyecto.getEstadisticas().getBajas());
+    }
+}
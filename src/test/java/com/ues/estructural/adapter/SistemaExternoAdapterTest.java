@@ -0,0 +1,170 @@
+package com.ues.estructural.adapter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.Test;
+
+public class SistemaExternoAdapterTest {
+
+    private static CambioRegistro cambio(int estudiante) {
+        return new CambioRegistro(CambioRegistro.TipoCambio.CALIFICACION, "E" + estudiante, "P1", 80, 0);
+    }
+
+    private static void esperarHasta(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicion.getAsBoolean()) {
+            assertTrue("La condición no se cumplió a tiempo", System.nanoTime() < limite);
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Transporte que deja cada solicitud pendiente hasta que la prueba la
+     * confirma o la rechaza.
+     */
+    private static final class TransporteControlado implements TransporteRegistro {
+        final BlockingQueue<Solicitud> solicitudes = new LinkedBlockingQueue<>();
+
+        @Override
+        public Conexion conectar() {
+            return new Conexion() {
+                @Override
+                public CompletableFuture<Void> enviar(long idLote, List<CambioRegistro> cambios) {
+                    Solicitud solicitud = new Solicitud(idLote, cambios);
+                    solicitudes.add(solicitud);
+                    return solicitud.respuesta;
+                }
+
+                @Override
+                public boolean estaAbierta() {
+                    return true;
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+
+        Solicitud siguiente() throws InterruptedException {
+            Solicitud solicitud = solicitudes.poll(5, TimeUnit.SECONDS);
+            assertNotNull("No llegó la solicitud esperada", solicitud);
+            return solicitud;
+        }
+    }
+
+    private static final class Solicitud {
+        final long idLote;
+        final List<CambioRegistro> cambios;
+        final CompletableFuture<Void> respuesta = new CompletableFuture<>();
+
+        Solicitud(long idLote, List<CambioRegistro> cambios) {
+            this.idLote = idLote;
+            this.cambios = cambios;
+        }
+    }
+
+    @Test
+    public void unReintentoNoQuedaDetrasDeUnLoteSinTurno() throws Exception {
+        TransporteControlado transporte = new TransporteControlado();
+        SistemaExternoAdapter adaptador = SistemaExternoAdapter.builder(transporte)
+            .setConexiones(1).setEnVueloPorConexion(1)
+            .setIntervaloMs(4).setEspera(1, 1).setMaxReintentos(3)
+            .build();
+
+        // El primer lote ocupa el único turno
+        adaptador.enviar(cambio(1));
+        Solicitud primera = transporte.siguiente();
+
+        // El temporizador corta un segundo lote que no tiene turno
+        adaptador.enviar(cambio(2));
+        esperarHasta(() -> adaptador.getPendientes() == 0);
+
+        // El primer lote falla: su reintento necesita al temporizador
+        primera.respuesta.completeExceptionally(new IOException("Fallo simulado"));
+        Solicitud reintento = transporte.siguiente();
+        assertEquals(primera.idLote, reintento.idLote);
+        reintento.respuesta.complete(null);
+
+        Solicitud segunda = transporte.siguiente();
+        assertEquals("E2", segunda.cambios.get(0).getIdEstudiante());
+        segunda.respuesta.complete(null);
+
+        adaptador.close();
+        assertEquals(2, adaptador.getLotesEnviados());
+        assertEquals(1, adaptador.getReintentos());
+    }
+
+    @Test
+    public void encolarNoEsperaTurnoAunqueElLoteSeLlene() throws Exception {
+        TransporteControlado transporte = new TransporteControlado();
+        SistemaExternoAdapter adaptador = SistemaExternoAdapter.builder(transporte)
+            .setConexiones(1).setEnVueloPorConexion(1).setTamanioLote(1)
+            .setIntervaloMs(4)
+            .build();
+        adaptador.enviar(cambio(1)); // Ocupa el único turno
+        Solicitud primera = transporte.siguiente();
+
+        adaptador.encolar(cambio(2)); // Lote lleno y sin turno: vuelve de inmediato
+        assertTrue(transporte.solicitudes.isEmpty());
+
+        primera.respuesta.complete(null);
+        transporte.siguiente().respuesta.complete(null);
+        adaptador.close();
+        assertEquals(2, adaptador.getLotesEnviados());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void cerradoRechazaCambiosNuevos() {
+        SistemaExternoAdapter adaptador = SistemaExternoAdapter.builder(new TransporteEnMemoria()).build();
+        adaptador.close();
+        adaptador.enviar(cambio(1));
+    }
+
+    @Test
+    public void cerrarInterrumpidoEntregaLoPendienteYConservaLaInterrupcion() {
+        List<List<CambioRegistro>> fallidos = new CopyOnWriteArrayList<>();
+        SistemaExternoAdapter adaptador = SistemaExternoAdapter.builder(new TransporteEnMemoria())
+            .setIntervaloMs(60_000).setAlFallar(fallidos::add)
+            .build();
+        adaptador.enviar(cambio(1));
+
+        Thread.currentThread().interrupt();
+        adaptador.close();
+
+        assertTrue(Thread.interrupted());
+        assertEquals(1, fallidos.size());
+        assertEquals(1, adaptador.getLotesFallidos());
+    }
+
+    @Test
+    public void cerrarInterrumpidoEntregaLosLotesQueEsperabanReintento() throws Exception {
+        TransporteControlado transporte = new TransporteControlado();
+        List<List<CambioRegistro>> fallidos = new CopyOnWriteArrayList<>();
+        SistemaExternoAdapter adaptador = SistemaExternoAdapter.builder(transporte)
+            .setIntervaloMs(4).setEspera(60_000, 60_000).setAlFallar(fallidos::add)
+            .build();
+        adaptador.enviar(cambio(1));
+        transporte.siguiente().respuesta.completeExceptionally(new IOException("Fallo simulado"));
+        esperarHasta(() -> adaptador.getReintentos() == 1);
+
+        Thread.currentThread().interrupt();
+        adaptador.close();
+
+        assertTrue(Thread.interrupted());
+        assertEquals(1, fallidos.size());
+        assertEquals("E1", fallidos.get(0).get(0).getIdEstudiante());
+        assertEquals(1, adaptador.getLotesFallidos());
+        assertTrue(transporte.solicitudes.isEmpty());
+    }
+}
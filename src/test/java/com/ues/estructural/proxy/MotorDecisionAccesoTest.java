@@ -0,0 +1,99 @@
+package com.ues.estructural.proxy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class MotorDecisionAccesoTest {
+
+    @Test
+    public void unaDecisionRepetidaSaleDeLaCacheHastaQueVence() throws InterruptedException {
+        MotorDecisionAcceso motor = new MotorDecisionAcceso(50, 100);
+        assertTrue(motor.puedeAcceder("ana", "PR1"));
+        assertTrue(motor.puedeAcceder("ana", "PR1"));
+        assertEquals(1, motor.getFallos());
+        assertEquals(1, motor.getAciertos());
+
+        Thread.sleep(100);
+        assertTrue(motor.puedeAcceder("ana", "PR1"));
+        assertEquals(2, motor.getFallos());
+        assertEquals(1, motor.getAciertos());
+    }
+
+    @Test
+    public void cambiarLaPoliticaVenceLasDecisionesGuardadas() {
+        MotorDecisionAcceso motor = new MotorDecisionAcceso();
+        assertTrue(motor.puedeAcceder("ana", "PR1"));
+        long version = motor.getVersionPolitica();
+
+        motor.marcarConfidencial("PR1");
+        assertEquals(version + 1, motor.getVersionPolitica());
+        assertFalse(motor.puedeAcceder("ana", "PR1"));
+
+        motor.otorgarPermiso("ana", "PR1");
+        assertTrue(motor.puedeAcceder("ana", "PR1"));
+        motor.revocarPermiso("ana", "PR1");
+        assertFalse(motor.puedeAcceder("ana", "PR1"));
+        motor.agregarAdministrador("ana");
+        assertTrue(motor.puedeAcceder("ana", "PR1"));
+        assertEquals(5, motor.getFallos());
+        assertEquals(0, motor.getAciertos());
+    }
+
+    @Test
+    public void marcarDosVecesNoCambiaLaVersion() {
+        MotorDecisionAcceso motor = new MotorDecisionAcceso();
+        motor.marcarConfidencial("PR1");
+        long version = motor.getVersionPolitica();
+        motor.marcarConfidencial("PR1");
+        motor.revocarPermiso("ana", "PR1");
+        assertEquals(version, motor.getVersionPolitica());
+    }
+
+    @Test
+    public void invalidarUnUsuarioSoloDescartaSusDecisiones() {
+        MotorDecisionAcceso motor = new MotorDecisionAcceso();
+        motor.puedeAcceder("ana", "PR1");
+        motor.puedeAcceder("beto", "PR1");
+
+        motor.invalidar("ana");
+        motor.puedeAcceder("ana", "PR1");
+        motor.puedeAcceder("beto", "PR1");
+        assertEquals(3, motor.getFallos());
+        assertEquals(1, motor.getAciertos());
+    }
+
+    @Test
+    public void alLlegarAlLimiteSeVaciaLaCache() {
+        MotorDecisionAcceso motor = new MotorDecisionAcceso(60_000, 2);
+        motor.puedeAcceder("ana", "PR1");
+        motor.puedeAcceder("beto", "PR2");
+        motor.puedeAcceder("ana", "PR3"); // Tercera decisión: vacía antes de guardarla
+        assertEquals(3, motor.getFallos());
+
+        motor.puedeAcceder("ana", "PR3");
+        assertEquals(1, motor.getAciertos());
+        motor.puedeAcceder("ana", "PR1");
+        motor.puedeAcceder("beto", "PR2");
+        assertEquals(5, motor.getFallos());
+    }
+
+    @Test
+    public void invalidarAntesDelLimiteEvitaElVaciado() {
+        MotorDecisionAcceso motor = new MotorDecisionAcceso(60_000, 2);
+        motor.puedeAcceder("ana", "PR1");
+        motor.puedeAcceder("beto", "PR2");
+        motor.invalidar("beto");
+        motor.puedeAcceder("ana", "PR3"); // Hay lugar: la de ana sigue en caché
+
+        motor.puedeAcceder("ana", "PR1");
+        assertEquals(1, motor.getAciertos());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rechazaUnaCacheSinLugar() {
+        new MotorDecisionAcceso(60_000, 0);
+    }
+}
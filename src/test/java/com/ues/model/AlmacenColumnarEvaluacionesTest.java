@@ -0,0 +1,83 @@
+package com.ues.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import org.junit.Test;
+
+public class AlmacenColumnarEvaluacionesTest {
+
+    @Test
+    public void laVistaLeeYCalificaSobreLasColumnas() {
+        Estudiante ana = new Estudiante(7, "Ana", "Pérez", "ana@ues.edu");
+        Evaluacion original = new Evaluacion(1, "Parcial", "Unidad 1", new Date(1000L), 10, "EXAMEN");
+        original.setEstudianteEvaluado(ana);
+        AlmacenColumnarEvaluaciones almacen = new AlmacenColumnarEvaluaciones();
+        int fila = almacen.agregar(original);
+
+        Evaluacion vista = almacen.ver(fila);
+        assertFalse(vista.estaCalificada());
+        assertTrue(vista.calificar(8));
+
+        assertEquals(8, almacen.getNotaObtenida(fila), 0.0);
+        assertEquals(8, almacen.ver(fila).getNotaObtenida(), 0.0);
+        assertEquals(80, vista.getPorcentaje(), 0.0);
+        assertEquals("Parcial", vista.getNombre());
+        assertEquals("EXAMEN", vista.getTipo());
+        assertEquals(1000L, vista.getFechaEvaluacion().getTime());
+        assertSame(ana, vista.getEstudianteEvaluado());
+        assertNull(vista.getProyecto());
+        assertFalse(original.estaCalificada());
+    }
+
+    @Test
+    public void calificarFueraDeRangoNoCambiaLaFila() {
+        AlmacenColumnarEvaluaciones almacen = new AlmacenColumnarEvaluaciones();
+        int fila = almacen.agregar(new Evaluacion(1, "Tarea", "", null, 10, "TAREA"));
+
+        assertFalse(almacen.ver(fila).calificar(11));
+        assertEquals(AlmacenColumnarEvaluaciones.SIN_CALIFICAR, almacen.getNotaObtenida(fila), 0.0);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void laVistaNoPermiteCambiarOtrosCampos() {
+        AlmacenColumnarEvaluaciones almacen = new AlmacenColumnarEvaluaciones();
+        almacen.ver(almacen.agregar(new Evaluacion(1, "Tarea", "", null, 10, "TAREA"))).setNombre("Otra");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void laVistaNoAdmiteObservadoresDeCalificacion() {
+        AlmacenColumnarEvaluaciones almacen = new AlmacenColumnarEvaluaciones();
+        almacen.ver(almacen.agregar(new Evaluacion(1, "Tarea", "", null, 10, "TAREA")))
+            .agregarObservadorCalificacion((evaluacion, anterior, nueva) -> { });
+    }
+
+    @Test
+    public void calificarSinAvisoEscribeEnLaColumna() {
+        AlmacenColumnarEvaluaciones almacen = new AlmacenColumnarEvaluaciones();
+        int fila = almacen.agregar(new Evaluacion(1, "Tarea", "", null, 10, "TAREA"));
+
+        assertTrue(almacen.ver(fila).calificarSinAviso(7));
+        assertEquals(7, almacen.getNotaObtenida(fila), 0.0);
+    }
+
+    @Test
+    public void laListaSigueAlAlmacen() {
+        AlmacenColumnarEvaluaciones almacen = AlmacenColumnarEvaluaciones.desde(Arrays.asList(
+            new Evaluacion(1, "A", "", null, 10, "TAREA"),
+            new Evaluacion(2, "B", "", null, 10, "TAREA")));
+        List<Evaluacion> lista = almacen.aLista();
+        assertEquals(2, lista.size());
+
+        almacen.agregar(new Evaluacion(3, "C", "", null, 10, "TAREA"));
+
+        assertEquals(3, lista.size());
+        assertEquals(3, lista.get(2).getId());
+    }
+}
@@ -0,0 +1,85 @@
+package com.ues.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Date;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ArchivoEvaluacionesTest {
+    private Path directorio;
+
+    @Before
+    public void crearDirectorio() throws IOException {
+        directorio = Files.createTempDirectory("archivo-test");
+    }
+
+    @After
+    public void borrarDirectorio() throws IOException {
+        try (DirectoryStream<Path> flujo = Files.newDirectoryStream(directorio)) {
+            for (Path ruta : flujo) {
+                Files.delete(ruta);
+            }
+        }
+        Files.delete(directorio);
+    }
+
+    private static Estudiante estudiante(String codigo) {
+        Estudiante estudiante = new Estudiante(0, codigo, "", ""); // Mismo id numérico para todos
+        estudiante.setCodigo(codigo);
+        return estudiante;
+    }
+
+    private static Evaluacion evaluacion(int id, Estudiante estudiante, double nota) {
+        Evaluacion evaluacion = new Evaluacion(id, "Parcial", "", new Date(1000L * id), 100, "EXAMEN");
+        evaluacion.calificar(nota);
+        evaluacion.setEstudianteEvaluado(estudiante);
+        return evaluacion;
+    }
+
+    @Test
+    public void estudiantesConElMismoIdNumericoNoSeMezclanAlReabrir() throws IOException {
+        Estudiante ana = estudiante("E1");
+        Estudiante beto = estudiante("E2");
+        Path ruta = directorio.resolve("periodo");
+        ArchivoEvaluaciones.escribir(ruta, Arrays.asList(
+            evaluacion(1, ana, 80), evaluacion(2, beto, 40), evaluacion(3, ana, 90))).close();
+
+        try (ArchivoEvaluaciones archivo = ArchivoEvaluaciones.abrir(ruta)) {
+            assertEquals(3, archivo.tamanio());
+            assertArrayEquals(new int[] {0, 2}, archivo.registrosDeEstudiante("E1"));
+            assertArrayEquals(new int[] {1}, archivo.registrosDeEstudiante("E2"));
+            assertEquals(85, archivo.promedioEstudiante("E1"), 0.0);
+            assertEquals(40, archivo.promedioEstudiante("E2"), 0.0);
+            assertEquals("E2", archivo.getIdEstudiante(1));
+            assertEquals(0, archivo.registrosDeEstudiante("E3").length);
+            assertTrue(Double.isNaN(archivo.promedioEstudiante("E3")));
+        }
+    }
+
+    @Test
+    public void elAlmacenColumnarEscribeLosMismosCodigos() throws IOException {
+        Estudiante ana = estudiante("E1");
+        Evaluacion sinEstudiante = new Evaluacion(4, "Tarea", "", null, 10, "TAREA");
+        AlmacenColumnarEvaluaciones almacen = AlmacenColumnarEvaluaciones.desde(Arrays.asList(
+            evaluacion(1, ana, 70), sinEstudiante));
+        Path ruta = directorio.resolve("columnar");
+        ArchivoEvaluaciones.escribir(ruta, almacen).close();
+
+        try (ArchivoEvaluaciones archivo = ArchivoEvaluaciones.abrir(ruta)) {
+            assertArrayEquals(new int[] {0}, archivo.registrosDeEstudiante("E1"));
+            assertNull(archivo.getIdEstudiante(1));
+            assertNull(archivo.ver(1).getFechaEvaluacion());
+            assertEquals(70, archivo.getNotaObtenida(0), 0.0);
+        }
+    }
+}
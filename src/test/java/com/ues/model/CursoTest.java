@@ -0,0 +1,70 @@
+package com.ues.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.junit.Test;
+
+public class CursoTest {
+
+    @Test
+    public void estudiantesConElMismoIdSeInscribenPorSeparado() {
+        Curso curso = new Curso(1, "Patrones", "PAT-1", "");
+        Estudiante ana = new Estudiante();
+        Estudiante luis = new Estudiante();
+        ana.setNombre("Ana");
+        luis.setNombre("Luis");
+
+        curso.inscribirEstudiante(ana);
+        curso.inscribirEstudiante(luis);
+
+        assertEquals(2, curso.getCantidadInscritos());
+        assertTrue(curso.estaInscrito(ana));
+        assertTrue(curso.estaInscrito(luis));
+        assertTrue(ana.estaInscritoEn(curso));
+        assertTrue(luis.estaInscritoEn(curso));
+    }
+
+    @Test
+    public void inscribirDosVecesNoDuplicaYConservaElOrden() {
+        Curso curso = new Curso(1, "Patrones", "PAT-1", "");
+        Estudiante primero = new Estudiante(7, "Ana", "Pérez", "ana@ues.edu");
+        Estudiante segundo = new Estudiante(8, "Luis", "Gómez", "luis@ues.edu");
+
+        curso.inscribirEstudiante(primero);
+        curso.inscribirEstudiante(segundo);
+        curso.inscribirEstudiante(primero);
+
+        List<Estudiante> inscritos = curso.getEstudiantesInscritos();
+        assertEquals(2, inscritos.size());
+        assertSame(primero, inscritos.get(0));
+        assertSame(segundo, inscritos.get(1));
+        assertEquals(1, primero.getCursosInscritos().size());
+    }
+
+    @Test
+    public void inscribirSinAvisoIndicaSiHuboCambio() {
+        Curso curso = new Curso(1, "Patrones", "PAT-1", "");
+        Estudiante estudiante = new Estudiante(1, "Ana", "Pérez", "ana@ues.edu");
+
+        assertTrue(curso.inscribirSinAviso(estudiante));
+        assertFalse(curso.inscribirSinAviso(estudiante));
+        assertTrue(estudiante.estaInscritoEn(curso));
+        assertEquals(1, curso.getCantidadInscritos());
+    }
+
+    @Test
+    public void cursosConElMismoIdSonDistintosParaElEstudiante() {
+        Curso a = new Curso();
+        Curso b = new Curso();
+        Estudiante estudiante = new Estudiante(1, "Ana", "Pérez", "ana@ues.edu");
+
+        a.inscribirEstudiante(estudiante);
+
+        assertTrue(estudiante.estaInscritoEn(a));
+        assertFalse(estudiante.estaInscritoEn(b));
+    }
+}
@@ -0,0 +1,137 @@
+package com.ues.model;
+
+import static com.ues.model.EvaluacionesDePrueba.evaluacion;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class EstadisticasEvaluacionesTest {
+
+    @Test
+    public void registrarAcumulaCantidadSumaYBajas() {
+        EstadisticasEvaluaciones estadisticas = new EstadisticasEvaluaciones();
+        estadisticas.registrar(50);
+        estadisticas.registrar(90);
+        estadisticas.registrar(80);
+
+        assertEquals(3, estadisticas.getCantidad());
+        assertEquals(1, estadisticas.getBajas());
+        assertEquals(220.0 / 3, estadisticas.getPromedio(), 1e-9);
+        assertEquals(50, estadisticas.getMinimo(), 0.0);
+        assertEquals(90, estadisticas.getMaximo(), 0.0);
+    }
+
+    @Test
+    public void recalificarMueveLaEvaluacionDeBajaAAprobada() {
+        List<Evaluacion> evaluaciones = new ArrayList<>();
+        EstadisticasEvaluaciones estadisticas = new EstadisticasEvaluaciones(() -> evaluaciones);
+        Evaluacion pendiente = evaluacion(1);
+        evaluaciones.add(pendiente);
+        estadisticas.registrar(pendiente.getCalificacion());
+        pendiente.agregarObservadorCalificacion(estadisticas);
+
+        // Sin calificar (-1) cuenta como baja, igual que al recorrer la lista
+        assertEquals(1, estadisticas.getBajas());
+
+        pendiente.calificar(95);
+        assertEquals(1, estadisticas.getCantidad());
+        assertEquals(0, estadisticas.getBajas());
+        assertEquals(95, estadisticas.getPromedio(), 1e-9);
+        assertEquals(95, estadisticas.getMinimo(), 0.0);
+        assertEquals(95, estadisticas.getMaximo(), 0.0);
+    }
+
+    @Test
+    public void quitarDescuentaYRecalculaExtremos() {
+        List<Evaluacion> evaluaciones = new ArrayList<>();
+        EstadisticasEvaluaciones estadisticas = new EstadisticasEvaluaciones(() -> evaluaciones);
+        double[] notas = { 40, 75, 90 };
+        for (int i = 0; i < notas.length; i++) {
+            Evaluacion evaluacion = evaluacion(i);
+            evaluacion.calificar(notas[i]);
+            evaluaciones.add(evaluacion);
+            estadisticas.registrar(notas[i]);
+        }
+
+        Evaluacion minima = evaluaciones.remove(0);
+        estadisticas.quitar(minima.getCalificacion());
+
+        assertEquals(2, estadisticas.getCantidad());
+        assertEquals(0, estadisticas.getBajas());
+        assertEquals(75, estadisticas.getMinimo(), 0.0);
+        assertEquals(90, estadisticas.getMaximo(), 0.0);
+    }
+
+    @Test
+    public void quitarLaUltimaDejaEstadisticasVacias() {
+        EstadisticasEvaluaciones estadisticas = new EstadisticasEvaluaciones();
+        estadisticas.registrar(60);
+        estadisticas.quitar(60);
+
+        assertEquals(0, estadisticas.getCantidad());
+        assertEquals(0, estadisticas.getBajas());
+        assertEquals(0, estadisticas.getPromedio(), 0.0);
+        assertEquals(Double.NaN, estadisticas.getMinimo(), 0.0);
+    }
+
+    @Test
+    public void verificarReconstruyeSiLaListaCambioPorFuera() {
+        List<Evaluacion> evaluaciones = new ArrayList<>();
+        EstadisticasEvaluaciones estadisticas = new EstadisticasEvaluaciones(() -> evaluaciones);
+        Evaluacion evaluacion = evaluacion(1);
+        evaluacion.calificar(30);
+        evaluaciones.add(evaluacion);
+
+        estadisticas.verificar(evaluaciones);
+
+        assertEquals(1, estadisticas.getCantidad());
+        assertEquals(1, estadisticas.getBajas());
+        assertEquals(30, estadisticas.getMinimo(), 0.0);
+    }
+
+    @Test
+    public void calcularCoincideConElRecorrido() {
+        List<Evaluacion> evaluaciones = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Evaluacion evaluacion = evaluacion(i);
+            evaluacion.calificar(i * 10);
+            evaluaciones.add(evaluacion);
+        }
+
+        EstadisticasEvaluaciones estadisticas = EstadisticasEvaluaciones.calcular(evaluaciones);
+
+        assertEquals(10, estadisticas.getCantidad());
+        assertEquals(7, estadisticas.getBajas());
+        assertEquals(45, estadisticas.getPromedio(), 1e-9);
+    }
+
+    @Test
+    public void calificacionesSimultaneasLleganEncadenadas() throws InterruptedException {
+        List<Evaluacion> evaluaciones = new ArrayList<>();
+        EstadisticasEvaluaciones estadisticas = new EstadisticasEvaluaciones(() -> evaluaciones);
+        Evaluacion evaluacion = evaluacion(1);
+        evaluaciones.add(evaluacion);
+        estadisticas.registrar(evaluacion.getCalificacion());
+        evaluacion.agregarObservadorCalificacion(estadisticas);
+
+        Thread[] hilos = new Thread[4];
+        for (int h = 0; h < hilos.length; h++) {
+            int desplazamiento = h;
+            hilos[h] = new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    evaluacion.calificar((i + desplazamiento) % 101);
+                }
+            });
+            hilos[h].start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+
+        // Si dos hilos leyeran la misma nota anterior, la suma quedaría desfasada
+        assertEquals(1, estadisticas.getCantidad());
+        assertEquals(evaluacion.getCalificacion(), estadisticas.getPromedio(), 1e-6);
+    }
+}
@@ -0,0 +1,19 @@
+package com.ues.model;
+
+import java.util.Date;
+
+/**
+ * Evaluaciones de prueba compartidas por las pruebas de modelo y observadores.
+ */
+public final class EvaluacionesDePrueba {
+
+    private EvaluacionesDePrueba() {
+    }
+
+    /**
+     * Evaluación de proyecto sin calificar, con nota máxima 100.
+     */
+    public static Evaluacion evaluacion(int id) {
+        return new Evaluacion(id, "Evaluación " + id, "", new Date(), 100, "PROYECTO");
+    }
+}
@@ -0,0 +1,64 @@
+package com.ues.service;
+
+import static org.junit.Assert.assertEquals;
+
+import com.ues.service.CargadorMasivo.ResultadoCarga;
+import com.ues.service.CargadorMasivo.TipoRegistro;
+import com.ues.service.UniversidadService.EstadoOperacion;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CargadorMasivoTest {
+    private Path archivo;
+
+    @Before
+    public void crearArchivo() throws IOException {
+        archivo = Files.createTempFile("carga-test", ".csv");
+    }
+
+    @After
+    public void borrarArchivo() throws IOException {
+        Files.deleteIfExists(archivo);
+    }
+
+    private void escribir(StringBuilder contenido) throws IOException {
+        Files.write(archivo, contenido.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void conIdsRepetidosEnElLoteGanaLaUltimaLinea() throws IOException {
+        StringBuilder csv = new StringBuilder("id,nombre,pais\n");
+        for (int i = 0; i < 500; i++) {
+            csv.append("E").append(i % 10).append(",Nombre").append(i).append(",PA1\n");
+        }
+        escribir(csv);
+        UniversidadService servicio = new UniversidadService();
+
+        ResultadoCarga resultado = new CargadorMasivo(servicio, 128, progreso -> { })
+            .cargar(archivo, TipoRegistro.ESTUDIANTES);
+
+        assertEquals(500, resultado.contar(EstadoOperacion.APLICADA));
+        assertEquals(10, servicio.getEstudiantes().size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Nombre" + (490 + i), servicio.getEstudiantes().get("E" + i).getNombre());
+        }
+    }
+
+    @Test
+    public void laClaveForaneaFaltanteSeRechazaConSuEstado() throws IOException {
+        escribir(new StringBuilder("id,nombre,profesor\nC1,Álgebra,P1\nC2,Cálculo,P9\n"));
+        UniversidadService servicio = new UniversidadService();
+        servicio.crearProfesor("P1", "Ana");
+
+        ResultadoCarga resultado = new CargadorMasivo(servicio).cargar(archivo, TipoRegistro.CURSOS);
+
+        assertEquals(1, resultado.contar(EstadoOperacion.APLICADA));
+        assertEquals(1, resultado.contar(EstadoOperacion.PROFESOR_NO_ENCONTRADO));
+        assertEquals(1, servicio.getCursos().size());
+    }
+}
@@ -0,0 +1,214 @@
+package com.ues.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.ues.comportamiento.observer.EventoProyecto;
+import com.ues.comportamiento.observer.ProyectoObservable;
+import com.ues.model.Curso;
+import com.ues.model.Estudiante;
+import com.ues.model.Profesor;
+import com.ues.model.Proyecto;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntConsumer;
+import org.junit.Test;
+
+public class UniversidadServiceTest {
+
+    private static long inscripcionesColombia(UniversidadService servicio) {
+        return servicio.getCatalogoPaises().getInscripciones(servicio.getPaises().get("PA1").getId());
+    }
+
+    /**
+     * Ejecuta la tarea en varios hilos que arrancan a la vez y relanza el
+     * primer error de cualquiera de ellos.
+     */
+    private static void enParalelo(int hilos, IntConsumer tarea) throws InterruptedException {
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Throwable> errores = new CopyOnWriteArrayList<>();
+        Thread[] corredores = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            int hilo = h;
+            corredores[h] = new Thread(() -> {
+                try {
+                    salida.await();
+                    tarea.accept(hilo);
+                } catch (Throwable e) {
+                    errores.add(e);
+                }
+            });
+            corredores[h].start();
+        }
+        salida.countDown();
+        for (Thread corredor : corredores) {
+            corredor.join();
+        }
+        if (!errores.isEmpty()) {
+            throw new AssertionError(errores.get(0));
+        }
+    }
+
+    @Test
+    public void reemplazarUnCursoTraspasaSusInscritosYSuProfesor() {
+        UniversidadService servicio = new UniversidadService();
+        Profesor profesor = servicio.crearProfesor("P1", "Ana");
+        profesor.setCursosImpartidos(new ArrayList<>());
+        servicio.crearEstudiante("E1", "Luis", "PA1");
+        servicio.crearEstudiante("E2", "Marta", "PA1");
+        Curso anterior = servicio.crearCurso("C1", "Álgebra", "P1");
+        servicio.inscribirEstudianteEnCurso("E1", "C1");
+        servicio.inscribirEstudianteEnCurso("E2", "C1");
+
+        Curso nuevo = servicio.crearCurso("C1", "Álgebra lineal", "P1");
+
+        Estudiante luis = servicio.getEstudiantes().get("E1");
+        assertEquals(2, nuevo.getCantidadInscritos());
+        assertEquals(0, anterior.getCantidadInscritos());
+        assertTrue(luis.estaInscritoEn(nuevo));
+        assertFalse(luis.estaInscritoEn(anterior));
+        assertEquals(1, luis.getCursosInscritos().size());
+        assertEquals(2, inscripcionesColombia(servicio));
+        assertEquals(1, profesor.getCursosImpartidos().size());
+        assertSame(nuevo, profesor.getCursosImpartidos().get(0));
+    }
+
+    @Test
+    public void inscribirMientrasSeReemplazaNoDejaInscritosHuerfanos() throws InterruptedException {
+        UniversidadService servicio = new UniversidadService();
+        servicio.crearProfesor("P1", "Ana");
+        for (int c = 0; c < 8; c++) {
+            servicio.crearCurso("C" + c, "Curso " + c, "P1");
+        }
+        servicio.crearEstudiante("E1", "Luis", "PA1");
+
+        Thread reemplazos = new Thread(() -> {
+            for (int i = 0; i < 200; i++) {
+                servicio.crearEstudiante("E1", "Luis " + i, "PA1");
+                servicio.crearCurso("C" + (i % 8), "Curso " + i, "P1");
+            }
+        });
+        reemplazos.start();
+        for (int i = 0; i < 2_000; i++) {
+            servicio.inscribirEstudianteEnCurso("E1", "C" + (i % 8));
+        }
+        reemplazos.join();
+
+        Estudiante vigente = servicio.getEstudiantes().get("E1");
+        long inscripciones = 0;
+        for (Curso curso : servicio.getCursos().values()) {
+            for (Estudiante inscrito : curso.getEstudiantesInscritos()) {
+                assertSame(vigente, inscrito);
+                assertTrue(vigente.estaInscritoEn(curso));
+                inscripciones++;
+            }
+        }
+        assertEquals(inscripciones, vigente.getCursosInscritos().size());
+        assertEquals(inscripciones, inscripcionesColombia(servicio));
+    }
+
+    @Test
+    public void inscripcionesSimultaneasQuedanEnAmbosLados() throws InterruptedException {
+        UniversidadService servicio = new UniversidadService();
+        servicio.crearProfesor("P1", "Ana");
+        int cantidad = 8;
+        for (int i = 0; i < cantidad; i++) {
+            servicio.crearEstudiante("E" + i, "Estudiante " + i, "PA1");
+            servicio.crearCurso("C" + i, "Curso " + i, "P1");
+        }
+
+        // Cada hilo intenta todas las parejas, empezando en un punto distinto
+        enParalelo(4, hilo -> {
+            for (int k = 0; k < cantidad * cantidad; k++) {
+                int pareja = (k + hilo * 17) % (cantidad * cantidad);
+                servicio.inscribirEstudianteEnCurso("E" + pareja / cantidad, "C" + pareja % cantidad);
+            }
+        });
+
+        for (Curso curso : servicio.getCursos().values()) {
+            assertEquals(cantidad, curso.getCantidadInscritos());
+            for (Estudiante inscrito : curso.getEstudiantesInscritos()) {
+                assertTrue(inscrito.estaInscritoEn(curso));
+            }
+        }
+        for (Estudiante estudiante : servicio.getEstudiantes().values()) {
+            assertEquals(cantidad, estudiante.getCursosInscritos().size());
+        }
+        assertEquals(cantidad * cantidad, inscripcionesColombia(servicio));
+    }
+
+    @Test
+    public void crearElMismoIdEnParaleloDejaUnSoloRegistroContado() throws InterruptedException {
+        UniversidadService servicio = new UniversidadService();
+        servicio.crearProfesor("P1", "Ana");
+        servicio.crearCurso("C1", "Álgebra", "P1");
+        servicio.crearEstudiante("E1", "Luis", "PA1");
+        servicio.inscribirEstudianteEnCurso("E1", "C1");
+
+        enParalelo(4, hilo -> {
+            for (int i = 0; i < 100; i++) {
+                servicio.crearEstudiante("E1", "Luis " + hilo + "-" + i, hilo % 2 == 0 ? "PA1" : "PA2");
+            }
+        });
+
+        Estudiante vigente = servicio.getEstudiantes().get("E1");
+        int colombia = servicio.getPaises().get("PA1").getId();
+        int brasil = servicio.getPaises().get("PA2").getId();
+        List<Estudiante> porPais = new ArrayList<>(servicio.getEstudiantesPorPais("PA1"));
+        porPais.addAll(servicio.getEstudiantesPorPais("PA2"));
+        assertEquals(1, porPais.size());
+        assertSame(vigente, porPais.get(0));
+        assertEquals(1, servicio.getCatalogoPaises().getEstudiantes(colombia) +
+                        servicio.getCatalogoPaises().getEstudiantes(brasil));
+        assertEquals(1, servicio.getCatalogoPaises().getInscripciones(vigente.getPais().getId()));
+        assertEquals(1, servicio.getCatalogoPaises().getInscripciones(colombia) +
+                        servicio.getCatalogoPaises().getInscripciones(brasil));
+
+        List<Estudiante> inscritos = servicio.getCursos().get("C1").getEstudiantesInscritos();
+        assertEquals(1, inscritos.size());
+        assertSame(vigente, inscritos.get(0));
+        assertTrue(vigente.estaInscritoEn(servicio.getCursos().get("C1")));
+    }
+
+    @Test
+    public void reemplazarUnRegistroLoMueveEnLosIndices() {
+        UniversidadService servicio = new UniversidadService();
+        servicio.crearProfesor("P1", "Ana");
+        servicio.crearProfesor("P2", "Beto");
+        servicio.crearEstudiante("E1", "Luis", "PA1");
+        servicio.crearCurso("C1", "Álgebra", "P1");
+        Proyecto anterior = servicio.crearProyectoAmbiental("PR1", "Ríos", "", "P1");
+
+        Estudiante estudiante = servicio.crearEstudiante("E1", "Luis", "PA2");
+        Curso curso = servicio.crearCurso("C1", "Álgebra lineal", "P2");
+        Proyecto proyecto = servicio.crearProyectoObservable("PR1", "Ríos limpios", "", "P2");
+
+        assertTrue(servicio.getEstudiantesPorPais("PA1").isEmpty());
+        assertEquals(Collections.singletonList(estudiante), servicio.getEstudiantesPorPais("PA2"));
+        assertTrue(servicio.getCursosPorProfesor("P1").isEmpty());
+        assertEquals(Collections.singletonList(curso), servicio.getCursosPorProfesor("P2"));
+        assertTrue(servicio.getProyectosPorProfesor("P1").isEmpty());
+        assertEquals(Collections.singletonList(proyecto), servicio.getProyectosPorProfesor("P2"));
+        assertFalse(servicio.getProyectosActivos().contains(anterior));
+        assertEquals(Collections.singletonList(proyecto), servicio.getProyectosActivos());
+    }
+
+    @Test
+    public void cerrarUnProyectoLoSacaDeLosActivosPeroNoDeSuProfesor() {
+        UniversidadService servicio = new UniversidadService();
+        servicio.crearProfesor("P1", "Ana");
+        ProyectoObservable cerrado = servicio.crearProyectoObservable("PR1", "Ríos", "", "P1");
+        ProyectoObservable abierto = servicio.crearProyectoObservable("PR2", "Bosques", "", "P1");
+
+        cerrado.notificarObservadores(
+            new EventoProyecto(EventoProyecto.TipoEvento.PROYECTO_CERRADO, cerrado, Double.NaN));
+
+        assertEquals(Collections.singletonList(abierto), servicio.getProyectosActivos());
+        assertEquals(2, servicio.getProyectosPorProfesor("P1").size());
+    }
+}